@@ -0,0 +1,115 @@
+package com.qwikride.adapter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking {@link BikeLocationPort} calls on a bounded worker pool. Each
+ * attempt has its own timeout, failed or unacknowledged attempts are retried
+ * with linear backoff, and the number of commands in flight is capped so a
+ * stalled dock layer sheds load instead of queueing without bound.
+ */
+@Slf4j
+@Component
+public class AsyncBikeLocationAdapter implements AsyncBikeLocationPort {
+    static final int MAX_IN_FLIGHT = 256;
+    static final int MAX_ATTEMPTS = 3;
+    static final long CALL_TIMEOUT_MILLIS = 2_000;
+    static final long RETRY_BACKOFF_MILLIS = 200;
+    private static final int WORKER_THREADS = 32;
+
+    private final BikeLocationPort bikeLocationPort;
+    private final long callTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Semaphore inFlight;
+    private final ThreadPoolExecutor workers;
+
+    @Autowired
+    public AsyncBikeLocationAdapter(BikeLocationPort bikeLocationPort) {
+        this(bikeLocationPort, CALL_TIMEOUT_MILLIS, MAX_ATTEMPTS, RETRY_BACKOFF_MILLIS, MAX_IN_FLIGHT);
+    }
+
+    AsyncBikeLocationAdapter(BikeLocationPort bikeLocationPort, long callTimeoutMillis, int maxAttempts,
+            long retryBackoffMillis, int maxInFlight) {
+        this.bikeLocationPort = bikeLocationPort;
+        this.callTimeoutMillis = callTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.inFlight = new Semaphore(maxInFlight);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Timed-out calls keep their worker until the dock answers, so leave room for retries in the queue
+        this.workers = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxInFlight * maxAttempts), runnable -> {
+                    Thread thread = new Thread(runnable, "dock-command-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> lockBike(UUID bikeId) {
+        return execute("lock", bikeId, () -> bikeLocationPort.lockBike(bikeId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unlockBike(UUID bikeId) {
+        return execute("unlock", bikeId, () -> bikeLocationPort.unlockBike(bikeId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private CompletableFuture<Boolean> execute(String command, UUID bikeId, Supplier<Boolean> call) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Too many dock commands in flight, rejected " + command));
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        result.whenComplete((acknowledged, error) -> inFlight.release());
+        attempt(command, bikeId, call, 1, result);
+        return result;
+    }
+
+    private void attempt(String command, UUID bikeId, Supplier<Boolean> call, int attempt,
+            CompletableFuture<Boolean> result) {
+        CompletableFuture<Boolean> pending;
+        try {
+            pending = CompletableFuture.supplyAsync(call, workers).orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        pending.whenComplete((acknowledged, error) -> {
+            if (error == null && Boolean.TRUE.equals(acknowledged)) {
+                result.complete(true);
+            } else if (attempt >= maxAttempts) {
+                log.warn("Dock {} for bike {} failed after {} attempts", command, bikeId, attempt, error);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(false);
+                }
+            } else {
+                log.debug("Dock {} for bike {} failed (attempt {}), retrying", command, bikeId, attempt);
+                CompletableFuture.delayedExecutor(retryBackoffMillis * attempt, TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(command, bikeId, call, attempt + 1, result));
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.qwikride.adapter;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link BikeLocationPort} for dock commands. The
+ * futures complete with the bike system's answer, or exceptionally when the
+ * command was rejected, timed out or kept failing after retries.
+ */
+public interface AsyncBikeLocationPort {
+    CompletableFuture<Boolean> lockBike(UUID bikeId);
+    CompletableFuture<Boolean> unlockBike(UUID bikeId);
+}
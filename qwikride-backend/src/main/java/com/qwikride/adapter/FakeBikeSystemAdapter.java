@@ -1,24 +1,53 @@
 package com.qwikride.adapter;
 
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class FakeBikeSystemAdapter implements BikeLocationPort {
-    private final Map<UUID, Boolean> bikeLockStatus = new HashMap<>();
+    private final Map<UUID, Boolean> bikeLockStatus = new ConcurrentHashMap<>();
+    private final TelemetryIngestionService telemetryIngestionService;
+
+    // Simulated dock behaviour, so the async command path can be exercised locally
+    @Value("${qwikride.fake-bike-system.min-latency-ms:0}")
+    private volatile long minLatencyMillis;
+
+    @Value("${qwikride.fake-bike-system.max-latency-ms:0}")
+    private volatile long maxLatencyMillis;
+
+    @Value("${qwikride.fake-bike-system.failure-rate:0.0}")
+    private volatile double failureRate;
+
+    public void configureFaults(long minLatencyMillis, long maxLatencyMillis, double failureRate) {
+        if (minLatencyMillis < 0 || maxLatencyMillis < minLatencyMillis) {
+            throw new IllegalArgumentException("Latency range is invalid");
+        }
+        if (failureRate < 0.0 || failureRate > 1.0) {
+            throw new IllegalArgumentException("Failure rate must be between 0 and 1");
+        }
+        this.minLatencyMillis = minLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.failureRate = failureRate;
+    }
 
     @Override
     public boolean updateLocation(UUID bikeId, double latitude, double longitude) {
-        log.info("Fake System: Updating location for bike {} to ({}, {})", bikeId, latitude, longitude);
-        return true;
+        log.debug("Fake System: Updating location for bike {} to ({}, {})", bikeId, latitude, longitude);
+        return telemetryIngestionService.submit(bikeId, latitude, longitude, System.currentTimeMillis());
     }
 
     @Override
     public boolean lockBike(UUID bikeId) {
+        simulateDock("lock", bikeId);
         log.info("Fake System: Locking bike {}", bikeId);
         bikeLockStatus.put(bikeId, true);
         return true;
@@ -26,6 +55,7 @@ public class FakeBikeSystemAdapter implements BikeLocationPort {
 
     @Override
     public boolean unlockBike(UUID bikeId) {
+        simulateDock("unlock", bikeId);
         log.info("Fake System: Unlocking bike {}", bikeId);
         bikeLockStatus.put(bikeId, false);
         return true;
@@ -35,4 +65,21 @@ public class FakeBikeSystemAdapter implements BikeLocationPort {
     public boolean isBikeLocked(UUID bikeId) {
         return bikeLockStatus.getOrDefault(bikeId, true);
     }
+
+    private void simulateDock(String command, UUID bikeId) {
+        long min = minLatencyMillis;
+        long max = maxLatencyMillis;
+        long latency = max > min ? ThreadLocalRandom.current().nextLong(min, max + 1) : min;
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for dock", e);
+            }
+        }
+        if (failureRate > 0.0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Fake System: simulated dock failure on " + command + " for bike " + bikeId);
+        }
+    }
 }
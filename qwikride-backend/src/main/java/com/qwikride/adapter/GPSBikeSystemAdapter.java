@@ -1,17 +1,21 @@
 package com.qwikride.adapter;
 
+import com.qwikride.service.telemetry.TelemetryIngestionService;
 import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import java.util.UUID;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class GPSBikeSystemAdapter implements BikeLocationPort {
+    private final TelemetryIngestionService telemetryIngestionService;
+
     @Override
     public boolean updateLocation(UUID bikeId, double latitude, double longitude) {
-        log.info("GPS System: Updating location for bike {} to ({}, {})", bikeId, latitude, longitude);
-        // Simulate external GPS system interaction
-        return true;
+        log.debug("GPS System: Updating location for bike {} to ({}, {})", bikeId, latitude, longitude);
+        return telemetryIngestionService.submit(bikeId, latitude, longitude, System.currentTimeMillis());
     }
 
     @Override
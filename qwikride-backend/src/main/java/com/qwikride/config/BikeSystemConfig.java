@@ -2,10 +2,17 @@ package com.qwikride.config;
 
 import com.qwikride.adapter.BikeLocationPort;
 import com.qwikride.adapter.FakeBikeSystemAdapter;
+import com.qwikride.event.DeliveryMode;
 import com.qwikride.event.EventBus;
+import com.qwikride.event.SubscriberOrder;
 import com.qwikride.service.DashboardNotifier;
 import com.qwikride.service.HistoryService;
 import com.qwikride.service.PricingService;
+import com.qwikride.service.ReservationExpiryScheduler;
+import com.qwikride.service.StationInventoryIndex;
+import com.qwikride.service.journal.EventJournal;
+import com.qwikride.service.outbox.EventOutbox;
+import com.qwikride.service.outbox.OutboxRelay;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -22,10 +29,26 @@ public class BikeSystemConfig {
     public String registerEventSubscribers(EventBus eventBus,
                                            PricingService pricingService,
                                            HistoryService historyService,
-                                           DashboardNotifier dashboardNotifier) {
-        eventBus.subscribe(pricingService);
-        eventBus.subscribe(historyService);
-        eventBus.subscribe(dashboardNotifier);
+                                           DashboardNotifier dashboardNotifier,
+                                           StationInventoryIndex stationInventoryIndex,
+                                           ReservationExpiryScheduler reservationExpiryScheduler,
+                                           EventOutbox eventOutbox,
+                                           OutboxRelay outboxRelay,
+                                           EventJournal eventJournal) {
+        // The index cannot be rolled back, so it only follows committed changes; it still runs on the
+        // request thread, so a rider's own reservation is visible once the request returns
+        eventBus.subscribe(stationInventoryIndex, DeliveryMode.AFTER_COMMIT, SubscriberOrder.INVENTORY);
+        // A rolled-back reservation must never be scheduled for expiry
+        eventBus.subscribe(reservationExpiryScheduler, DeliveryMode.AFTER_COMMIT, SubscriberOrder.SCHEDULING);
+        // The ledger entry commits with the return, and history reads the cost pricing sets on the event
+        eventBus.subscribe(pricingService, DeliveryMode.SYNC, SubscriberOrder.PRICING);
+        // Stored after pricing so a relayed TripEndedEvent carries its cost
+        eventBus.subscribe(eventOutbox, DeliveryMode.SYNC, SubscriberOrder.OUTBOX);
+        // Only committed events belong in the journal
+        eventBus.subscribe(eventJournal, DeliveryMode.AFTER_COMMIT, SubscriberOrder.JOURNAL);
+        // Ride history must not be lost, so it is fed from the outbox rather than an in-memory queue
+        outboxRelay.subscribe(historyService);
+        eventBus.subscribe(dashboardNotifier, DeliveryMode.ASYNC, SubscriberOrder.NOTIFICATION);
         return "Event subscribers registered";
     }
 }
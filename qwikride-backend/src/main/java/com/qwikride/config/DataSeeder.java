@@ -125,11 +125,11 @@ public class DataSeeder implements CommandLineRunner {
     private List<BikeStation> createBikeStations() {
         List<BikeStation> stations = new ArrayList<>();
         Object[][] stationData = {
-                { "Downtown Central", "123 Main Street, Downtown", 25 },
-                { "University Campus", "456 University Ave, Campus", 30 },
-                { "Shopping Mall", "789 Commerce Blvd, Shopping District", 20 },
-                { "Park & Ride", "321 Transit Way, Suburb", 15 },
-                { "Waterfront", "555 Harbor Blvd, Waterfront", 18 }
+                { "Downtown Central", "123 Main Street, Downtown", 25, 45.5017, -73.5673 },
+                { "University Campus", "456 University Ave, Campus", 30, 45.5048, -73.5772 },
+                { "Shopping Mall", "789 Commerce Blvd, Shopping District", 20, 45.4960, -73.5780 },
+                { "Park & Ride", "321 Transit Way, Suburb", 15, 45.5590, -73.5520 },
+                { "Waterfront", "555 Harbor Blvd, Waterfront", 18, 45.5075, -73.5530 }
         };
 
         for (Object[] data : stationData) {
@@ -137,6 +137,8 @@ public class DataSeeder implements CommandLineRunner {
             station.setName((String) data[0]);
             station.setAddress((String) data[1]);
             station.setCapacity((Integer) data[2]);
+            station.setLatitude((Double) data[3]);
+            station.setLongitude((Double) data[4]);
             station.setCurrentBikeCount(0);
             station.setStatus(BikeStation.StationStatus.ACTIVE);
 
@@ -2,6 +2,7 @@ package com.qwikride.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -27,10 +28,15 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Fix ingestion sits under the public bike routes but must come from the fleet
+                        .requestMatchers(HttpMethod.POST, "/api/bikes/positions").hasAnyAuthority("DEVICE", "OPERATOR")
                         .requestMatchers("/api/auth/**", "/api/bikes/**", "/api/prc/pricing/**",
                                 "/h2-console/**")
                         .permitAll()
-                        .requestMatchers("/api/operator/**").hasAuthority("OPERATOR")
+                        // Liveness and readiness probes carry no token
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/api/operator/**", "/actuator/metrics/**")
+                        .hasAuthority("OPERATOR")
                         .requestMatchers("/api/prc/pricing/admin/**", "/api/prc/disputes/open",
                                 "/api/prc/disputes/*/resolve")
                         .hasAuthority("OPERATOR")
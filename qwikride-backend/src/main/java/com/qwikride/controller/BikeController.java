@@ -3,12 +3,24 @@ package com.qwikride.controller;
 import com.qwikride.dto.*;
 import com.qwikride.model.Bike;
 import com.qwikride.model.BikeConfig;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
 import com.qwikride.service.BikeService;
+import com.qwikride.service.FleetChangeLog;
+import com.qwikride.service.FleetListingService;
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,11 +28,70 @@ import java.util.UUID;
 @RequestMapping("/api/bikes")
 @RequiredArgsConstructor
 public class BikeController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final BikeService bikeService;
+    private final TelemetryIngestionService telemetryIngestionService;
+    private final FleetListingService fleetListingService;
+    private final ObjectMapper objectMapper;
+    private final FleetChangeLog fleetChangeLog;
 
+    /**
+     * Answers 304 without touching the database while the fleet is unchanged.
+     * Positions are not part of the snapshot; poll {@code /positions} for them.
+     */
     @GetMapping
-    public ResponseEntity<List<Bike>> getAllBikes() {
-        return ResponseEntity.ok(bikeService.getAllBikes());
+    public ResponseEntity<List<Bike>> getAllBikes(WebRequest request) {
+        String eTag = fleetChangeLog.eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bikeService.getAllBikes());
+    }
+
+    /**
+     * Keyset-paginated fleet listing; follow {@code nextCursor} with {@code after}.
+     */
+    @GetMapping("/listing")
+    public ResponseEntity<BikeListingPageDTO> listBikes(
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) BikeStatus status,
+            @RequestParam(required = false) BikeType type,
+            @RequestParam(required = false) Integer minBattery,
+            @RequestParam(required = false) Integer maxBattery,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false, defaultValue = "100") Integer limit) {
+        BikeListingFilterDTO filter = BikeListingFilterDTO.builder()
+                .stationId(stationId).status(status).type(type)
+                .minBattery(minBattery).maxBattery(maxBattery)
+                .after(after).limit(limit)
+                .build();
+        return ResponseEntity.ok(fleetListingService.listBikes(filter));
+    }
+
+    /**
+     * Whole filtered fleet as newline-delimited JSON, written as it is read.
+     */
+    @GetMapping(value = "/listing/stream", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamBikes(
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) BikeStatus status,
+            @RequestParam(required = false) BikeType type,
+            @RequestParam(required = false) Integer minBattery,
+            @RequestParam(required = false) Integer maxBattery) {
+        BikeListingFilterDTO filter = BikeListingFilterDTO.builder()
+                .stationId(stationId).status(status).type(type)
+                .minBattery(minBattery).maxBattery(maxBattery)
+                .build();
+        StreamingResponseBody body = out -> fleetListingService.streamBikes(filter, bike -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(bike));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(body);
     }
 
     @GetMapping("/{bikeId}")
@@ -30,11 +101,48 @@ public class BikeController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/positions")
+    public ResponseEntity<List<BikePositionDTO>> getBikePositions() {
+        return ResponseEntity.ok(telemetryIngestionService.getAllPositions());
+    }
+
+    @GetMapping("/{bikeId}/position")
+    public ResponseEntity<BikePositionDTO> getBikePosition(@PathVariable UUID bikeId) {
+        return telemetryIngestionService.getPosition(bikeId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/positions")
+    @PreAuthorize("hasAuthority('DEVICE') or hasAuthority('OPERATOR')")
+    public ResponseEntity<TelemetryIngestResultDTO> ingestBikePositions(
+            @Valid @RequestBody List<@Valid BikePositionDTO> fixes) {
+        long now = System.currentTimeMillis();
+        int accepted = 0;
+        for (BikePositionDTO fix : fixes) {
+            long recordedAt = fix.getRecordedAt() != null ? fix.getRecordedAt().toEpochMilli() : now;
+            if (telemetryIngestionService.submit(fix.getBikeId(), fix.getLatitude(), fix.getLongitude(), recordedAt)) {
+                accepted++;
+            }
+        }
+        return ResponseEntity.ok(new TelemetryIngestResultDTO(accepted, fixes.size() - accepted));
+    }
+
     @GetMapping("/station/{stationId}/available")
     public ResponseEntity<List<Bike>> getAvailableBikesAtStation(@PathVariable Long stationId) {
         return ResponseEntity.ok(bikeService.getAvailableBikesAtStation(stationId));
     }
 
+    @GetMapping("/station/{stationId}/availability")
+    public ResponseEntity<StationInventoryDTO> getStationAvailability(@PathVariable Long stationId) {
+        return ResponseEntity.ok(bikeService.getStationInventory(stationId));
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<List<StationInventoryDTO>> getAllStationAvailability() {
+        return ResponseEntity.ok(bikeService.getAllStationInventories());
+    }
+
     @GetMapping("/station/{stationId}")
     public ResponseEntity<List<Bike>> getBikesByStation(@PathVariable Long stationId) {
         return ResponseEntity.ok(bikeService.getBikesByStation(stationId));
@@ -91,6 +199,11 @@ public class BikeController {
         return ResponseEntity.ok(bike);
     }
 
+    @PostMapping("/move/batch")
+    public ResponseEntity<List<Bike>> moveBikes(@Valid @RequestBody BikeBatchMoveRequestDTO request) {
+        return ResponseEntity.ok(bikeService.moveBikes(request.getMoves(), request.getOperatorId()));
+    }
+
     @PostMapping("/expired-reservations/process")
     public ResponseEntity<String> processExpiredReservations() {
         bikeService.processExpiredReservations();
@@ -1,12 +1,18 @@
 package com.qwikride.controller;
 
+import com.qwikride.dto.DistrictOutageDTO;
+import com.qwikride.dto.NearbyStationDTO;
 import com.qwikride.dto.StationStatusDTO;
 import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeType;
 import com.qwikride.service.BikeStationService;
+import com.qwikride.service.FleetChangeLog;
+import com.qwikride.service.StationOutageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,10 +21,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BikeStationController {
     private final BikeStationService stationService;
+    private final FleetChangeLog fleetChangeLog;
+    private final StationOutageService stationOutageService;
 
+    /**
+     * Answers 304 without touching the database while the fleet is unchanged.
+     */
     @GetMapping("/stations")
-    public ResponseEntity<List<BikeStation>> listStations() {
-        return ResponseEntity.ok(stationService.getAllStations());
+    public ResponseEntity<List<BikeStation>> listStations(WebRequest request) {
+        String eTag = fleetChangeLog.eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(stationService.getAllStations());
     }
 
     @PostMapping("/stations")
@@ -26,6 +41,18 @@ public class BikeStationController {
         return ResponseEntity.ok(stationService.createStation(station));
     }
 
+    /**
+     * Nearest active stations with an available bike, optionally of one type.
+     */
+    @GetMapping("/stations/nearby")
+    public ResponseEntity<List<NearbyStationDTO>> findNearbyStations(@RequestParam double latitude,
+                                                                     @RequestParam double longitude,
+                                                                     @RequestParam(defaultValue = "5") int limit,
+                                                                     @RequestParam(defaultValue = "5000") double radiusMeters,
+                                                                     @RequestParam(required = false) BikeType bikeType) {
+        return ResponseEntity.ok(stationService.findNearbyStations(latitude, longitude, limit, radiusMeters, bikeType));
+    }
+
     @GetMapping("/stations/{id}")
     public ResponseEntity<BikeStation> getStation(@PathVariable Long id) {
         try {
@@ -50,4 +77,17 @@ public class BikeStationController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Operator endpoint taking every active station of a district out of service
+     * and releasing their reservations.
+     */
+    @PostMapping("/operator/districts/{district}/offline")
+    public ResponseEntity<DistrictOutageDTO> takeDistrictOffline(@PathVariable String district) {
+        try {
+            return ResponseEntity.ok(stationOutageService.takeDistrictOffline(district));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
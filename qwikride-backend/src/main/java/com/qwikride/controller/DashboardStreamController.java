@@ -0,0 +1,28 @@
+package com.qwikride.controller;
+
+import com.qwikride.service.DashboardPushHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Live station updates for operator dashboards as Server-Sent Events.
+ * Protected by security config under /api/operator/**
+ */
+@RestController
+@RequestMapping("/api/operator/dashboard")
+@RequiredArgsConstructor
+public class DashboardStreamController {
+    private final DashboardPushHub dashboardPushHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Set<Long> stationIds) {
+        return dashboardPushHub.connect(stationIds);
+    }
+}
@@ -0,0 +1,28 @@
+package com.qwikride.controller;
+
+import com.qwikride.dto.SubscriberMetricsDTO;
+import com.qwikride.event.EventMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Per-subscriber event handling statistics, slowest first. The underlying
+ * meters are also under /actuator/metrics/qwikride.events.*
+ * Protected by security config under /api/operator/**
+ */
+@RestController
+@RequestMapping("/api/operator/events")
+@RequiredArgsConstructor
+public class EventMetricsController {
+    private final EventMetrics eventMetrics;
+
+    @GetMapping("/subscribers")
+    public ResponseEntity<List<SubscriberMetricsDTO>> subscribers() {
+        return ResponseEntity.ok(eventMetrics.snapshot());
+    }
+}
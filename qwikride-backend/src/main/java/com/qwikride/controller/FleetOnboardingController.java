@@ -0,0 +1,55 @@
+package com.qwikride.controller;
+
+import com.qwikride.dto.BulkOnboardingResultDTO;
+import com.qwikride.dto.StationDefinitionDTO;
+import com.qwikride.model.BikeConfig;
+import com.qwikride.service.FleetOnboardingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Operator endpoints for onboarding whole deliveries of bikes or cities of
+ * stations. Protected by security config under /api/operator/**
+ */
+@RestController
+@RequestMapping("/api/operator/fleet")
+@RequiredArgsConstructor
+public class FleetOnboardingController {
+    private static final String TEXT_CSV = "text/csv";
+
+    private final FleetOnboardingService onboardingService;
+
+    @PostMapping(value = "/bikes", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOnboardingResultDTO> onboardBikes(@RequestBody List<BikeConfig> configs) {
+        return ResponseEntity.ok(onboardingService.onboardBikes(configs));
+    }
+
+    @PostMapping(value = "/bikes", consumes = TEXT_CSV)
+    public ResponseEntity<BulkOnboardingResultDTO> onboardBikesCsv(HttpServletRequest request) throws IOException {
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(onboardingService.onboardBikesCsv(reader));
+        }
+    }
+
+    @PostMapping(value = "/stations", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOnboardingResultDTO> onboardStations(@RequestBody List<StationDefinitionDTO> stations) {
+        return ResponseEntity.ok(onboardingService.onboardStations(stations));
+    }
+
+    @PostMapping(value = "/stations", consumes = TEXT_CSV)
+    public ResponseEntity<BulkOnboardingResultDTO> onboardStationsCsv(HttpServletRequest request) throws IOException {
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(onboardingService.onboardStationsCsv(reader));
+        }
+    }
+}
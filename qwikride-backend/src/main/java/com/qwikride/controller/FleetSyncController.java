@@ -0,0 +1,39 @@
+package com.qwikride.controller;
+
+import com.qwikride.dto.FleetChangesDTO;
+import com.qwikride.service.FleetChangeLog;
+import com.qwikride.service.FleetSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Delta sync for polling dashboards: send the last seen version as
+ * {@code since} (and as If-None-Match) to receive only what changed.
+ */
+@RestController
+@RequestMapping("/api/fleet")
+@RequiredArgsConstructor
+public class FleetSyncController {
+    private final FleetSyncService fleetSyncService;
+    private final FleetChangeLog fleetChangeLog;
+
+    @GetMapping("/version")
+    public ResponseEntity<Long> getVersion() {
+        return ResponseEntity.ok(fleetChangeLog.currentVersion());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<FleetChangesDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                      WebRequest request) {
+        String eTag = fleetChangeLog.eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(fleetSyncService.getChangesSince(since));
+    }
+}
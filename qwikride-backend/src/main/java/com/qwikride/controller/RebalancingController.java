@@ -0,0 +1,31 @@
+package com.qwikride.controller;
+
+import com.qwikride.dto.RebalancingPlanDTO;
+import com.qwikride.dto.RebalancingPlanRequestDTO;
+import com.qwikride.service.RebalancingPlanner;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operator endpoints for planning and executing rebalancing truck runs.
+ * Protected by security config under /api/operator/**
+ */
+@RestController
+@RequestMapping("/api/operator/rebalancing")
+@RequiredArgsConstructor
+public class RebalancingController {
+    private final RebalancingPlanner rebalancingPlanner;
+
+    @PostMapping("/plan")
+    public ResponseEntity<RebalancingPlanDTO> plan(@Valid @RequestBody RebalancingPlanRequestDTO request) {
+        return ResponseEntity.ok(rebalancingPlanner.plan(request));
+    }
+
+    @PostMapping("/execute")
+    public ResponseEntity<RebalancingPlanDTO> execute(@RequestParam Long operatorId,
+            @RequestBody RebalancingPlanDTO plan) {
+        return ResponseEntity.ok(rebalancingPlanner.execute(plan, operatorId));
+    }
+}
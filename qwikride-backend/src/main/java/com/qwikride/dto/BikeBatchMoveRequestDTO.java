@@ -0,0 +1,17 @@
+package com.qwikride.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BikeBatchMoveRequestDTO {
+    @NotNull(message = "Operator ID is required")
+    private Long operatorId;
+
+    @NotEmpty(message = "At least one move is required")
+    private List<@Valid BikeMoveItemDTO> moves;
+}
@@ -0,0 +1,28 @@
+package com.qwikride.dto;
+
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BikeListingFilterDTO {
+    private Long stationId;
+    private BikeStatus status;
+    private BikeType type;
+    private Integer minBattery;
+    private Integer maxBattery;
+
+    // Keyset cursor: only bikes with an id greater than this are returned
+    private UUID after;
+
+    @Builder.Default
+    private Integer limit = 100;
+}
@@ -0,0 +1,18 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeListingPageDTO {
+    private List<BikeSummaryDTO> bikes;
+
+    // Pass as "after" to fetch the next page; null on the last page
+    private UUID nextCursor;
+}
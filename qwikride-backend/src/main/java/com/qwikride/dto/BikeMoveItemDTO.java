@@ -0,0 +1,19 @@
+package com.qwikride.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeMoveItemDTO {
+    @NotNull(message = "Bike ID is required")
+    private UUID bikeId;
+
+    @NotNull(message = "New Station ID is required")
+    private Long newStationId;
+}
@@ -0,0 +1,24 @@
+package com.qwikride.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikePositionDTO {
+    @NotNull(message = "Bike ID is required")
+    private UUID bikeId;
+
+    private double latitude;
+
+    private double longitude;
+
+    // Device time of the fix; defaults to the time it was received
+    private Instant recordedAt;
+}
@@ -0,0 +1,28 @@
+package com.qwikride.dto;
+
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.model.LockState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Column-level view of a bike for fleet listings; never hydrated from an entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BikeSummaryDTO {
+    private UUID id;
+    private BikeType type;
+    private Long stationId;
+    private BikeStatus status;
+    // Only set for e-bikes
+    private Integer batteryLevel;
+    private LockState lockState;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,26 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOnboardingResultDTO {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<BulkRowResultDTO> rows;
+
+    public static BulkOnboardingResultDTO of(List<BulkRowResultDTO> rows) {
+        int created = (int) rows.stream()
+                .filter(row -> row.getStatus() == BulkRowResultDTO.RowStatus.CREATED)
+                .count();
+        return new BulkOnboardingResultDTO(rows.size(), created, rows.size() - created, rows);
+    }
+}
@@ -0,0 +1,29 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRowResultDTO {
+    private int row;
+    private RowStatus status;
+    private String id;
+    private String error;
+
+    public static BulkRowResultDTO created(int row, Object id) {
+        return new BulkRowResultDTO(row, RowStatus.CREATED, String.valueOf(id), null);
+    }
+
+    public static BulkRowResultDTO rejected(int row, String error) {
+        return new BulkRowResultDTO(row, RowStatus.REJECTED, null, error);
+    }
+
+    public enum RowStatus {
+        CREATED, REJECTED
+    }
+}
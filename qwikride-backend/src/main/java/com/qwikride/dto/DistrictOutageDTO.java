@@ -0,0 +1,17 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistrictOutageDTO {
+    private String district;
+    // Stations that were active and are now out of service
+    private List<Long> stationIds;
+    private int cancelledReservations;
+}
@@ -0,0 +1,23 @@
+package com.qwikride.dto;
+
+import com.qwikride.model.Bike;
+import com.qwikride.model.BikeStation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetChangesDTO {
+    // Pass as "since" on the next poll
+    private long version;
+
+    // True when the requested version is too old for a delta; the lists are then the whole fleet
+    private boolean fullResync;
+
+    private List<BikeStation> stations;
+    private List<Bike> bikes;
+}
@@ -0,0 +1,20 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyStationDTO {
+    private Long stationId;
+    private String name;
+    private double latitude;
+    private double longitude;
+    private double distanceMeters;
+    // Available bikes of the requested type (or of any type when none was requested)
+    private int availableBikes;
+}
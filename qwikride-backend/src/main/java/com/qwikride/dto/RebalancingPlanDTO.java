@@ -0,0 +1,21 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RebalancingPlanDTO {
+    private List<RebalancingTransferDTO> transfers;
+    private int bikesMoved;
+    private int truckLoads;
+    // Bikes still missing from under-filled stations after the plan is applied
+    private int unmetDemand;
+    private long computeMillis;
+}
@@ -0,0 +1,34 @@
+package com.qwikride.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RebalancingPlanRequestDTO {
+    @NotNull(message = "Target fill ratio is required")
+    @DecimalMin(value = "0.0", message = "Target fill ratio cannot be negative")
+    @DecimalMax(value = "1.0", message = "Target fill ratio cannot exceed 1")
+    private Double targetFillRatio;
+
+    @NotNull(message = "Truck capacity is required")
+    @Min(value = 1, message = "Truck capacity must be at least 1")
+    private Integer truckCapacity;
+
+    // Optional cap on the total number of bikes moved by the plan
+    @Min(value = 1, message = "Bike budget must be at least 1")
+    private Integer maxBikes;
+
+    // Optional per-station fill ratios overriding targetFillRatio
+    private Map<Long, Double> stationTargets;
+}
@@ -0,0 +1,17 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One truck load: {@code bikeCount} bikes from one station to another.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebalancingTransferDTO {
+    private Long fromStationId;
+    private Long toStationId;
+    private int bikeCount;
+}
@@ -0,0 +1,36 @@
+package com.qwikride.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationDefinitionDTO {
+    @NotBlank(message = "Station name is required")
+    private String name;
+
+    private String address;
+
+    @NotNull(message = "Capacity is required")
+    @Min(value = 0, message = "Capacity cannot be negative")
+    private Integer capacity;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    public StationDefinitionDTO(String name, String address, Integer capacity) {
+        this(name, address, capacity, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.qwikride.dto;
+
+import com.qwikride.model.BikeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StationInventoryDTO {
+    private Long stationId;
+    private int available;
+    private int reserved;
+    private int inUse;
+    private int maintenance;
+    private Map<BikeType, Set<UUID>> availableBikeIds;
+}
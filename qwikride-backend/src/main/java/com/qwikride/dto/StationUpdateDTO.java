@@ -0,0 +1,26 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Pushed to dashboards when a station's inventory changed; one update may stand
+ * for several domain events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StationUpdateDTO {
+    private Long stationId;
+    private int available;
+    private int reserved;
+    private int inUse;
+    private int maintenance;
+    private int coalescedEvents;
+    private Instant updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery statistics for one subscriber, channel and event type since startup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubscriberMetricsDTO {
+    private String subscriber;
+    private String channel;
+    private String eventType;
+    private long handled;
+    private long failed;
+    private long dropped;
+    private double meanMillis;
+    private double p99Millis;
+    private double maxMillis;
+    private double meanLagMillis;
+    private double maxLagMillis;
+    private int queueDepth;
+}
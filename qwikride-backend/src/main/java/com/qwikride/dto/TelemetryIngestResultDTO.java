@@ -0,0 +1,13 @@
+package com.qwikride.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryIngestResultDTO {
+    private int accepted;
+    private int rejected;
+}
@@ -3,6 +3,7 @@ package com.qwikride.event;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -12,10 +13,16 @@ public class BikeReservedEvent extends BaseDomainEvent {
     private UUID bikeId;
     private Long userId;
     private Long stationId;
+    private LocalDateTime reservationExpiresAt;
 
     public BikeReservedEvent(UUID bikeId, Long userId, Long stationId) {
+        this(bikeId, userId, stationId, null);
+    }
+
+    public BikeReservedEvent(UUID bikeId, Long userId, Long stationId, LocalDateTime reservationExpiresAt) {
         this.bikeId = bikeId;
         this.userId = userId;
         this.stationId = stationId;
+        this.reservationExpiresAt = reservationExpiresAt;
     }
 }
@@ -0,0 +1,34 @@
+package com.qwikride.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregated event for a batch of operator moves applied in one transaction.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class BikesRebalancedEvent extends BaseDomainEvent {
+    private Long operatorId;
+    private List<Move> moves;
+
+    public BikesRebalancedEvent(Long operatorId, List<Move> moves) {
+        this.operatorId = operatorId;
+        this.moves = moves;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Move {
+        private UUID bikeId;
+        private Long oldStationId;
+        private Long newStationId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.qwikride.event;
+
+/**
+ * When and where an {@link EventSubscriber} receives events published on the {@link EventBus}.
+ */
+public enum DeliveryMode {
+    /**
+     * On the publishing thread, inside the publisher's transaction. A failure
+     * propagates to the publisher and rolls the transaction back.
+     */
+    SYNC,
+
+    /**
+     * On the publishing thread once the transaction has committed; never for a
+     * rolled-back transaction. Failures are logged.
+     */
+    AFTER_COMMIT,
+
+    /**
+     * On the subscriber's own worker thread once the transaction has committed,
+     * in publication order. Best effort: failures are logged.
+     */
+    ASYNC
+}
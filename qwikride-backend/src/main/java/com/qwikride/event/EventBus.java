@@ -1,21 +1,260 @@
 package com.qwikride.event;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Dispatches domain events to subscribers according to each subscriber's
+ * {@link DeliveryMode}. Within a mode, subscribers are called in ascending
+ * priority (see {@link SubscriberOrder}), then in registration order.
+ * <p>
+ * Only subscribers whose {@link EventSubscriber#eventTypes()} match an event
+ * receive it. The matching subscribers are resolved once per concrete event
+ * class and cached in an immutable route; subscribing replaces the whole
+ * registry, so publishing never locks and never sees a half-updated table.
+ * <p>
+ * Every {@link DeliveryMode#ASYNC} subscriber has a single worker thread and a
+ * bounded queue. A full queue blocks the publisher for up to
+ * {@link #ENQUEUE_TIMEOUT_MILLIS} before the event is dropped for that
+ * subscriber. On shutdown the queues are drained before the subscribers' own
+ * dependencies are destroyed.
+ * <p>
+ * Handling time, failures, waiting time and queue depth are recorded per
+ * subscriber and event type through {@link EventMetrics}.
+ */
+@Slf4j
 @Component
-public class EventBus {
-    private final List<EventSubscriber> subscribers = new ArrayList<>();
+public class EventBus implements SmartLifecycle {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    static final long ENQUEUE_TIMEOUT_MILLIS = 5_000;
+    static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private volatile Registry registry = Registry.EMPTY;
+    private final EventMetrics metrics;
+    private final long enqueueTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private volatile boolean running;
+
+    @Autowired
+    public EventBus(EventMetrics metrics) {
+        this(metrics, ENQUEUE_TIMEOUT_MILLIS, SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    EventBus(long enqueueTimeoutMillis, long shutdownTimeoutMillis) {
+        this(new EventMetrics(new SimpleMeterRegistry()), enqueueTimeoutMillis, shutdownTimeoutMillis);
+    }
+
+    EventBus(EventMetrics metrics, long enqueueTimeoutMillis, long shutdownTimeoutMillis) {
+        this.metrics = metrics;
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
 
     public void subscribe(EventSubscriber subscriber) {
-        subscribers.add(subscriber);
+        subscribe(subscriber, DeliveryMode.SYNC);
+    }
+
+    public void subscribe(EventSubscriber subscriber, DeliveryMode mode) {
+        subscribe(subscriber, mode, 0);
+    }
+
+    public void subscribe(EventSubscriber subscriber, DeliveryMode mode, int priority) {
+        subscribe(subscriber, mode, priority, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public synchronized void subscribe(EventSubscriber subscriber, DeliveryMode mode, int priority, int queueCapacity) {
+        List<Subscription> ordered = new ArrayList<>(registry.subscriptions());
+        ThreadPoolExecutor worker = null;
+        if (mode == DeliveryMode.ASYNC) {
+            worker = newWorker(subscriber, queueCapacity);
+            metrics.registerQueue(subscriber, worker.getQueue());
+        }
+        ordered.add(new Subscription(subscriber, mode, priority, worker));
+        // List.sort is stable, so equal priorities keep registration order
+        ordered.sort(Comparator.comparingInt(Subscription::priority));
+        registry = new Registry(List.copyOf(ordered), new ConcurrentHashMap<>(), metrics);
     }
 
     public void publish(DomainEvent event) {
-        for (EventSubscriber subscriber : subscribers) {
-            subscriber.onEvent(event);
+        Route route = registry.routeFor(event.getClass());
+        for (Target target : route.sync()) {
+            target.meters().handle(target.subscription().subscriber(), event);
+        }
+        if (route.deferred().length > 0) {
+            Target[] deferred = route.deferred();
+            long publishedNanos = System.nanoTime();
+            runAfterCommit(() -> {
+                for (Target target : deferred) {
+                    deliver(target, event, publishedNanos);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Stops accepting asynchronous work and waits for the queued events to be
+     * handled. Events published afterwards are delivered on the publishing thread.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        List<Subscription> subscribers = registry.subscriptions();
+        for (Subscription subscription : subscribers) {
+            if (subscription.worker() != null) {
+                subscription.worker().shutdown();
+            }
+        }
+        for (Subscription subscription : subscribers) {
+            ThreadPoolExecutor worker = subscription.worker();
+            if (worker == null) {
+                continue;
+            }
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                if (!worker.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+                    int abandoned = worker.shutdownNow().size();
+                    log.warn("Gave up draining {} after {} ms, {} events not delivered",
+                            subscriberName(subscription.subscriber()), shutdownTimeoutMillis, abandoned);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server has stopped taking requests, but before singletons
+     * (repositories, data source) are destroyed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void deliver(Target target, DomainEvent event, long publishedNanos) {
+        Subscription subscription = target.subscription();
+        ThreadPoolExecutor worker = subscription.worker();
+        if (worker == null || worker.isShutdown()) {
+            handleQuietly(target, event, publishedNanos);
+            return;
+        }
+        try {
+            // Offered straight to the queue so a full queue blocks the publisher instead of rejecting
+            if (!worker.getQueue().offer(() -> handleQuietly(target, event, publishedNanos),
+                    enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                target.meters().dropped();
+                log.error("Dropped {} for {}: queue still full after {} ms", event.getEventType(),
+                        subscriberName(subscription.subscriber()), enqueueTimeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing {} for {}", event.getEventType(),
+                    subscriberName(subscription.subscriber()));
+        }
+    }
+
+    private static void handleQuietly(Target target, DomainEvent event, long publishedNanos) {
+        EventSubscriber subscriber = target.subscription().subscriber();
+        target.meters().waited(publishedNanos);
+        try {
+            target.meters().handle(subscriber, event);
+        } catch (RuntimeException e) {
+            log.error("{} failed to handle {} {}", subscriberName(subscriber), event.getEventType(),
+                    event.getEventId(), e);
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static ThreadPoolExecutor newWorker(EventSubscriber subscriber, int queueCapacity) {
+        String name = "event-" + subscriberName(subscriber);
+        ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // The queue is fed directly, so the worker must already be waiting on it
+        worker.prestartAllCoreThreads();
+        return worker;
+    }
+
+    private static String subscriberName(EventSubscriber subscriber) {
+        return EventMetrics.subscriberName(subscriber);
+    }
+
+    private record Subscription(EventSubscriber subscriber, DeliveryMode mode, int priority,
+                                ThreadPoolExecutor worker) {
+    }
+
+    /**
+     * A subscription with its meters for one event class.
+     */
+    private record Target(Subscription subscription, EventMetrics.Meters meters) {
+    }
+
+    /**
+     * Subscribers for one concrete event class, split by when they run, in call order.
+     */
+    private record Route(Target[] sync, Target[] deferred) {
+    }
+
+    private record Registry(List<Subscription> subscriptions, Map<Class<?>, Route> routes, EventMetrics metrics) {
+        static final Registry EMPTY = new Registry(List.of(), new ConcurrentHashMap<>(), null);
+
+        Route routeFor(Class<? extends DomainEvent> eventType) {
+            Route route = routes.get(eventType);
+            return route != null ? route : routes.computeIfAbsent(eventType, type -> resolve(eventType));
+        }
+
+        private Route resolve(Class<? extends DomainEvent> eventType) {
+            List<Target> sync = new ArrayList<>();
+            List<Target> deferred = new ArrayList<>();
+            for (Subscription subscription : subscriptions) {
+                if (subscription.subscriber().handles(eventType)) {
+                    Target target = new Target(subscription,
+                            metrics.metersFor(subscription.subscriber(), subscription.mode().name(), eventType));
+                    (subscription.mode() == DeliveryMode.SYNC ? sync : deferred).add(target);
+                }
+            }
+            return new Route(sync.toArray(Target[]::new), deferred.toArray(Target[]::new));
         }
     }
 }
@@ -0,0 +1,209 @@
+package com.qwikride.event;
+
+import com.qwikride.dto.SubscriberMetricsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for event delivery, tagged by subscriber, event type and
+ * channel (a {@link DeliveryMode} or {@code OUTBOX}):
+ * <ul>
+ *   <li>{@code qwikride.events.handled}: handling time histogram; its count is the throughput</li>
+ *   <li>{@code qwikride.events.failed}: handler exceptions</li>
+ *   <li>{@code qwikride.events.lag}: time from publishing (or, for the outbox,
+ *       from the event's timestamp) until handling starts</li>
+ *   <li>{@code qwikride.events.dropped}: events dropped on a full queue</li>
+ *   <li>{@code qwikride.events.queue.depth}: events waiting for an asynchronous subscriber</li>
+ * </ul>
+ * Meters are visible under {@code /actuator/metrics}; {@link #snapshot()}
+ * summarizes them per subscriber and event type.
+ */
+@Component
+public class EventMetrics {
+    static final String HANDLED = "qwikride.events.handled";
+    static final String FAILED = "qwikride.events.failed";
+    static final String LAG = "qwikride.events.lag";
+    static final String DROPPED = "qwikride.events.dropped";
+    static final String QUEUE_DEPTH = "qwikride.events.queue.depth";
+    public static final String OUTBOX_CHANNEL = "OUTBOX";
+
+    private final MeterRegistry registry;
+    private final Map<Key, Meters> meters = new ConcurrentHashMap<>();
+    private final Map<String, BlockingQueue<?>> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Falls back to a private registry where no Micrometer registry is
+     * configured, e.g. in slice tests.
+     */
+    @Autowired
+    public EventMetrics(ObjectProvider<MeterRegistry> registry) {
+        this(registry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public EventMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Meters for one subscriber and event type on one channel. Callers on a hot
+     * path should keep the result rather than look it up per event.
+     */
+    public Meters metersFor(EventSubscriber subscriber, String channel, Class<? extends DomainEvent> eventType) {
+        return meters.computeIfAbsent(new Key(subscriberName(subscriber), channel, eventType.getSimpleName()),
+                this::register);
+    }
+
+    /**
+     * Calls the subscriber, timing it and counting a failure before rethrowing.
+     */
+    public void handle(EventSubscriber subscriber, String channel, DomainEvent event) {
+        metersFor(subscriber, channel, event.getClass()).handle(subscriber, event);
+    }
+
+    void registerQueue(EventSubscriber subscriber, BlockingQueue<?> queue) {
+        String name = subscriberName(subscriber);
+        queues.put(name, queue);
+        Gauge.builder(QUEUE_DEPTH, queue, BlockingQueue::size)
+                .description("Events waiting for an asynchronous subscriber")
+                .tag("subscriber", name)
+                .register(registry);
+    }
+
+    /**
+     * Per subscriber, channel and event type, slowest p99 first.
+     */
+    public List<SubscriberMetricsDTO> snapshot() {
+        List<SubscriberMetricsDTO> rows = new ArrayList<>();
+        for (Map.Entry<Key, Meters> entry : meters.entrySet()) {
+            Key key = entry.getKey();
+            Meters m = entry.getValue();
+            HistogramSnapshot handled = m.handled.takeSnapshot();
+            BlockingQueue<?> queue = DeliveryMode.ASYNC.name().equals(key.channel())
+                    ? queues.get(key.subscriber()) : null;
+            rows.add(SubscriberMetricsDTO.builder()
+                    .subscriber(key.subscriber())
+                    .channel(key.channel())
+                    .eventType(key.eventType())
+                    .handled(handled.count())
+                    .failed((long) m.failed.count())
+                    .dropped((long) m.dropped.count())
+                    .meanMillis(handled.mean(TimeUnit.MILLISECONDS))
+                    .p99Millis(percentile(handled.percentileValues(), 0.99))
+                    .maxMillis(handled.max(TimeUnit.MILLISECONDS))
+                    .meanLagMillis(m.lag.mean(TimeUnit.MILLISECONDS))
+                    .maxLagMillis(m.lag.max(TimeUnit.MILLISECONDS))
+                    .queueDepth(queue == null ? 0 : queue.size())
+                    .build());
+        }
+        rows.sort(Comparator.comparingDouble(SubscriberMetricsDTO::getP99Millis).reversed());
+        return rows;
+    }
+
+    static String subscriberName(EventSubscriber subscriber) {
+        return ClassUtils.getUserClass(subscriber).getSimpleName();
+    }
+
+    private Meters register(Key key) {
+        return new Meters(
+                Timer.builder(HANDLED)
+                        .description("Time a subscriber spends handling an event")
+                        .tags("subscriber", key.subscriber(), "channel", key.channel(), "event", key.eventType())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                Counter.builder(FAILED)
+                        .description("Events whose handler threw")
+                        .tags("subscriber", key.subscriber(), "channel", key.channel(), "event", key.eventType())
+                        .register(registry),
+                Timer.builder(LAG)
+                        .description("Time from publishing an event until its subscriber starts handling it")
+                        .tags("subscriber", key.subscriber(), "channel", key.channel(), "event", key.eventType())
+                        .register(registry),
+                Counter.builder(DROPPED)
+                        .description("Events dropped because a subscriber's queue stayed full")
+                        .tags("subscriber", key.subscriber(), "channel", key.channel(), "event", key.eventType())
+                        .register(registry));
+    }
+
+    private static double percentile(ValueAtPercentile[] values, double percentile) {
+        for (ValueAtPercentile value : values) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+
+    private record Key(String subscriber, String channel, String eventType) {
+    }
+
+    /**
+     * The meters of one subscriber, channel and event type.
+     */
+    public static final class Meters {
+        private final Timer handled;
+        private final Counter failed;
+        private final Timer lag;
+        private final Counter dropped;
+
+        private Meters(Timer handled, Counter failed, Timer lag, Counter dropped) {
+            this.handled = handled;
+            this.failed = failed;
+            this.lag = lag;
+            this.dropped = dropped;
+        }
+
+        public void handle(EventSubscriber subscriber, DomainEvent event) {
+            long start = System.nanoTime();
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                failed.increment();
+                throw e;
+            } finally {
+                handled.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * Records the wait since {@code publishedNanos}, a {@link System#nanoTime()} reading.
+         */
+        public void waited(long publishedNanos) {
+            lag.record(System.nanoTime() - publishedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Records the wait since the event's own timestamp.
+         */
+        public void waitedSince(LocalDateTime timestamp) {
+            if (timestamp != null) {
+                Duration waited = Duration.between(timestamp, LocalDateTime.now());
+                // Timestamps come from other nodes' clocks; skew must not record a negative wait
+                lag.record(waited.isNegative() ? Duration.ZERO : waited);
+            }
+        }
+
+        void dropped() {
+            dropped.increment();
+        }
+    }
+}
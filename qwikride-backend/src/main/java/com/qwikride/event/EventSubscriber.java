@@ -1,5 +1,24 @@
 package com.qwikride.event;
 
+import java.util.Set;
+
 public interface EventSubscriber {
     void onEvent(DomainEvent event);
+
+    /**
+     * Event types this subscriber handles, subtypes included. The bus only
+     * delivers matching events; by default that is every event.
+     */
+    default Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(DomainEvent.class);
+    }
+
+    default boolean handles(Class<? extends DomainEvent> eventType) {
+        for (Class<? extends DomainEvent> type : eventTypes()) {
+            if (type.isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
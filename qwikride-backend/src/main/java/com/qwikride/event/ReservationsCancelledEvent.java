@@ -0,0 +1,33 @@
+package com.qwikride.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregated event for reservations released in one statement because their
+ * stations went out of service. Each affected rider is named once per bike.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ReservationsCancelledEvent extends BaseDomainEvent {
+    private List<Cancellation> cancellations;
+
+    public ReservationsCancelledEvent(List<Cancellation> cancellations) {
+        this.cancellations = cancellations;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cancellation {
+        private UUID bikeId;
+        private Long userId;
+        private Long stationId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.qwikride.event;
+
+/**
+ * Priorities for the application's subscribers; lower runs first within a
+ * {@link DeliveryMode}.
+ */
+public final class SubscriberOrder {
+    /** Read models that later subscribers and API reads rely on. */
+    public static final int INVENTORY = 100;
+    /** Tracks reservation deadlines for expiry. */
+    public static final int SCHEDULING = 200;
+    /** Fills in the trip cost that everything downstream reports. */
+    public static final int PRICING = 300;
+    /**
+     * Stores events once pricing has completed them. History is fed by the
+     * outbox relay, so this is also what orders it after pricing.
+     */
+    public static final int OUTBOX = 400;
+    /** Records committed events in the local journal. */
+    public static final int JOURNAL = 450;
+    /** Pushes station updates to dashboards. */
+    public static final int NOTIFICATION = 600;
+
+    private SubscriberOrder() {
+    }
+}
@@ -1,24 +1,31 @@
 package com.qwikride.listener;
 
 import com.qwikride.event.StationStatusChangedEvent;
+import com.qwikride.model.BikeStation;
+import com.qwikride.service.StationOutageService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * Example listener for station status changes. Keeps behaviour simple: just
- * logs the change.
- * Real listeners could cancel reservations, notify operators, emit metrics,
- * etc.
+ * Reacts to station status changes. Reservations at a station that goes out of
+ * service are released when the change commits; stations changed in the same
+ * transaction are handled by one set-based update.
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class StationStatusListener {
+    private final StationOutageService stationOutageService;
 
     @EventListener
     public void onStationStatusChanged(StationStatusChangedEvent ev) {
         log.info("Station {} status changed: {} -> {}",
                 ev.getStationId(), ev.getOldStatus(), ev.getNewStatus());
-        // TODO: add real reactions (cancel reservations, notify, metrics)
+        if (ev.getNewStatus() == BikeStation.StationStatus.OUT_OF_SERVICE
+                && ev.getOldStatus() != BikeStation.StationStatus.OUT_OF_SERVICE) {
+            stationOutageService.cancelReservationsOnCommit(ev.getStationId());
+        }
     }
 }
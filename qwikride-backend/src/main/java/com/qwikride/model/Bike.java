@@ -1,5 +1,6 @@
 package com.qwikride.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -33,7 +34,8 @@ public abstract class Bike {
     @Column(name = "current_user_id")
     private Long currentUserId;
 
-    @Column(name = "reserved_by_user_id")
+    // Unique so that "one active reservation per rider" holds even under concurrent reservations
+    @Column(name = "reserved_by_user_id", unique = true)
     private Long reservedByUserId;
 
     @Column(name = "reservation_time")
@@ -42,6 +44,24 @@ public abstract class Bike {
     @Column(name = "reservation_expires_at")
     private LocalDateTime reservationExpiresAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "lock_state", length = 32)
+    private LockState lockState = LockState.LOCKED;
+
+    // Written only by the telemetry pipeline, so entity saves never overwrite a newer fix. Left out of
+    // entity JSON: fixes do not bump the fleet version, so ETag'd snapshots would serve stale positions
+    @JsonIgnore
+    @Column(name = "latitude", insertable = false, updatable = false)
+    private Double latitude;
+
+    @JsonIgnore
+    @Column(name = "longitude", insertable = false, updatable = false)
+    private Double longitude;
+
+    @JsonIgnore
+    @Column(name = "location_updated_at", insertable = false, updatable = false)
+    private LocalDateTime locationUpdatedAt;
+
     public abstract boolean canCheckout();
     public abstract boolean needsMaintenance();
     public abstract void performMaintenance();
@@ -69,6 +89,7 @@ public abstract class Bike {
     public void checkout(Long userId) {
         if (canCheckout()) {
             this.status = BikeStatus.IN_USE;
+            this.lockState = LockState.UNLOCK_PENDING;
             this.currentUserId = userId;
             this.reservedByUserId = null;
             this.reservationTime = null;
@@ -81,6 +102,7 @@ public abstract class Bike {
     public void returnBike(Long stationId) {
         if (this.status == BikeStatus.IN_USE) {
             this.status = BikeStatus.AVAILABLE;
+            this.lockState = LockState.LOCK_PENDING;
             this.stationId = stationId;
             this.currentUserId = null;
         } else {
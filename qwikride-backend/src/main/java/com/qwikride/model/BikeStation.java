@@ -22,6 +22,13 @@ public class BikeStation {
 
     private String address;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(length = 64)
+    private String district;
+
     private Integer capacity = 0;
 
     private Integer currentBikeCount = 0;
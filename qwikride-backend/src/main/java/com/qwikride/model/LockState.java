@@ -0,0 +1,14 @@
+package com.qwikride.model;
+
+/**
+ * Physical dock lock state as last confirmed by the bike system. The pending
+ * states cover the window between commit and the dock acknowledging a command.
+ */
+public enum LockState {
+    LOCKED,
+    UNLOCKED,
+    LOCK_PENDING,
+    UNLOCK_PENDING,
+    LOCK_FAILED,
+    UNLOCK_FAILED
+}
@@ -46,6 +46,8 @@ public class User {
     private BigDecimal pendingBalance = BigDecimal.ZERO;
 
     public enum UserRole {
-        RIDER, OPERATOR
+        RIDER, OPERATOR,
+        /** Fleet telemetry gateways; may only post bike positions. */
+        DEVICE
     }
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package com.qwikride.prc.controller;
 
 import com.qwikride.prc.dto.PricingPlanResponse;
 import com.qwikride.prc.dto.PricingPlanUpsertRequest;
+import com.qwikride.prc.dto.RepricingSimulationRequest;
+import com.qwikride.prc.dto.RepricingSimulationResponse;
 import com.qwikride.prc.service.PricingPlanAdminService;
+import com.qwikride.prc.service.RepricingSimulationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +25,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PricingPlanAdminController {
     private final PricingPlanAdminService pricingPlanAdminService;
+    private final RepricingSimulationService repricingSimulationService;
 
     @GetMapping
     @PreAuthorize("hasAuthority('OPERATOR')")
@@ -41,4 +45,13 @@ public class PricingPlanAdminController {
             @RequestBody PricingPlanUpsertRequest request) {
         return ResponseEntity.ok(pricingPlanAdminService.update(planVersionId, request));
     }
+
+    /**
+     * Reprices historical trips with candidate rates and reports the revenue difference.
+     */
+    @PostMapping("/simulations")
+    @PreAuthorize("hasAuthority('OPERATOR')")
+    public ResponseEntity<RepricingSimulationResponse> simulate(@RequestBody RepricingSimulationRequest request) {
+        return ResponseEntity.ok(repricingSimulationService.simulate(request));
+    }
 }
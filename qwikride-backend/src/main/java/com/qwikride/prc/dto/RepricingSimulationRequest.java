@@ -0,0 +1,22 @@
+package com.qwikride.prc.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Trips that ended in {@code [from, to)} under each candidate's plan version
+ * are repriced with the candidate's rates.
+ */
+public record RepricingSimulationRequest(LocalDateTime from,
+        LocalDateTime to,
+        List<Candidate> candidates) {
+
+    public record Candidate(UUID planVersionId,
+            String label,
+            BigDecimal baseFee,
+            BigDecimal perMinuteRate,
+            BigDecimal ebikeSurcharge) {
+    }
+}
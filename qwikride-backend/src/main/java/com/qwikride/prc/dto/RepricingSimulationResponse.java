@@ -0,0 +1,36 @@
+package com.qwikride.prc.dto;
+
+import com.qwikride.prc.domain.MembershipStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record RepricingSimulationResponse(LocalDateTime from,
+        LocalDateTime to,
+        long tripsScanned,
+        long elapsedMillis,
+        List<CandidateResult> candidates) {
+
+    public record CandidateResult(UUID planVersionId,
+            String label,
+            long trips,
+            BigDecimal actualRevenue,
+            BigDecimal simulatedRevenue,
+            BigDecimal delta,
+            List<RevenueDelta> breakdown) {
+    }
+
+    /**
+     * Revenue of one plan, city and membership tier, as billed and as repriced.
+     */
+    public record RevenueDelta(String planName,
+            String cityId,
+            MembershipStatus membershipTier,
+            long trips,
+            BigDecimal actualRevenue,
+            BigDecimal simulatedRevenue,
+            BigDecimal delta) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.qwikride.prc.pricing;
+
+import com.qwikride.prc.pricing.domain.ChargeLine;
+import com.qwikride.prc.pricing.domain.FinalizedBill;
+import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.domain.RateSheet;
+import com.qwikride.prc.pricing.domain.TripFacts;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One plan's rate sheet compiled against the rule chain, producing the same
+ * bill as the chain without walking it.
+ * <p>
+ * Every rate is held as an unscaled long at its own scale (cents for the usual
+ * two decimals). The chain never rounds: a per-minute amount keeps the rate's
+ * scale and the total takes the largest scale of its lines. The arithmetic
+ * here is therefore exact, and {@link BigDecimal}s are only built for the
+ * finished bill. The fixed lines, and the per-minute lines of trips up to
+ * {@link #CACHED_MINUTES}, are built once and shared between bills.
+ */
+final class CompiledRateSheet {
+    /**
+     * Chain rules that add a charge, in the order the chain applies them.
+     */
+    enum Rule {
+        BASE_FEE, PER_MINUTE, EBIKE_SURCHARGE
+    }
+
+    private static final int CACHED_MINUTES = 240;
+    private static final int MAX_SCALE = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+    private static final Map<String, String> EBIKE_META = Map.of("ebike", "true");
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final PricingContext context;
+    private final Rule[] rules;
+    private final Rate baseFee;
+    private final Rate perMinute;
+    private final Rate ebikeSurcharge;
+    private final ChargeLine baseFeeLine;
+    private final ChargeLine ebikeSurchargeLine;
+    private final AtomicReferenceArray<ChargeLine> perMinuteLines = new AtomicReferenceArray<>(CACHED_MINUTES + 1);
+
+    private CompiledRateSheet(PricingContext context, Rule[] rules, Rate baseFee, Rate perMinute,
+                              Rate ebikeSurcharge) {
+        this.context = context;
+        this.rules = rules;
+        this.baseFee = baseFee;
+        this.perMinute = perMinute;
+        this.ebikeSurcharge = ebikeSurcharge;
+        this.baseFeeLine = baseFee == null ? null : ChargeLine.builder()
+                .code("BASE_FEE")
+                .amount(baseFee.amount())
+                .meta(Map.of("planVersionId", context.getPlanVersionId().toString()))
+                .build();
+        this.ebikeSurchargeLine = ebikeSurcharge == null ? null : ChargeLine.builder()
+                .code("E_BIKE_SURCHARGE")
+                .amount(ebikeSurcharge.amount())
+                .meta(EBIKE_META)
+                .build();
+    }
+
+    /**
+     * Compiles the context's rate sheet for the given chain rules.
+     *
+     * @return {@code null} when a rate does not fit a long at a scale of 0 to
+     *         {@value #MAX_SCALE}; such plans are priced by the chain
+     */
+    static CompiledRateSheet compile(PricingContext context, List<Rule> rules) {
+        RateSheet rateSheet = context.getRateSheet();
+        try {
+            return new CompiledRateSheet(context, rules.toArray(Rule[]::new), Rate.of(rateSheet.getBaseFee()),
+                    Rate.of(rateSheet.getPerMinute()), Rate.of(rateSheet.getEbikeSurcharge()));
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the bill, or {@code null} if an amount overflows a long, in which
+     *         case the trip must be priced by the chain
+     */
+    FinalizedBill price(TripFacts tripFacts) {
+        ChargeLine[] lines = new ChargeLine[rules.length];
+        int count = 0;
+        long total = 0;
+        int scale = 0;
+        try {
+            for (Rule rule : rules) {
+                switch (rule) {
+                    case BASE_FEE -> {
+                        if (baseFee != null) {
+                            lines[count++] = baseFeeLine;
+                            total = add(total, scale, baseFee.unscaled(), baseFee.scale());
+                            scale = Math.max(scale, baseFee.scale());
+                        }
+                    }
+                    case PER_MINUTE -> {
+                        if (perMinute != null) {
+                            long minutes = Math.max(1L, tripFacts.durationMinutes());
+                            long amount = Math.multiplyExact(perMinute.unscaled(), minutes);
+                            lines[count++] = perMinuteLine(minutes, amount);
+                            total = add(total, scale, amount, perMinute.scale());
+                            scale = Math.max(scale, perMinute.scale());
+                        }
+                    }
+                    case EBIKE_SURCHARGE -> {
+                        if (ebikeSurcharge != null && tripFacts.isEbike()) {
+                            lines[count++] = ebikeSurchargeLine;
+                            total = add(total, scale, ebikeSurcharge.unscaled(), ebikeSurcharge.scale());
+                            scale = Math.max(scale, ebikeSurcharge.scale());
+                        }
+                    }
+                }
+            }
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        return FinalizedBill.builder()
+                .planVersionId(context.getPlanVersionId())
+                .planName(context.getPlanName())
+                .charges(Collections.unmodifiableList(Arrays.asList(
+                        count == lines.length ? lines : Arrays.copyOf(lines, count))))
+                .total(BigDecimal.valueOf(total, scale))
+                .build();
+    }
+
+    private ChargeLine perMinuteLine(long minutes, long amount) {
+        if (minutes > CACHED_MINUTES) {
+            return newPerMinuteLine(minutes, amount);
+        }
+        int index = (int) minutes;
+        ChargeLine line = perMinuteLines.get(index);
+        if (line == null) {
+            // Racing threads build equal lines, so whichever lands is correct
+            line = newPerMinuteLine(minutes, amount);
+            perMinuteLines.lazySet(index, line);
+        }
+        return line;
+    }
+
+    private ChargeLine newPerMinuteLine(long minutes, long amount) {
+        return ChargeLine.builder()
+                .code("PER_MINUTE")
+                .amount(BigDecimal.valueOf(amount, perMinute.scale()))
+                .meta(Map.of("minutes", Long.toString(minutes)))
+                .build();
+    }
+
+    /**
+     * Adds {@code value} at {@code valueScale} to {@code total} at {@code totalScale},
+     * returning the sum at the larger of the two scales.
+     */
+    private static long add(long total, int totalScale, long value, int valueScale) {
+        int scale = Math.max(totalScale, valueScale);
+        return Math.addExact(Math.multiplyExact(total, POWERS_OF_TEN[scale - totalScale]),
+                Math.multiplyExact(value, POWERS_OF_TEN[scale - valueScale]));
+    }
+
+    /**
+     * A positive rate as its unscaled value and scale; {@code amount} is the
+     * original, so fixed lines carry exactly what the rate sheet holds.
+     */
+    private record Rate(BigDecimal amount, long unscaled, int scale) {
+        /**
+         * @return {@code null} for rates the chain does not charge (missing, zero or negative)
+         */
+        static Rate of(BigDecimal amount) {
+            if (amount == null || amount.signum() <= 0) {
+                return null;
+            }
+            if (amount.scale() < 0 || amount.scale() > MAX_SCALE) {
+                throw new ArithmeticException("Scale out of range: " + amount.scale());
+            }
+            return new Rate(amount, amount.unscaledValue().longValueExact(), amount.scale());
+        }
+    }
+}
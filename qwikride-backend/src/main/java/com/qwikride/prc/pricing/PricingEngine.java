@@ -4,28 +4,73 @@ import com.qwikride.prc.pricing.domain.FinalizedBill;
 import com.qwikride.prc.pricing.domain.MutableBill;
 import com.qwikride.prc.pricing.domain.PricingContext;
 import com.qwikride.prc.pricing.domain.TripFacts;
+import com.qwikride.prc.pricing.rule.AbstractRuleHandler;
 import com.qwikride.prc.pricing.rule.PricingRuleHandler;
 import com.qwikride.prc.pricing.selector.PricingPlanSelector;
 import com.qwikride.prc.pricing.selector.SelectionInput;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices trips with the rule chain. Each plan's rate sheet is compiled once
+ * into a {@link CompiledRateSheet} that produces the chain's bill without
+ * walking it; plans or trips the compiled form cannot represent exactly, and
+ * chains containing a handler without a declared
+ * {@link AbstractRuleHandler#compiledForm() compiled form}, are priced by the chain.
+ */
+@Slf4j
 @Component
 public class PricingEngine {
+    // Contexts come from the plan catalog, so this only outgrows a few entries when plans churn
+    private static final int MAX_COMPILED = 1024;
+
     private final PricingPlanSelector selector;
     private final PricingRuleHandler chainHead;
+    private final List<CompiledRateSheet.Rule> compiledRules;
+    private final Map<PricingContext, Optional<CompiledRateSheet>> compiled = new ConcurrentHashMap<>();
 
     @Autowired
     public PricingEngine(PricingPlanSelector selector,
             @Qualifier("pricingRuleChain") PricingRuleHandler chainHead) {
         this.selector = selector;
         this.chainHead = chainHead;
+        this.compiledRules = compileChain(chainHead);
+        if (compiledRules == null) {
+            log.info("Pricing rule chain has handlers without a compiled form; every trip walks the chain");
+        }
     }
 
     public FinalizedBill price(TripFacts tripFacts, SelectionInput input) {
-        PricingContext context = selector.select(input);
+        return price(selector.select(input), tripFacts);
+    }
+
+    /**
+     * Prices a trip under an already selected plan.
+     */
+    public FinalizedBill price(PricingContext context, TripFacts tripFacts) {
+        CompiledRateSheet rateSheet = compiled(context);
+        if (rateSheet != null) {
+            FinalizedBill bill = rateSheet.price(tripFacts);
+            if (bill != null) {
+                return bill;
+            }
+        }
+        return priceWithRuleChain(context, tripFacts);
+    }
 
+    /**
+     * Prices a trip by walking the rule chain; the reference the compiled rate
+     * sheets must agree with.
+     */
+    public FinalizedBill priceWithRuleChain(PricingContext context, TripFacts tripFacts) {
         MutableBill bill = new MutableBill();
         chainHead.apply(context, tripFacts, bill);
 
@@ -36,4 +81,45 @@ public class PricingEngine {
                 .total(bill.total())
                 .build();
     }
+
+    private CompiledRateSheet compiled(PricingContext context) {
+        if (compiledRules == null) {
+            return null;
+        }
+        Optional<CompiledRateSheet> rateSheet = compiled.get(context);
+        if (rateSheet == null) {
+            if (compiled.size() >= MAX_COMPILED) {
+                compiled.clear();
+            }
+            rateSheet = compiled.computeIfAbsent(context,
+                    key -> Optional.ofNullable(CompiledRateSheet.compile(key, compiledRules)));
+        }
+        return rateSheet.orElse(null);
+    }
+
+    /**
+     * The charging rules of the chain in order, or {@code null} if it contains
+     * a handler without a compiled form.
+     */
+    private static List<CompiledRateSheet.Rule> compileChain(PricingRuleHandler head) {
+        List<CompiledRateSheet.Rule> rules = new ArrayList<>();
+        PricingRuleHandler handler = head;
+        while (handler != null) {
+            if (!(handler instanceof AbstractRuleHandler ruleHandler)) {
+                return null;
+            }
+            switch (ruleHandler.compiledForm()) {
+                case BASE_FEE -> rules.add(CompiledRateSheet.Rule.BASE_FEE);
+                case PER_MINUTE -> rules.add(CompiledRateSheet.Rule.PER_MINUTE);
+                case EBIKE_SURCHARGE -> rules.add(CompiledRateSheet.Rule.EBIKE_SURCHARGE);
+                case NO_CHARGE -> {
+                }
+                case NOT_COMPILABLE -> {
+                    return null;
+                }
+            }
+            handler = ruleHandler.getNext();
+        }
+        return rules;
+    }
 }
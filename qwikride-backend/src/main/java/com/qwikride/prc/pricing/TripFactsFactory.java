@@ -73,13 +73,17 @@ public class TripFactsFactory {
             return null;
         }
         return bikeStationRepository.findById(stationId)
-                .map(station -> {
-                    String address = station.getAddress();
-                    if (address != null && address.toLowerCase().contains("montreal")) {
-                        return "MTL";
-                    }
-                    return "DEFAULT";
-                })
+                .map(station -> cityIdForAddress(station.getAddress()))
                 .orElse(null);
     }
+
+    /**
+     * City used for plan selection of a trip starting at a station with this address.
+     */
+    public static String cityIdForAddress(String address) {
+        if (address != null && address.toLowerCase().contains("montreal")) {
+            return "MTL";
+        }
+        return "DEFAULT";
+    }
 }
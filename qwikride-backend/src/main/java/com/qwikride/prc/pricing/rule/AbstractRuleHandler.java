@@ -13,6 +13,10 @@ public abstract class AbstractRuleHandler implements PricingRuleHandler {
         return nextHandler;
     }
 
+    public PricingRuleHandler getNext() {
+        return next;
+    }
+
     @Override
     public void apply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
         doApply(context, tripFacts, bill);
@@ -21,5 +25,20 @@ public abstract class AbstractRuleHandler implements PricingRuleHandler {
         }
     }
 
+    /**
+     * What this handler contributes to a compiled rate sheet. Handlers that do
+     * not override this keep every trip on the chain, and a handler may only
+     * declare a compiled form that {@link #doApply} matches exactly; the
+     * placeholders declaring {@link CompiledForm#NO_CHARGE} must stop doing so
+     * once they charge anything.
+     */
+    public CompiledForm compiledForm() {
+        return CompiledForm.NOT_COMPILABLE;
+    }
+
     protected abstract void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill);
+
+    public enum CompiledForm {
+        NOT_COMPILABLE, NO_CHARGE, BASE_FEE, PER_MINUTE, EBIKE_SURCHARGE
+    }
 }
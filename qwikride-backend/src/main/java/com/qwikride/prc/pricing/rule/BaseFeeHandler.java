@@ -11,6 +11,11 @@ import java.util.Map;
 
 @Component
 public class BaseFeeHandler extends AbstractRuleHandler {
+    @Override
+    public CompiledForm compiledForm() {
+        return CompiledForm.BASE_FEE;
+    }
+
     @Override
     protected void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
         BigDecimal baseFee = context.getRateSheet().getBaseFee();
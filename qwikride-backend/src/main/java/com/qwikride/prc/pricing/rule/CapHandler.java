@@ -7,6 +7,11 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class CapHandler extends AbstractRuleHandler {
+    @Override
+    public CompiledForm compiledForm() {
+        return CompiledForm.NO_CHARGE;
+    }
+
     @Override
     protected void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
         // Placeholder for capping logic (e.g., daily/weekly limits)
@@ -9,6 +9,11 @@ import org.springframework.stereotype.Component;
 @Component
 @Profile("prc-discounts")
 public class DiscountHandler extends AbstractRuleHandler {
+    @Override
+    public CompiledForm compiledForm() {
+        return CompiledForm.NO_CHARGE;
+    }
+
     @Override
     protected void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
         // Placeholder for future discount rules (e.g., loyalty, promotions)
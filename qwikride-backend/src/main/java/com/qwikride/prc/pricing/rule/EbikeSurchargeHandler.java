@@ -11,6 +11,11 @@ import java.util.Map;
 
 @Component
 public class EbikeSurchargeHandler extends AbstractRuleHandler {
+    @Override
+    public CompiledForm compiledForm() {
+        return CompiledForm.EBIKE_SURCHARGE;
+    }
+
     @Override
     protected void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
         if (!tripFacts.isEbike()) {
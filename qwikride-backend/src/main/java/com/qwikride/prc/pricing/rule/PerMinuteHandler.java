@@ -11,6 +11,11 @@ import java.util.Map;
 
 @Component
 public class PerMinuteHandler extends AbstractRuleHandler {
+    @Override
+    public CompiledForm compiledForm() {
+        return CompiledForm.PER_MINUTE;
+    }
+
     @Override
     protected void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
         BigDecimal perMinute = context.getRateSheet().getPerMinute();
@@ -7,6 +7,11 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class TaxHandler extends AbstractRuleHandler {
+    @Override
+    public CompiledForm compiledForm() {
+        return CompiledForm.NO_CHARGE;
+    }
+
     @Override
     protected void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
         // Placeholder for tax calculation logic if required by jurisdictions
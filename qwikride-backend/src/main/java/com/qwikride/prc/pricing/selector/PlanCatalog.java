@@ -0,0 +1,196 @@
+package com.qwikride.prc.pricing.selector;
+
+import com.qwikride.prc.domain.MembershipStatus;
+import com.qwikride.prc.model.PricingPlanVersion;
+import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.repository.PricingPlanVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Published pricing plan versions held in memory, indexed by effective window
+ * overall, per membership tier and per city.
+ * <p>
+ * Each index cuts the time line at every effectiveFrom and effectiveTo and
+ * stores the plan that wins each segment: the active version that took effect
+ * last, as the repository's {@code findActivePlans*} queries order them. A
+ * lookup is one binary search and never touches the database.
+ * <p>
+ * The catalog is loaded when the application is ready and reloaded whenever
+ * {@code PricingPlanAdminService} changes a plan. Plans written to the
+ * database by other means are picked up on the next {@link #refresh()}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlanCatalog {
+    private final PricingPlanVersionRepository repository;
+
+    private volatile Snapshot snapshot;
+
+    public Optional<PricingContext> findActive(LocalDateTime pointInTime) {
+        return snapshot().all().find(pointInTime);
+    }
+
+    public Optional<PricingContext> findActiveForMembership(MembershipStatus membership, LocalDateTime pointInTime) {
+        Timeline timeline = snapshot().byMembership().get(membership);
+        return timeline == null ? Optional.empty() : timeline.find(pointInTime);
+    }
+
+    public Optional<PricingContext> findActiveForCity(String cityId, LocalDateTime pointInTime) {
+        Timeline timeline = snapshot().byCity().get(cityId);
+        return timeline == null ? Optional.empty() : timeline.find(pointInTime);
+    }
+
+    /**
+     * Reloads the published plans from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        List<PricingPlanVersion> published = repository.findAll().stream()
+                .filter(PricingPlanVersion::isPublished)
+                .collect(Collectors.toList());
+        snapshot = Snapshot.of(published);
+        log.info("Pricing plan catalog loaded with {} published versions", published.size());
+    }
+
+    /**
+     * Reloads once the current transaction commits, so the catalog never shows
+     * a plan change that is later rolled back.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(Timeline all, Map<MembershipStatus, Timeline> byMembership,
+                            Map<String, Timeline> byCity) {
+        static Snapshot of(List<PricingPlanVersion> versions) {
+            return new Snapshot(Timeline.of(versions),
+                    index(versions, PricingPlanVersion::getMembershipTier),
+                    index(versions, PricingPlanVersion::getCityId));
+        }
+
+        private static <K> Map<K, Timeline> index(List<PricingPlanVersion> versions,
+                                                  Function<PricingPlanVersion, K> key) {
+            Map<K, List<PricingPlanVersion>> groups = new HashMap<>();
+            for (PricingPlanVersion version : versions) {
+                K value = key.apply(version);
+                if (value != null) {
+                    groups.computeIfAbsent(value, k -> new ArrayList<>()).add(version);
+                }
+            }
+            Map<K, Timeline> index = new HashMap<>();
+            groups.forEach((value, group) -> index.put(value, Timeline.of(group)));
+            return Map.copyOf(index);
+        }
+    }
+
+    /**
+     * The winning plan of each segment between consecutive window boundaries;
+     * {@code winners[i]} covers {@code [boundaries[i], boundaries[i + 1])}.
+     */
+    private record Timeline(LocalDateTime[] boundaries, PricingContext[] winners) {
+        // Latest effectiveFrom first; equal starts fall back to the id so the choice is stable
+        private static final Comparator<PricingPlanVersion> PRECEDENCE = Comparator
+                .comparing(PricingPlanVersion::getEffectiveFrom).reversed()
+                .thenComparing(PricingPlanVersion::getId);
+
+        static Timeline of(Collection<PricingPlanVersion> versions) {
+            TreeSet<LocalDateTime> cuts = new TreeSet<>();
+            for (PricingPlanVersion version : versions) {
+                cuts.add(version.getEffectiveFrom());
+                if (version.getEffectiveTo() != null) {
+                    cuts.add(version.getEffectiveTo());
+                }
+            }
+            List<PricingPlanVersion> byStart = new ArrayList<>(versions);
+            byStart.sort(Comparator.comparing(PricingPlanVersion::getEffectiveFrom));
+            Map<PricingPlanVersion, PricingContext> contexts = new HashMap<>();
+
+            LocalDateTime[] boundaries = cuts.toArray(LocalDateTime[]::new);
+            PricingContext[] winners = new PricingContext[boundaries.length];
+            PriorityQueue<PricingPlanVersion> active = new PriorityQueue<>(PRECEDENCE);
+            int next = 0;
+            for (int i = 0; i < boundaries.length; i++) {
+                LocalDateTime cut = boundaries[i];
+                while (next < byStart.size() && !byStart.get(next).getEffectiveFrom().isAfter(cut)) {
+                    active.add(byStart.get(next++));
+                }
+                // Expired versions below the top are dropped once they surface
+                while (!active.isEmpty() && active.peek().getEffectiveTo() != null
+                        && !active.peek().getEffectiveTo().isAfter(cut)) {
+                    active.poll();
+                }
+                winners[i] = active.isEmpty() ? null : contexts.computeIfAbsent(active.peek(), Timeline::toContext);
+            }
+            return new Timeline(boundaries, winners);
+        }
+
+        Optional<PricingContext> find(LocalDateTime pointInTime) {
+            Objects.requireNonNull(pointInTime, "pointInTime");
+            int low = 0;
+            int high = boundaries.length - 1;
+            int segment = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (boundaries[mid].isAfter(pointInTime)) {
+                    high = mid - 1;
+                } else {
+                    segment = mid;
+                    low = mid + 1;
+                }
+            }
+            return segment < 0 ? Optional.empty() : Optional.ofNullable(winners[segment]);
+        }
+
+        private static PricingContext toContext(PricingPlanVersion version) {
+            return PricingContext.builder()
+                    .planVersionId(version.getId())
+                    .rateSheet(version.toRateSheet())
+                    .membershipStatus(version.getMembershipTier())
+                    .planName(version.getPlanName())
+                    .build();
+        }
+    }
+}
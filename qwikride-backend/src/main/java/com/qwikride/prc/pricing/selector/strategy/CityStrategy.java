@@ -1,10 +1,9 @@
 package com.qwikride.prc.pricing.selector.strategy;
 
-import com.qwikride.prc.model.PricingPlanVersion;
 import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.selector.PlanCatalog;
 import com.qwikride.prc.pricing.selector.PlanSelectionStrategy;
 import com.qwikride.prc.pricing.selector.SelectionInput;
-import com.qwikride.prc.repository.PricingPlanVersionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -15,7 +14,7 @@ import java.util.Optional;
 @Order(20)
 @RequiredArgsConstructor
 public class CityStrategy implements PlanSelectionStrategy {
-    private final PricingPlanVersionRepository repository;
+    private final PlanCatalog planCatalog;
 
     @Override
     public Optional<PricingContext> select(SelectionInput input) {
@@ -23,17 +22,6 @@ public class CityStrategy implements PlanSelectionStrategy {
             return Optional.empty();
         }
 
-        return repository.findActivePlansForCity(input.getCityId(), input.getTripEndTime()).stream()
-                .findFirst()
-                .map(this::toContext);
-    }
-
-    private PricingContext toContext(PricingPlanVersion version) {
-        return PricingContext.builder()
-                .planVersionId(version.getId())
-                .rateSheet(version.toRateSheet())
-                .membershipStatus(version.getMembershipTier())
-                .planName(version.getPlanName())
-                .build();
+        return planCatalog.findActiveForCity(input.getCityId(), input.getTripEndTime());
     }
 }
@@ -1,10 +1,9 @@
 package com.qwikride.prc.pricing.selector.strategy;
 
-import com.qwikride.prc.model.PricingPlanVersion;
 import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.selector.PlanCatalog;
 import com.qwikride.prc.pricing.selector.PlanSelectionStrategy;
 import com.qwikride.prc.pricing.selector.SelectionInput;
-import com.qwikride.prc.repository.PricingPlanVersionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -15,21 +14,10 @@ import java.util.Optional;
 @Order(30)
 @RequiredArgsConstructor
 public class EffectiveDateStrategy implements PlanSelectionStrategy {
-    private final PricingPlanVersionRepository repository;
+    private final PlanCatalog planCatalog;
 
     @Override
     public Optional<PricingContext> select(SelectionInput input) {
-        return repository.findActivePlans(input.getTripEndTime()).stream()
-                .findFirst()
-                .map(this::toContext);
-    }
-
-    private PricingContext toContext(PricingPlanVersion version) {
-        return PricingContext.builder()
-                .planVersionId(version.getId())
-                .rateSheet(version.toRateSheet())
-                .membershipStatus(version.getMembershipTier())
-                .planName(version.getPlanName())
-                .build();
+        return planCatalog.findActive(input.getTripEndTime());
     }
 }
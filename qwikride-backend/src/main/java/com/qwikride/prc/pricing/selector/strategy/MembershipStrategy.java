@@ -1,11 +1,10 @@
 package com.qwikride.prc.pricing.selector.strategy;
 
 import com.qwikride.prc.domain.MembershipStatus;
-import com.qwikride.prc.model.PricingPlanVersion;
 import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.selector.PlanCatalog;
 import com.qwikride.prc.pricing.selector.PlanSelectionStrategy;
 import com.qwikride.prc.pricing.selector.SelectionInput;
-import com.qwikride.prc.repository.PricingPlanVersionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -16,7 +15,7 @@ import java.util.Optional;
 @Order(10)
 @RequiredArgsConstructor
 public class MembershipStrategy implements PlanSelectionStrategy {
-    private final PricingPlanVersionRepository repository;
+    private final PlanCatalog planCatalog;
 
     @Override
     public Optional<PricingContext> select(SelectionInput input) {
@@ -25,17 +24,6 @@ public class MembershipStrategy implements PlanSelectionStrategy {
             return Optional.empty();
         }
 
-        return repository.findActivePlansForMembership(membership, input.getTripEndTime()).stream()
-                .findFirst()
-                .map(this::toContext);
-    }
-
-    private PricingContext toContext(PricingPlanVersion version) {
-        return PricingContext.builder()
-                .planVersionId(version.getId())
-                .rateSheet(version.toRateSheet())
-                .membershipStatus(version.getMembershipTier())
-                .planName(version.getPlanName())
-                .build();
+        return planCatalog.findActiveForMembership(membership, input.getTripEndTime());
     }
 }
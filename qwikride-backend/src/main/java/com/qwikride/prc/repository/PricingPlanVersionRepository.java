@@ -24,4 +24,6 @@ public interface PricingPlanVersionRepository extends JpaRepository<PricingPlanV
             @Param("pointInTime") LocalDateTime pointInTime);
 
     Optional<PricingPlanVersion> findFirstByPublishedTrueOrderByEffectiveFromDesc();
+
+    boolean existsByPlanNameAndEffectiveFromAndIdNot(String planName, LocalDateTime effectiveFrom, UUID id);
 }
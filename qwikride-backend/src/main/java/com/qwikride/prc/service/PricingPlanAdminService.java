@@ -3,6 +3,7 @@ package com.qwikride.prc.service;
 import com.qwikride.prc.dto.PricingPlanResponse;
 import com.qwikride.prc.dto.PricingPlanUpsertRequest;
 import com.qwikride.prc.model.PricingPlanVersion;
+import com.qwikride.prc.pricing.selector.PlanCatalog;
 import com.qwikride.prc.repository.PricingPlanVersionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class PricingPlanAdminService {
     private final PricingPlanVersionRepository repository;
     private final PricingPlanService pricingPlanService;
+    private final PlanCatalog planCatalog;
 
     @Transactional
     public PricingPlanResponse create(PricingPlanUpsertRequest request) {
@@ -25,6 +27,7 @@ public class PricingPlanAdminService {
         version.setId(UUID.randomUUID());
         applyRequest(version, request);
         repository.save(version);
+        planCatalog.refreshAfterCommit();
         return pricingPlanService.toResponse(version);
     }
 
@@ -34,6 +37,7 @@ public class PricingPlanAdminService {
                 .orElseThrow(() -> new IllegalArgumentException("Pricing plan not found"));
         applyRequest(version, request);
         repository.save(version);
+        planCatalog.refreshAfterCommit();
         return pricingPlanService.toResponse(version);
     }
 
@@ -56,5 +60,9 @@ public class PricingPlanAdminService {
         version.setEffectiveTo(request.effectiveTo());
         version.setDescription(request.description());
         version.setPublished(request.publish());
+        if (repository.existsByPlanNameAndEffectiveFromAndIdNot(version.getPlanName(), version.getEffectiveFrom(),
+                version.getId())) {
+            throw new IllegalArgumentException("A version of this plan already starts at " + version.getEffectiveFrom());
+        }
     }
 }
@@ -0,0 +1,277 @@
+package com.qwikride.prc.service;
+
+import com.qwikride.prc.domain.MembershipStatus;
+import com.qwikride.prc.dto.RepricingSimulationRequest;
+import com.qwikride.prc.dto.RepricingSimulationResponse;
+import com.qwikride.prc.pricing.PricingEngine;
+import com.qwikride.prc.pricing.TripFactsFactory;
+import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.domain.RateSheet;
+import com.qwikride.prc.pricing.domain.TripFacts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * What-if repricing of historical trips: how revenue would have differed had
+ * a plan version charged different rates.
+ * <p>
+ * The date range is cut into time slices that are scanned in parallel on a
+ * dedicated fork/join pool, each in its own read-only transaction with a
+ * streaming cursor, so only one fetch per slice is ever held in memory. Each
+ * billed trip is rebuilt into {@link TripFacts}, priced with every candidate
+ * for its plan through the compiled {@link PricingEngine} path, and added to
+ * the slice's totals, which are merged at the end.
+ * <p>
+ * Only original trip entries are repriced; dispute adjustments are left out.
+ * Membership is the rider's current tier, as it is not recorded per trip.
+ */
+@Slf4j
+@Service
+public class RepricingSimulationService {
+    private static final String TRIPS_SQL = "select l.plan_version_id, l.plan_name, l.rider_id, l.bike_id,"
+            + " l.start_station_id, l.end_station_id, l.start_time, l.end_time, l.distance_km, l.total,"
+            + " u.membership_status, s.address,"
+            + " (b.bike_type = 'E_BIKE' or exists (select 1 from ledger_entry_charges c"
+            + " where c.ledger_entry_id = l.id and c.charge_code = 'E_BIKE_SURCHARGE')) as ebike"
+            + " from ledger_entries l"
+            + " left join users u on u.id = l.rider_id"
+            + " left join bikes b on b.id = l.bike_id"
+            + " left join bike_stations s on s.id = l.start_station_id"
+            + " where l.end_time >= ? and l.end_time < ? and l.adjustment_of_entry_id is null"
+            + " and l.plan_version_id = any(?)";
+    private static final int FETCH_SIZE = 2_000;
+    private static final int SLICES_PER_THREAD = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PricingEngine pricingEngine;
+    private final int parallelism;
+
+    @Autowired
+    public RepricingSimulationService(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      PricingEngine pricingEngine,
+                                      @Value("${qwikride.simulation.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pricingEngine = pricingEngine;
+        this.parallelism = parallelism;
+    }
+
+    public RepricingSimulationResponse simulate(RepricingSimulationRequest request) {
+        validate(request);
+        long started = System.nanoTime();
+        List<RepricingSimulationRequest.Candidate> candidates = request.candidates();
+        Map<UUID, List<Scenario>> scenariosByPlan = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            RepricingSimulationRequest.Candidate candidate = candidates.get(i);
+            scenariosByPlan.computeIfAbsent(candidate.planVersionId(), id -> new ArrayList<>())
+                    .add(new Scenario(i, toContext(candidate)));
+        }
+        List<Slice> slices = slices(request.from(), request.to(), parallelism * SLICES_PER_THREAD);
+        UUID[] planIds = scenariosByPlan.keySet().toArray(UUID[]::new);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<Totals> parts;
+        try {
+            parts = pool.submit(() -> slices.parallelStream()
+                    .map(slice -> scan(slice, planIds, scenariosByPlan))
+                    .collect(Collectors.toList())).join();
+        } finally {
+            pool.shutdown();
+        }
+        Totals totals = new Totals();
+        parts.forEach(totals::merge);
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Repriced {} trips from {} to {} against {} candidates in {} ms", totals.trips, request.from(),
+                request.to(), candidates.size(), elapsedMillis);
+        return new RepricingSimulationResponse(request.from(), request.to(), totals.trips, elapsedMillis,
+                results(candidates, totals));
+    }
+
+    private Totals scan(Slice slice, UUID[] planIds, Map<UUID, List<Scenario>> scenariosByPlan) {
+        Totals totals = new Totals();
+        // Postgres only streams with a cursor inside a transaction; otherwise the whole slice is fetched at once
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(TRIPS_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setTimestamp(1, Timestamp.valueOf(slice.from()));
+            statement.setTimestamp(2, Timestamp.valueOf(slice.to()));
+            Array array = connection.createArrayOf("uuid", planIds);
+            statement.setArray(3, array);
+            return statement;
+        }, (ResultSet rs) -> {
+            UUID planVersionId = rs.getObject("plan_version_id", UUID.class);
+            TripFacts tripFacts = toTripFacts(rs);
+            BigDecimal actual = rs.getBigDecimal("total");
+            String planName = rs.getString("plan_name");
+            totals.trips++;
+            for (Scenario scenario : scenariosByPlan.get(planVersionId)) {
+                BigDecimal simulated = pricingEngine.price(scenario.context(), tripFacts).getTotal();
+                totals.add(new Key(scenario.index(), planName, tripFacts.getCityId(), tripFacts.getMembershipStatus()),
+                        actual, simulated);
+            }
+        }));
+        return totals;
+    }
+
+    private static TripFacts toTripFacts(ResultSet rs) throws SQLException {
+        String membership = rs.getString("membership_status");
+        Long startStationId = rs.getObject("start_station_id", Long.class);
+        return TripFacts.builder()
+                .bikeId(rs.getObject("bike_id", UUID.class))
+                .riderId(rs.getLong("rider_id"))
+                .startStationId(startStationId)
+                .endStationId(rs.getObject("end_station_id", Long.class))
+                .startTime(rs.getTimestamp("start_time").toLocalDateTime())
+                .endTime(rs.getTimestamp("end_time").toLocalDateTime())
+                .ebike(rs.getBoolean("ebike"))
+                .distanceKm(rs.getDouble("distance_km"))
+                .membershipStatus(membership == null ? MembershipStatus.NONE : MembershipStatus.valueOf(membership))
+                .cityId(startStationId == null ? null : TripFactsFactory.cityIdForAddress(rs.getString("address")))
+                .build();
+    }
+
+    private static List<RepricingSimulationResponse.CandidateResult> results(
+            List<RepricingSimulationRequest.Candidate> candidates, Totals totals) {
+        List<RepricingSimulationResponse.CandidateResult> results = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            RepricingSimulationRequest.Candidate candidate = candidates.get(i);
+            long trips = 0;
+            BigDecimal actual = BigDecimal.ZERO;
+            BigDecimal simulated = BigDecimal.ZERO;
+            List<RepricingSimulationResponse.RevenueDelta> breakdown = new ArrayList<>();
+            for (Map.Entry<Key, Revenue> entry : totals.byKey.entrySet()) {
+                Key key = entry.getKey();
+                if (key.candidate() != i) {
+                    continue;
+                }
+                Revenue revenue = entry.getValue();
+                trips += revenue.trips;
+                actual = actual.add(revenue.actual);
+                simulated = simulated.add(revenue.simulated);
+                breakdown.add(new RepricingSimulationResponse.RevenueDelta(key.planName(), key.cityId(),
+                        key.membershipTier(), revenue.trips, revenue.actual, revenue.simulated,
+                        revenue.simulated.subtract(revenue.actual)));
+            }
+            breakdown.sort(Comparator.comparing((RepricingSimulationResponse.RevenueDelta delta) ->
+                    delta.delta().abs()).reversed());
+            results.add(new RepricingSimulationResponse.CandidateResult(candidate.planVersionId(), label(candidate),
+                    trips, actual, simulated, simulated.subtract(actual), breakdown));
+        }
+        return results;
+    }
+
+    /**
+     * Splits {@code [from, to)} into at most {@code count} contiguous windows of
+     * equal length, none shorter than a second.
+     */
+    static List<Slice> slices(LocalDateTime from, LocalDateTime to, int count) {
+        long seconds = Duration.between(from, to).getSeconds();
+        int pieces = (int) Math.max(1, Math.min(count, seconds));
+        List<Slice> slices = new ArrayList<>(pieces);
+        LocalDateTime start = from;
+        for (int i = 1; i <= pieces; i++) {
+            LocalDateTime end = i == pieces ? to : from.plusSeconds(seconds * i / pieces);
+            slices.add(new Slice(start, end));
+            start = end;
+        }
+        return slices;
+    }
+
+    private static void validate(RepricingSimulationRequest request) {
+        if (request.from() == null || request.to() == null || !request.from().isBefore(request.to())) {
+            throw new IllegalArgumentException("A date range with from before to is required");
+        }
+        if (request.candidates() == null || request.candidates().isEmpty()) {
+            throw new IllegalArgumentException("At least one candidate rate sheet is required");
+        }
+        for (RepricingSimulationRequest.Candidate candidate : request.candidates()) {
+            if (candidate.planVersionId() == null) {
+                throw new IllegalArgumentException("Every candidate needs the plan version it replaces");
+            }
+        }
+    }
+
+    private static PricingContext toContext(RepricingSimulationRequest.Candidate candidate) {
+        return PricingContext.builder()
+                .planVersionId(candidate.planVersionId())
+                .planName(label(candidate))
+                .rateSheet(RateSheet.builder()
+                        .baseFee(candidate.baseFee())
+                        .perMinute(candidate.perMinuteRate())
+                        .ebikeSurcharge(candidate.ebikeSurcharge() == null ? BigDecimal.ZERO
+                                : candidate.ebikeSurcharge())
+                        .build())
+                .build();
+    }
+
+    private static String label(RepricingSimulationRequest.Candidate candidate) {
+        return candidate.label() == null ? candidate.planVersionId().toString() : candidate.label();
+    }
+
+    record Slice(LocalDateTime from, LocalDateTime to) {
+    }
+
+    private record Scenario(int index, PricingContext context) {
+    }
+
+    private record Key(int candidate, String planName, String cityId, MembershipStatus membershipTier) {
+    }
+
+    private static final class Revenue {
+        private long trips;
+        private BigDecimal actual = BigDecimal.ZERO;
+        private BigDecimal simulated = BigDecimal.ZERO;
+    }
+
+    /**
+     * Revenue per candidate, plan, city and tier of one slice; confined to the
+     * thread scanning it until merged.
+     */
+    private static final class Totals {
+        private final Map<Key, Revenue> byKey = new HashMap<>();
+        private long trips;
+
+        void add(Key key, BigDecimal actual, BigDecimal simulated) {
+            Revenue revenue = byKey.computeIfAbsent(key, k -> new Revenue());
+            revenue.trips++;
+            revenue.actual = revenue.actual.add(actual);
+            revenue.simulated = revenue.simulated.add(simulated);
+        }
+
+        void merge(Totals other) {
+            trips += other.trips;
+            other.byKey.forEach((key, revenue) -> {
+                Revenue merged = byKey.computeIfAbsent(key, k -> new Revenue());
+                merged.trips += revenue.trips;
+                merged.actual = merged.actual.add(revenue.actual);
+                merged.simulated = merged.simulated.add(revenue.simulated);
+            });
+        }
+    }
+}
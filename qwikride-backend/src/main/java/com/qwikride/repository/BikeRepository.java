@@ -2,18 +2,109 @@ package com.qwikride.repository;
 
 import com.qwikride.model.Bike;
 import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.model.LockState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface BikeRepository extends JpaRepository<Bike, UUID> {
+    /**
+     * Lock timeout hint understood by Hibernate as {@code SKIP LOCKED}.
+     */
+    String SKIP_LOCKED = "-2";
+
     List<Bike> findByStationIdAndStatus(Long stationId, BikeStatus status);
     List<Bike> findByStatus(BikeStatus status);
+    List<Bike> findByStatusAndReservationExpiresAtBefore(BikeStatus status, LocalDateTime pointInTime);
     Optional<Bike> findByReservedByUserId(Long userId);
+    boolean existsByReservedByUserId(Long userId);
     List<Bike> findByCurrentUserId(Long userId);
     List<Bike> findByStationId(Long stationId);
+
+    /**
+     * Lean projection used to rebuild in-memory inventory without hydrating entities.
+     */
+    interface InventoryRow {
+        UUID getId();
+        Long getStationId();
+        BikeType getBikeType();
+        BikeStatus getStatus();
+    }
+
+    @Query("select b.id from Bike b")
+    List<UUID> findAllIds();
+
+    /**
+     * Records a dock command outcome, but only while the bike is still in the
+     * state the command was issued for.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Bike b set b.lockState = :outcome where b.id = :bikeId and b.lockState = :expected")
+    int updateLockState(@Param("bikeId") UUID bikeId,
+            @Param("expected") LockState expected,
+            @Param("outcome") LockState outcome);
+
+    @Query("select b.id as id, b.stationId as stationId, b.type as bikeType, b.status as status from Bike b")
+    List<InventoryRow> findInventoryRows();
+
+    interface ReservationExpiryRow {
+        UUID getId();
+        LocalDateTime getReservationExpiresAt();
+    }
+
+    @Query("select b.id as id, b.reservationExpiresAt as reservationExpiresAt from Bike b "
+            + "where b.status = com.qwikride.model.BikeStatus.RESERVED")
+    List<ReservationExpiryRow> findReservationExpiries();
+
+    @Query("select b.id as id, b.reservationExpiresAt as reservationExpiresAt from Bike b "
+            + "where b.id = :bikeId and b.status = com.qwikride.model.BikeStatus.RESERVED")
+    Optional<ReservationExpiryRow> findReservationExpiry(@Param("bikeId") UUID bikeId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Bike b where b.id = :bikeId")
+    Optional<Bike> findByIdForUpdate(@Param("bikeId") UUID bikeId);
+
+    /**
+     * Locks the given bikes in id order, so concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Bike b where b.id in :bikeIds order by b.id")
+    List<Bike> findAllByIdForUpdate(@Param("bikeIds") Collection<UUID> bikeIds);
+
+    /**
+     * Selects available bikes at a station with {@code FOR UPDATE SKIP LOCKED}.
+     * Rows already locked by a concurrent claim are skipped instead of waited on,
+     * so parallel reservations at one station each get a different bike.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("select b from Bike b where b.stationId = :stationId "
+            + "and b.status = com.qwikride.model.BikeStatus.AVAILABLE order by b.id")
+    List<Bike> findAvailableForClaim(@Param("stationId") Long stationId, Pageable pageable);
+
+    /**
+     * Picks and row-locks exactly one available bike at the station. Must be
+     * called inside a transaction; the lock is held until it completes.
+     */
+    default Optional<Bike> claimAvailableBike(Long stationId) {
+        return findAvailableForClaim(stationId, PageRequest.of(0, 1)).stream().findFirst();
+    }
 }
@@ -2,8 +2,40 @@ package com.qwikride.repository;
 
 import com.qwikride.model.BikeStation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
 
 @Repository
 public interface BikeStationRepository extends JpaRepository<BikeStation, Long> {
+
+    /**
+     * Applies a signed delta to the station's bike count in a single conditional
+     * UPDATE. The row is only touched when the resulting count stays within
+     * {@code [0, capacity]}, so concurrent callers never lose updates and never
+     * overshoot the capacity.
+     *
+     * @return number of rows updated (1 when applied, 0 when rejected or missing)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update BikeStation s set s.currentBikeCount = s.currentBikeCount + :delta, s.updatedAt = :now "
+            + "where s.id = :stationId "
+            + "and s.currentBikeCount + :delta >= 0 "
+            + "and s.currentBikeCount + :delta <= s.capacity")
+    int applyBikeCountDelta(@Param("stationId") Long stationId,
+            @Param("delta") int delta,
+            @Param("now") Instant now);
+
+    /**
+     * Convenience wrapper around {@link #applyBikeCountDelta} that reports whether
+     * the delta was applied.
+     */
+    default boolean tryAdjustBikeCount(Long stationId, int delta) {
+        return applyBikeCountDelta(stationId, delta, Instant.now()) == 1;
+    }
 }
@@ -0,0 +1,88 @@
+package com.qwikride.service;
+
+import com.qwikride.adapter.AsyncBikeLocationPort;
+import com.qwikride.model.LockState;
+import com.qwikride.repository.BikeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Sends dock lock/unlock commands once the surrounding transaction has
+ * committed, so a slow dock never holds a connection or row locks, and a
+ * rolled-back checkout never unlocks a bike. The outcome is written back to the
+ * bike's {@link LockState}, but only while the bike is still waiting for that
+ * command; a late answer never overwrites a newer request.
+ */
+@Slf4j
+@Service
+public class BikeLockCommandDispatcher {
+    private final AsyncBikeLocationPort asyncBikeLocationPort;
+    private final BikeRepository bikeRepository;
+    private final FleetChangeLog fleetChangeLog;
+    private final ExecutorService reconciler = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "lock-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BikeLockCommandDispatcher(AsyncBikeLocationPort asyncBikeLocationPort, BikeRepository bikeRepository,
+            FleetChangeLog fleetChangeLog) {
+        this.asyncBikeLocationPort = asyncBikeLocationPort;
+        this.bikeRepository = bikeRepository;
+        this.fleetChangeLog = fleetChangeLog;
+    }
+
+    public void lockAfterCommit(UUID bikeId) {
+        afterCommit(() -> dispatch(bikeId, asyncBikeLocationPort::lockBike,
+                LockState.LOCK_PENDING, LockState.LOCKED, LockState.LOCK_FAILED));
+    }
+
+    public void unlockAfterCommit(UUID bikeId) {
+        afterCommit(() -> dispatch(bikeId, asyncBikeLocationPort::unlockBike,
+                LockState.UNLOCK_PENDING, LockState.UNLOCKED, LockState.UNLOCK_FAILED));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdown();
+    }
+
+    CompletableFuture<LockState> dispatch(UUID bikeId, Function<UUID, CompletableFuture<Boolean>> command,
+            LockState pending, LockState success, LockState failure) {
+        return command.apply(bikeId)
+                .handle((acknowledged, error) -> error == null && Boolean.TRUE.equals(acknowledged) ? success : failure)
+                .thenApplyAsync(outcome -> {
+                    if (bikeRepository.updateLockState(bikeId, pending, outcome) == 0) {
+                        log.debug("Ignoring {} for bike {}, no longer {}", outcome, bikeId, pending);
+                        return outcome;
+                    }
+                    fleetChangeLog.bikeChanged(bikeId);
+                    if (outcome == failure) {
+                        log.warn("Bike {} is {}; dock did not confirm the command", bikeId, outcome);
+                    }
+                    return outcome;
+                }, reconciler);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,19 +1,30 @@
 package com.qwikride.service;
 
-import com.qwikride.adapter.BikeLocationPort;
+import com.qwikride.dto.BikeMoveItemDTO;
+import com.qwikride.dto.StationInventoryDTO;
 import com.qwikride.event.*;
 import com.qwikride.factory.BikeFactory;
 import com.qwikride.factory.BikeFactoryRegistry;
 import com.qwikride.model.*;
 import com.qwikride.repository.BikeRepository;
 import com.qwikride.repository.BikeStationRepository;
+import com.qwikride.service.telemetry.TelemetryIngestionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +32,11 @@ public class BikeService {
     private final BikeRepository bikeRepository;
     private final BikeStationRepository bikeStationRepository;
     private final EventBus eventBus;
-    private final BikeLocationPort bikeLocationPort;
+    private final BikeLockCommandDispatcher bikeLockCommandDispatcher;
     private final BikeFactoryRegistry bikeFactoryRegistry;
+    private final StationInventoryIndex stationInventoryIndex;
+    private final FleetChangeLog fleetChangeLog;
+    private final TelemetryIngestionService telemetryIngestionService;
 
     @Transactional
     @SuppressWarnings("null")
@@ -31,57 +45,64 @@ public class BikeService {
         Bike bike = factory.createBike(config);
         Bike savedBike = bikeRepository.save(bike);
 
-        // Update station count
-        incrementStationCount(config.getStationId());
+        // Update station count (fails atomically when the station is full); bikes may start undocked
+        if (config.getStationId() != null) {
+            incrementStationCountOrThrow(config.getStationId());
+            fleetChangeLog.stationChanged(config.getStationId());
+        }
+
+        // Creation has no domain event, so register the bike with the inventory directly
+        stationInventoryIndex.track(savedBike);
+        telemetryIngestionService.registerAfterCommit(savedBike.getId());
+        fleetChangeLog.bikeChanged(savedBike.getId());
         
         return savedBike;
     }
 
     @Transactional
     public Bike reserveBike(Long stationId, Long userId, int expiresAfterMinutes) {
-        // Check if station is active and has available bikes
+        // Check if station is active
         BikeStation station = getStationByIdOrThrow(stationId, "Station not found");
         validateStationActive(station);
 
-        if (station.getCurrentBikeCount() <= 0) {
-            throw new IllegalStateException("No bikes available at this station");
-        }
-
-        // Check if user already has a reservation
-        Optional<Bike> existingReservation = bikeRepository.findByReservedByUserId(userId);
-        if (existingReservation.isPresent()) {
+        // Cheap pre-check; the unique reserved_by_user_id constraint is the real guard
+        if (bikeRepository.existsByReservedByUserId(userId)) {
             throw new IllegalStateException("User already has an active reservation");
         }
 
-        // Find an available bike at the station
-        List<Bike> availableBikes = bikeRepository.findByStationIdAndStatus(stationId, BikeStatus.AVAILABLE);
-        if (availableBikes.isEmpty()) {
-            throw new IllegalStateException("No available bikes at this station");
-        }
+        // Claim one available bike, skipping bikes other reservations have locked
+        Bike bike = bikeRepository.claimAvailableBike(stationId)
+                .orElseThrow(() -> new IllegalStateException("No available bikes at this station"));
 
-        Bike bike = availableBikes.get(0);
         bike.reserve(userId, expiresAfterMinutes);
-        bikeRepository.save(bike);
+        try {
+            bikeRepository.saveAndFlush(bike);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("User already has an active reservation");
+        }
 
-        // Update station count
-        decrementStationCount(stationId);
+        // Update station count last so the station row is locked as briefly as possible
+        if (!decrementStationCount(stationId)) {
+            throw new IllegalStateException("No bikes available at this station");
+        }
 
-        eventBus.publish(new BikeReservedEvent(bike.getId(), userId, stationId));
+        fleetChangeLog.bikeChanged(bike.getId());
+        fleetChangeLog.stationChanged(stationId);
+        eventBus.publish(new BikeReservedEvent(bike.getId(), userId, stationId, bike.getReservationExpiresAt()));
         return bike;
     }
 
     @Transactional
     public Bike checkoutBike(UUID bikeId, Long userId) {
-        Bike bike = getBikeByIdOrThrow(bikeId);
+        // Lock the row so checkout and reservation expiry cannot interleave
+        Bike bike = getBikeByIdForUpdateOrThrow(bikeId);
 
         if (bike.getStatus() == BikeStatus.RESERVED && !bike.getReservedByUserId().equals(userId)) {
             throw new IllegalStateException("Bike is reserved by another user");
         }
 
         if (bike.isReservationExpired()) {
-            bike.cancelReservation();
-            bikeRepository.save(bike);
-            eventBus.publish(new ReservationExpiredEvent(bikeId, bike.getReservedByUserId()));
+            // Released by ReservationExpiryScheduler; this transaction rolls back anyway
             throw new IllegalStateException("Reservation has expired");
         }
 
@@ -91,7 +112,8 @@ public class BikeService {
 
         bike.checkout(userId);
         bikeRepository.save(bike);
-        bikeLocationPort.unlockBike(bikeId);
+        bikeLockCommandDispatcher.unlockAfterCommit(bikeId);
+        fleetChangeLog.bikeChanged(bikeId);
         eventBus.publish(new TripStartedEvent(bikeId, userId, bike.getStationId()));
         return bike;
     }
@@ -104,16 +126,16 @@ public class BikeService {
             throw new IllegalStateException("Bike is not currently checked out by this user");
         }
 
-        // Check if return station is active and has capacity
+        // Check if return station is active, then claim a dock atomically with the capacity check
         BikeStation returnStation = getStationByIdOrThrow(returnStationId, "Return station not found");
-        validateStationForBikeReturn(returnStation);
+        validateStationActive(returnStation);
+        incrementStationCountOrThrow(returnStationId);
 
         bike.returnBike(returnStationId);
         bikeRepository.save(bike);
-        bikeLocationPort.lockBike(bikeId);
-
-        // Update station count
-        incrementStationCount(returnStationId);
+        bikeLockCommandDispatcher.lockAfterCommit(bikeId);
+        fleetChangeLog.bikeChanged(bikeId);
+        fleetChangeLog.stationChanged(returnStationId);
 
         // Publish trip completion event for pricing/billing (PricingService will calculate actual cost)
         eventBus.publish(new TripEndedEvent(bikeId, userId, returnStationId, durationMinutes, distanceKm, 0.0));
@@ -125,42 +147,152 @@ public class BikeService {
         Bike bike = getBikeByIdOrThrow(bikeId);
         Long oldStationId = bike.getStationId();
 
-        // Check if new station is active and has capacity
+        // Check if new station is active; capacity is enforced by the count update below
         BikeStation newStation = getStationByIdOrThrow(newStationId, "Destination station not found");
-        validateStationForBikeReturn(newStation);
+        validateStationActive(newStation);
 
-        if (oldStationId.equals(newStationId)) {
+        if (newStationId.equals(oldStationId)) {
             throw new IllegalStateException("Cannot move bike to the same station");
         }
 
         bike.moveToStation(newStationId);
         bikeRepository.save(bike);
 
-        decrementStationCount(oldStationId);
-        incrementStationCount(newStationId);
+        incrementStationCountOrThrow(newStationId);
+        if (oldStationId != null && !decrementStationCount(oldStationId)) {
+            throw new IllegalStateException("Origin station has no bikes to move");
+        }
+        fleetChangeLog.bikeChanged(bikeId);
+        fleetChangeLog.stationChanged(newStationId);
+        if (oldStationId != null) {
+            fleetChangeLog.stationChanged(oldStationId);
+        }
 
         eventBus.publish(new BikeMovedEvent(bikeId, oldStationId, newStationId, operatorId));
         return bike;
     }
 
+    /**
+     * Releases the bike's reservation if it has expired. Called by
+     * {@link ReservationExpiryScheduler} when the reservation's deadline passes.
+     *
+     * @return {@code true} if a reservation was released
+     */
     @Transactional
-    public void processExpiredReservations() {
-        List<Bike> reservedBikes = bikeRepository.findByStatus(BikeStatus.RESERVED);
-        for (Bike bike : reservedBikes) {
-            if (bike.isReservationExpired()) {
-                bike.cancelReservation();
-                bikeRepository.save(bike);
-
-                // Update station count
-                incrementStationCount(bike.getStationId());
-                
-                eventBus.publish(new ReservationExpiredEvent(bike.getId(), bike.getReservedByUserId()));
+    public boolean expireReservation(UUID bikeId) {
+        Optional<Bike> locked = bikeRepository.findByIdForUpdate(bikeId);
+        if (locked.isEmpty() || !locked.get().isReservationExpired()) {
+            return false;
+        }
+        Bike bike = locked.get();
+        Long userId = bike.getReservedByUserId();
+        bike.cancelReservation();
+        bikeRepository.save(bike);
+
+        // Update station count
+        incrementStationCount(bike.getStationId());
+        fleetChangeLog.bikeChanged(bikeId);
+        fleetChangeLog.stationChanged(bike.getStationId());
+
+        eventBus.publish(new ReservationExpiredEvent(bike.getId(), userId));
+        return true;
+    }
+
+    /**
+     * Applies a batch of operator moves in one transaction. Capacity is checked
+     * once per station against the net change, bikes are updated in batched
+     * statements and a single {@link BikesRebalancedEvent} is published.
+     */
+    @Transactional
+    public List<Bike> moveBikes(List<BikeMoveItemDTO> moves, Long operatorId) {
+        Map<UUID, Long> destinations = new LinkedHashMap<>();
+        for (BikeMoveItemDTO move : moves) {
+            if (destinations.put(move.getBikeId(), move.getNewStationId()) != null) {
+                throw new IllegalArgumentException("Bike " + move.getBikeId() + " appears more than once");
             }
         }
+
+        Map<UUID, Bike> bikes = bikeRepository.findAllByIdForUpdate(destinations.keySet()).stream()
+                .collect(Collectors.toMap(Bike::getId, Function.identity()));
+        Map<Long, BikeStation> stations = bikeStationRepository.findAllById(destinations.values()).stream()
+                .collect(Collectors.toMap(BikeStation::getId, Function.identity()));
+
+        // Net change per station; a bike shuffled A->B and another B->A cancels out
+        Map<Long, Integer> netDeltas = new TreeMap<>();
+        List<BikesRebalancedEvent.Move> rebalanced = new ArrayList<>(destinations.size());
+        destinations.forEach((bikeId, newStationId) -> {
+            Bike bike = bikes.get(bikeId);
+            if (bike == null) {
+                throw new IllegalArgumentException("Bike not found: " + bikeId);
+            }
+            BikeStation newStation = stations.get(newStationId);
+            if (newStation == null) {
+                throw new IllegalArgumentException("Destination station not found: " + newStationId);
+            }
+            validateStationActive(newStation);
+            Long oldStationId = bike.getStationId();
+            if (newStationId.equals(oldStationId)) {
+                throw new IllegalStateException("Cannot move bike " + bikeId + " to the same station");
+            }
+
+            bike.moveToStation(newStationId);
+            netDeltas.merge(newStationId, 1, Integer::sum);
+            if (oldStationId != null) {
+                netDeltas.merge(oldStationId, -1, Integer::sum);
+            }
+            rebalanced.add(new BikesRebalancedEvent.Move(bikeId, oldStationId, newStationId));
+        });
+
+        // Stations are updated in id order (TreeMap) to keep lock ordering consistent
+        netDeltas.forEach((stationId, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            if (!bikeStationRepository.tryAdjustBikeCount(stationId, delta)) {
+                throw new IllegalStateException(delta > 0
+                        ? "Station " + stationId + " does not have room for " + delta + " bikes"
+                        : "Station " + stationId + " does not have " + -delta + " bikes to move");
+            }
+        });
+
+        List<Bike> saved = bikeRepository.saveAll(bikes.values());
+        fleetChangeLog.bikesChanged(bikes.keySet());
+        fleetChangeLog.stationsChanged(netDeltas.keySet());
+
+        eventBus.publish(new BikesRebalancedEvent(operatorId, rebalanced));
+        return saved;
+    }
+
+    /**
+     * Manual fallback for the expiry scheduler: releases every reservation whose
+     * deadline has already passed.
+     */
+    @Transactional
+    public void processExpiredReservations() {
+        List<Bike> expiredBikes = bikeRepository.findByStatusAndReservationExpiresAtBefore(
+                BikeStatus.RESERVED, LocalDateTime.now());
+        for (Bike bike : expiredBikes) {
+            expireReservation(bike.getId());
+        }
     }
 
     public List<Bike> getAvailableBikesAtStation(Long stationId) {
-        return bikeRepository.findByStationIdAndStatus(stationId, BikeStatus.AVAILABLE);
+        // The inventory index names the bikes; only a primary-key lookup hits the database
+        Set<UUID> bikeIds = stationInventoryIndex.availableBikeIds(stationId);
+        if (bikeIds.isEmpty()) {
+            return List.of();
+        }
+        return bikeRepository.findAllById(bikeIds).stream()
+                .filter(bike -> bike.getStatus() == BikeStatus.AVAILABLE)
+                .collect(Collectors.toList());
+    }
+
+    public StationInventoryDTO getStationInventory(Long stationId) {
+        return stationInventoryIndex.getInventory(stationId);
+    }
+
+    public List<StationInventoryDTO> getAllStationInventories() {
+        return stationInventoryIndex.getAllInventories();
     }
 
     public List<Bike> getAllBikes() {
@@ -190,6 +322,14 @@ public class BikeService {
                 .orElseThrow(() -> new IllegalArgumentException("Bike not found"));
     }
 
+    private Bike getBikeByIdForUpdateOrThrow(UUID bikeId) {
+        if (bikeId == null) {
+            throw new IllegalArgumentException("Bike ID cannot be null");
+        }
+        return bikeRepository.findByIdForUpdate(bikeId)
+                .orElseThrow(() -> new IllegalArgumentException("Bike not found"));
+    }
+
     private BikeStation getStationByIdOrThrow(Long stationId, String errorMessage) {
         if (stationId == null) {
             throw new IllegalArgumentException("Station ID cannot be null");
@@ -204,33 +344,25 @@ public class BikeService {
         }
     }
 
-    private void validateStationCapacity(BikeStation station) {
-        if (station.getCurrentBikeCount() >= station.getCapacity()) {
+    /**
+     * Claims a dock at the station. The capacity check and the increment run as a
+     * single conditional update, so concurrent returns cannot overfill a station.
+     */
+    private void incrementStationCountOrThrow(Long stationId) {
+        if (!incrementStationCount(stationId)) {
+            if (stationId == null || !bikeStationRepository.existsById(stationId)) {
+                throw new IllegalArgumentException("Station not found");
+            }
             throw new IllegalStateException("Station is full");
         }
     }
 
-    private void validateStationForBikeReturn(BikeStation station) {
-        validateStationActive(station);
-        validateStationCapacity(station);
-    }
-    
-    private void incrementStationCount(Long stationId) {
-        if (stationId != null) {
-            bikeStationRepository.findById(stationId).ifPresent(station -> {
-                station.setCurrentBikeCount(station.getCurrentBikeCount() + 1);
-                bikeStationRepository.save(station);
-            });
-        }
+    private boolean incrementStationCount(Long stationId) {
+        return stationId != null && bikeStationRepository.tryAdjustBikeCount(stationId, 1);
     }
 
-    private void decrementStationCount(Long stationId) {
-        if (stationId != null) {
-            bikeStationRepository.findById(stationId).ifPresent(station -> {
-                station.setCurrentBikeCount(Math.max(0, station.getCurrentBikeCount() - 1));
-                bikeStationRepository.save(station);
-            });
-        }
+    private boolean decrementStationCount(Long stationId) {
+        return stationId != null && bikeStationRepository.tryAdjustBikeCount(stationId, -1);
     }
 
 }
@@ -1,7 +1,9 @@
 package com.qwikride.service;
 
+import com.qwikride.dto.NearbyStationDTO;
 import com.qwikride.exception.StationOutOfServiceException;
 import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeType;
 import com.qwikride.repository.BikeStationRepository;
 import com.qwikride.event.StationStatusChangedEvent;
 import jakarta.transaction.Transactional;
@@ -16,13 +18,29 @@ import java.util.List;
 public class BikeStationService {
     private final BikeStationRepository repository;
     private final ApplicationEventPublisher publisher;
+    private final StationGeoIndex stationGeoIndex;
+    private final FleetChangeLog fleetChangeLog;
 
     public List<BikeStation> getAllStations() {
         return repository.findAll();
     }
 
     public BikeStation createStation(BikeStation station) {
-        return repository.save(station);
+        BikeStation saved = repository.save(station);
+        stationGeoIndex.upsert(saved);
+        fleetChangeLog.stationChanged(saved.getId());
+        return saved;
+    }
+
+    public List<NearbyStationDTO> findNearbyStations(double latitude, double longitude, int limit,
+            double radiusMeters, BikeType bikeType) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates are out of range");
+        }
+        if (limit <= 0 || radiusMeters <= 0) {
+            throw new IllegalArgumentException("Limit and radius must be positive");
+        }
+        return stationGeoIndex.nearby(latitude, longitude, limit, radiusMeters, bikeType);
     }
 
     public BikeStation getStation(Long id) {
@@ -35,6 +53,8 @@ public class BikeStationService {
         BikeStation.StationStatus old = s.getStatus();
         s.setStatus(status);
         BikeStation saved = repository.save(s);
+        stationGeoIndex.upsert(saved);
+        fleetChangeLog.stationChanged(saved.getId());
         // publish event so other components can react to status changes
         publisher.publishEvent(new StationStatusChangedEvent(saved.getId(), old, status));
         return saved;
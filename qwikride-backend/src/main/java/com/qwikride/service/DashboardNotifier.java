@@ -1,37 +1,71 @@
 package com.qwikride.service;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.qwikride.event.*;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class DashboardNotifier implements EventSubscriber {
+    private final DashboardPushHub dashboardPushHub;
+    private final StationInventoryIndex stationInventoryIndex;
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(BikeReservedEvent.class, TripStartedEvent.class, TripEndedEvent.class,
+                BikeMovedEvent.class, BikesRebalancedEvent.class, ReservationExpiredEvent.class,
+                ReservationsCancelledEvent.class);
+    }
+
     @Override
     public void onEvent(DomainEvent event) {
         if (event instanceof BikeReservedEvent) {
             BikeReservedEvent bikeReservedEvent = (BikeReservedEvent) event;
             log.info("Dashboard notification - Bike {} reserved by user {} at station {}", 
                     bikeReservedEvent.getBikeId(), bikeReservedEvent.getUserId(), bikeReservedEvent.getStationId());
-            // Push notification to dashboard for bike reservation
+            dashboardPushHub.stationChanged(bikeReservedEvent.getStationId());
         } else if (event instanceof TripStartedEvent) {
             TripStartedEvent tripStartedEvent = (TripStartedEvent) event;
             log.info("Dashboard notification - Trip started for bike {}, user {}", 
                     tripStartedEvent.getBikeId(), tripStartedEvent.getUserId());
-            // Push notification to dashboard for trip start
+            dashboardPushHub.stationChanged(tripStartedEvent.getStationId());
         } else if (event instanceof TripEndedEvent) {
             TripEndedEvent tripEndedEvent = (TripEndedEvent) event;
             log.info("Dashboard notification - Trip ended for bike {}, user {}, cost: ${}", 
                     tripEndedEvent.getBikeId(), tripEndedEvent.getUserId(), tripEndedEvent.getCost());
-            // Push notification to dashboard for trip end
+            dashboardPushHub.stationChanged(tripEndedEvent.getReturnStationId());
         } else if (event instanceof BikeMovedEvent) {
             BikeMovedEvent bikeMovedEvent = (BikeMovedEvent) event;
             log.info("Dashboard notification - Bike {} moved to station {}", 
                     bikeMovedEvent.getBikeId(), bikeMovedEvent.getNewStationId());
-            // Push notification to dashboard for bike movement
+            dashboardPushHub.stationChanged(bikeMovedEvent.getOldStationId());
+            dashboardPushHub.stationChanged(bikeMovedEvent.getNewStationId());
+        } else if (event instanceof BikesRebalancedEvent) {
+            BikesRebalancedEvent bikesRebalancedEvent = (BikesRebalancedEvent) event;
+            log.info("Dashboard notification - {} bikes rebalanced by operator {}", 
+                    bikesRebalancedEvent.getMoves().size(), bikesRebalancedEvent.getOperatorId());
+            for (BikesRebalancedEvent.Move move : bikesRebalancedEvent.getMoves()) {
+                dashboardPushHub.stationChanged(move.getOldStationId());
+                dashboardPushHub.stationChanged(move.getNewStationId());
+            }
         } else if (event instanceof ReservationExpiredEvent) {
             ReservationExpiredEvent reservationExpiredEvent = (ReservationExpiredEvent) event;
             log.info("Dashboard notification - Reservation expired for bike {}, user {}", 
                     reservationExpiredEvent.getBikeId(), reservationExpiredEvent.getUserId());
+            // The inventory index has already seen this event and knows the bike's station
+            dashboardPushHub.stationChanged(stationInventoryIndex.stationOf(reservationExpiredEvent.getBikeId()));
+        } else if (event instanceof ReservationsCancelledEvent) {
+            ReservationsCancelledEvent reservationsCancelledEvent = (ReservationsCancelledEvent) event;
+            log.info("Dashboard notification - {} reservations cancelled by station outage",
+                    reservationsCancelledEvent.getCancellations().size());
+            for (ReservationsCancelledEvent.Cancellation cancellation : reservationsCancelledEvent.getCancellations()) {
+                log.info("Rider notification - user {}: reservation for bike {} cancelled, station {} is out of service",
+                        cancellation.getUserId(), cancellation.getBikeId(), cancellation.getStationId());
+                dashboardPushHub.stationChanged(cancellation.getStationId());
+            }
         }
     }
 }
@@ -0,0 +1,293 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.StationInventoryDTO;
+import com.qwikride.dto.StationUpdateDTO;
+import com.qwikride.event.StationStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events push to operator dashboards. Station changes are marked
+ * dirty and flushed once per coalescing window, so a burst of events at one
+ * station becomes a single update carrying the station's latest inventory.
+ * <p>
+ * Connections are async requests and hold no thread while idle. Each client
+ * has a bounded buffer drained by a small shared sender pool; a client whose
+ * buffer overflows is disconnected rather than slowing down the flush, and can
+ * reconnect for a fresh view.
+ */
+@Slf4j
+@Service
+public class DashboardPushHub {
+    static final long COALESCE_WINDOW_MILLIS = 250;
+    static final int CLIENT_BUFFER_SIZE = 64;
+    static final int MAX_CLIENTS = 10_000;
+    private static final long HEARTBEAT_MILLIS = 15_000;
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final int SENDER_THREADS = 4;
+
+    private final StationInventoryIndex stationInventoryIndex;
+    private final int clientBufferSize;
+    private final int maxClients;
+
+    private final Map<Long, Integer> dirtyStations = new ConcurrentHashMap<>();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public DashboardPushHub(StationInventoryIndex stationInventoryIndex) {
+        this(stationInventoryIndex, CLIENT_BUFFER_SIZE, MAX_CLIENTS);
+    }
+
+    DashboardPushHub(StationInventoryIndex stationInventoryIndex, int clientBufferSize, int maxClients) {
+        this.stationInventoryIndex = stationInventoryIndex;
+        this.clientBufferSize = clientBufferSize;
+        this.maxClients = maxClients;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(SENDER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-send-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::flushSafely, COALESCE_WINDOW_MILLIS, COALESCE_WINDOW_MILLIS,
+                TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_MILLIS, HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        clients.forEach(client -> disconnect(client, "shutting down"));
+        senders.shutdown();
+    }
+
+    /**
+     * Opens a stream of station updates, limited to {@code stationIds} when given.
+     */
+    public SseEmitter connect(Set<Long> stationIds) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        register(emitter, stationIds);
+        return emitter;
+    }
+
+    public void stationChanged(Long stationId) {
+        if (stationId != null) {
+            dirtyStations.merge(stationId, 1, Integer::sum);
+        }
+    }
+
+    @EventListener
+    public void onStationStatusChanged(StationStatusChangedEvent event) {
+        stationChanged(event.getStationId());
+    }
+
+    public int clientCount() {
+        return clients.size();
+    }
+
+    Client register(SseEmitter emitter, Set<Long> stationIds) {
+        if (clients.size() >= maxClients) {
+            throw new IllegalStateException("Too many dashboard connections");
+        }
+        Client client = new Client(emitter, stationIds == null || stationIds.isEmpty() ? null : Set.copyOf(stationIds),
+                new ArrayBlockingQueue<>(clientBufferSize));
+        emitter.onCompletion(() -> forget(client));
+        emitter.onError(error -> forget(client));
+        emitter.onTimeout(() -> {
+            forget(client);
+            emitter.complete();
+        });
+        clients.add(client);
+        return client;
+    }
+
+    /**
+     * Turns the stations marked since the last flush into one update each and
+     * queues them for every interested client. Never blocks on a client.
+     */
+    void flush() {
+        if (dirtyStations.isEmpty()) {
+            return;
+        }
+        List<StationUpdateDTO> updates = new ArrayList<>();
+        for (Long stationId : dirtyStations.keySet()) {
+            Integer events = dirtyStations.remove(stationId);
+            if (events != null) {
+                updates.add(toUpdate(stationInventoryIndex.getInventory(stationId), events));
+            }
+        }
+        for (Client client : clients) {
+            boolean queued = false;
+            for (StationUpdateDTO update : updates) {
+                if (!client.wants(update.getStationId())) {
+                    continue;
+                }
+                if (!client.buffer.offer(new Outgoing(sequence.incrementAndGet(), update))) {
+                    disconnect(client, "buffer full");
+                    break;
+                }
+                queued = true;
+            }
+            if (queued && !client.closed) {
+                scheduleDrain(client);
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.error("Dashboard push flush failed", e);
+        }
+    }
+
+    private void heartbeat() {
+        for (Client client : clients) {
+            if (client.buffer.offer(Outgoing.HEARTBEAT)) {
+                scheduleDrain(client);
+            } else {
+                disconnect(client, "buffer full");
+            }
+        }
+    }
+
+    private void scheduleDrain(Client client) {
+        if (!client.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(client));
+        } catch (RejectedExecutionException e) {
+            client.draining.set(false);
+        }
+    }
+
+    /**
+     * Sends everything buffered for one client. Runs on a sender thread, at most
+     * once per client at a time, and is also where a disconnected client's
+     * emitter is completed, so the flush never waits on a stuck write.
+     */
+    private void drain(Client client) {
+        try {
+            Outgoing next;
+            while (!client.closed && (next = client.buffer.poll()) != null) {
+                client.emitter.send(next.toEvent());
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dashboard client went away: {}", e.getMessage());
+            forget(client);
+        } finally {
+            client.draining.set(false);
+        }
+        if (client.closed) {
+            client.complete();
+        } else if (!client.buffer.isEmpty()) {
+            scheduleDrain(client);
+        }
+    }
+
+    private void disconnect(Client client, String reason) {
+        if (clients.remove(client)) {
+            log.info("Disconnecting dashboard client: {}", reason);
+        }
+        client.closed = true;
+        client.buffer.clear();
+        scheduleDrain(client);
+    }
+
+    private void forget(Client client) {
+        clients.remove(client);
+        client.closed = true;
+    }
+
+    private static StationUpdateDTO toUpdate(StationInventoryDTO inventory, int events) {
+        return StationUpdateDTO.builder()
+                .stationId(inventory.getStationId())
+                .available(inventory.getAvailable())
+                .reserved(inventory.getReserved())
+                .inUse(inventory.getInUse())
+                .maintenance(inventory.getMaintenance())
+                .coalescedEvents(events)
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    static final class Client {
+        private final SseEmitter emitter;
+        // null means every station
+        private final Set<Long> stationIds;
+        private final BlockingQueue<Outgoing> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Client(SseEmitter emitter, Set<Long> stationIds, BlockingQueue<Outgoing> buffer) {
+            this.emitter = emitter;
+            this.stationIds = stationIds;
+            this.buffer = buffer;
+        }
+
+        boolean wants(Long stationId) {
+            return stationIds == null || stationIds.contains(stationId);
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                try {
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    log.debug("Dashboard client already closed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private record Outgoing(long id, StationUpdateDTO update) {
+        static final Outgoing HEARTBEAT = new Outgoing(0, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (update == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(Long.toString(id)).name("station").data(update);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.qwikride.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Monotonic fleet version plus the version at which each bike and station last
+ * changed. Changes made inside a transaction are stamped once it commits, so a
+ * client never sees a version whose data is not yet visible, and a rollback
+ * leaves the version untouched.
+ * <p>
+ * Versions start at the boot time in milliseconds, so they keep increasing
+ * across restarts; a client asking for changes since a version older than this
+ * instance's start needs a full resync.
+ */
+@Service
+public class FleetChangeLog {
+    private final long baseVersion = System.currentTimeMillis();
+    private volatile long version = baseVersion;
+
+    private final Map<UUID, Long> bikeVersions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> stationVersions = new ConcurrentHashMap<>();
+
+    public long currentVersion() {
+        return version;
+    }
+
+    /**
+     * Strong ETag for anything derived from the whole fleet.
+     */
+    public String eTag() {
+        return "\"" + version + "\"";
+    }
+
+    public void bikeChanged(UUID bikeId) {
+        record(changes -> changes.bikeIds.add(bikeId));
+    }
+
+    public void bikesChanged(Collection<UUID> bikeIds) {
+        record(changes -> changes.bikeIds.addAll(bikeIds));
+    }
+
+    public void stationChanged(Long stationId) {
+        record(changes -> changes.stationIds.add(stationId));
+    }
+
+    public void stationsChanged(Collection<Long> stationIds) {
+        record(changes -> changes.stationIds.addAll(stationIds));
+    }
+
+    /**
+     * Bikes and stations changed after {@code since}, up to the returned version.
+     */
+    public Delta changesSince(long since) {
+        long upTo = version;
+        if (since < baseVersion) {
+            return new Delta(upTo, true, Set.of(), Set.of());
+        }
+        Set<UUID> bikes = new HashSet<>();
+        Set<Long> stations = new HashSet<>();
+        if (since < upTo) {
+            bikeVersions.forEach((id, changedAt) -> {
+                if (changedAt > since) {
+                    bikes.add(id);
+                }
+            });
+            stationVersions.forEach((id, changedAt) -> {
+                if (changedAt > since) {
+                    stations.add(id);
+                }
+            });
+        }
+        return new Delta(upTo, false, bikes, stations);
+    }
+
+    /**
+     * Stamps all ids with one new version. The version is published last, so a
+     * reader that sees it also sees every entry stamped with it.
+     */
+    private synchronized void apply(PendingChanges changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long next = version + 1;
+        for (UUID bikeId : changes.bikeIds) {
+            if (bikeId != null) {
+                bikeVersions.put(bikeId, next);
+            }
+        }
+        for (Long stationId : changes.stationIds) {
+            if (stationId != null) {
+                stationVersions.put(stationId, next);
+            }
+        }
+        version = next;
+    }
+
+    /**
+     * Adds to the changes collected by the current transaction, registering them
+     * for stamping on commit the first time. Outside a transaction the change is
+     * already visible and is stamped right away.
+     */
+    private void record(Consumer<PendingChanges> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChanges immediate = new PendingChanges();
+            change.accept(immediate);
+            apply(immediate);
+            return;
+        }
+        PendingChanges changes = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            PendingChanges created = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(FleetChangeLog.this);
+                }
+            });
+            changes = created;
+        }
+        change.accept(changes);
+    }
+
+    public record Delta(long version, boolean fullResync, Set<UUID> bikeIds, Set<Long> stationIds) {
+    }
+
+    private static final class PendingChanges {
+        private final Set<UUID> bikeIds = new HashSet<>();
+        private final Set<Long> stationIds = new HashSet<>();
+
+        boolean isEmpty() {
+            return bikeIds.isEmpty() && stationIds.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.BikeListingFilterDTO;
+import com.qwikride.dto.BikeListingPageDTO;
+import com.qwikride.dto.BikeSummaryDTO;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.model.LockState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Fleet listings for dashboards. Reads only the listed columns with keyset
+ * pagination on the primary key, so each page is an index range scan and the
+ * cost of a page does not grow with its position in the fleet. Filters are
+ * appended to the SQL only when set, which keeps the statement fully typed.
+ */
+@Service
+@RequiredArgsConstructor
+public class FleetListingService {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_PAGE_SIZE = 1000;
+
+    private static final String SELECT_SUMMARY_SQL =
+            "select id, bike_type, station_id, status, battery_level, lock_state, latitude, longitude from bikes";
+
+    private static final RowMapper<BikeSummaryDTO> SUMMARY_MAPPER = (rs, rowNum) -> new BikeSummaryDTO(
+            rs.getObject("id", UUID.class),
+            enumOrNull(BikeType.class, rs.getString("bike_type")),
+            rs.getObject("station_id", Long.class),
+            enumOrNull(BikeStatus.class, rs.getString("status")),
+            rs.getObject("battery_level", Integer.class),
+            enumOrNull(LockState.class, rs.getString("lock_state")),
+            rs.getObject("latitude", Double.class),
+            rs.getObject("longitude", Double.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BikeListingPageDTO listBikes(BikeListingFilterDTO filter) {
+        int limit = filter.getLimit() != null ? filter.getLimit() : 100;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        validate(filter);
+        // Fetch one extra row to know whether another page exists
+        List<BikeSummaryDTO> rows = fetchPage(filter, filter.getAfter(), limit + 1);
+        UUID nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = rows.get(limit - 1).getId();
+        }
+        return new BikeListingPageDTO(rows, nextCursor);
+    }
+
+    /**
+     * Hands every matching bike to {@code sink} in id order, one page at a time,
+     * so memory stays bounded by the page size whatever the fleet size.
+     */
+    public long streamBikes(BikeListingFilterDTO filter, Consumer<BikeSummaryDTO> sink) {
+        validate(filter);
+        UUID cursor = filter.getAfter();
+        long count = 0;
+        while (true) {
+            List<BikeSummaryDTO> page = fetchPage(filter, cursor, STREAM_PAGE_SIZE);
+            page.forEach(sink);
+            count += page.size();
+            if (page.size() < STREAM_PAGE_SIZE) {
+                return count;
+            }
+            cursor = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private List<BikeSummaryDTO> fetchPage(BikeListingFilterDTO filter, UUID after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY_SQL).append(" where 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (after != null) {
+            sql.append(" and id > ?");
+            args.add(after);
+        }
+        if (filter.getStationId() != null) {
+            sql.append(" and station_id = ?");
+            args.add(filter.getStationId());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" and status = ?");
+            args.add(filter.getStatus().name());
+        }
+        if (filter.getType() != null) {
+            sql.append(" and bike_type = ?");
+            args.add(filter.getType().name());
+        }
+        // Standard bikes have no battery, so a battery bound only ever matches e-bikes
+        if (filter.getMinBattery() != null) {
+            sql.append(" and battery_level >= ?");
+            args.add(filter.getMinBattery());
+        }
+        if (filter.getMaxBattery() != null) {
+            sql.append(" and battery_level <= ?");
+            args.add(filter.getMaxBattery());
+        }
+        sql.append(" order by id limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), SUMMARY_MAPPER, args.toArray());
+    }
+
+    private void validate(BikeListingFilterDTO filter) {
+        Integer min = filter.getMinBattery();
+        Integer max = filter.getMaxBattery();
+        if ((min != null && (min < 0 || min > 100)) || (max != null && (max < 0 || max > 100))) {
+            throw new IllegalArgumentException("Battery bounds must be between 0 and 100");
+        }
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("Minimum battery cannot exceed maximum battery");
+        }
+    }
+
+    private static <E extends Enum<E>> E enumOrNull(Class<E> type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+}
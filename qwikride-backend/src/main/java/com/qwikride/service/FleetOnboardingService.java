@@ -0,0 +1,394 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.BulkOnboardingResultDTO;
+import com.qwikride.dto.BulkRowResultDTO;
+import com.qwikride.dto.StationDefinitionDTO;
+import com.qwikride.factory.BikeFactoryRegistry;
+import com.qwikride.model.Bike;
+import com.qwikride.model.BikeConfig;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import com.qwikride.util.CsvLineParser;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding of bikes and stations. Rows are processed in chunks, one
+ * transaction per chunk: bikes go through the regular factories and are inserted
+ * with JDBC statement batching, and each station's bike count is adjusted once
+ * per chunk instead of once per bike. Every input row gets a result entry.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FleetOnboardingService {
+    static final int CHUNK_SIZE = 1000;
+    static final int BATCH_SIZE = 500;
+
+    private static final List<String> BIKE_COLUMNS = List.of("type", "stationId");
+    private static final List<String> STATION_COLUMNS = List.of("name", "address", "capacity", "latitude", "longitude");
+
+    private static final String INSERT_STATION_SQL =
+            "insert into bike_stations (name, address, capacity, current_bike_count, status, created_at, updated_at, "
+                    + "latitude, longitude) values (?, ?, ?, 0, ?, ?, ?, ?, ?)";
+
+    private final BikeRepository bikeRepository;
+    private final BikeStationRepository bikeStationRepository;
+    private final BikeFactoryRegistry bikeFactoryRegistry;
+    private final StationInventoryIndex stationInventoryIndex;
+    private final StationGeoIndex stationGeoIndex;
+    private final FleetChangeLog fleetChangeLog;
+    private final TelemetryIngestionService telemetryIngestionService;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkOnboardingResultDTO onboardBikes(List<BikeConfig> configs) {
+        List<BulkRowResultDTO> results = new ArrayList<>(configs.size());
+        for (int from = 0; from < configs.size(); from += CHUNK_SIZE) {
+            List<BikeConfig> chunk = configs.subList(from, Math.min(configs.size(), from + CHUNK_SIZE));
+            results.addAll(onboardBikeChunk(chunk, from + 1));
+        }
+        return BulkOnboardingResultDTO.of(results);
+    }
+
+    /**
+     * Streams a {@code type,stationId} CSV (header optional) without holding more
+     * than one chunk of rows in memory.
+     */
+    public BulkOnboardingResultDTO onboardBikesCsv(Reader csv) {
+        List<BulkRowResultDTO> results = new ArrayList<>();
+        readCsv(csv, BIKE_COLUMNS, (chunk, firstRow) -> {
+            List<BikeConfig> configs = new ArrayList<>(chunk.size());
+            for (List<String> fields : chunk) {
+                configs.add(parseBikeConfig(fields));
+            }
+            results.addAll(onboardBikeChunk(configs, firstRow));
+        });
+        return BulkOnboardingResultDTO.of(results);
+    }
+
+    public BulkOnboardingResultDTO onboardStations(List<StationDefinitionDTO> definitions) {
+        List<BulkRowResultDTO> results = new ArrayList<>(definitions.size());
+        for (int from = 0; from < definitions.size(); from += CHUNK_SIZE) {
+            List<StationDefinitionDTO> chunk = definitions.subList(from,
+                    Math.min(definitions.size(), from + CHUNK_SIZE));
+            results.addAll(onboardStationChunk(chunk, from + 1));
+        }
+        return BulkOnboardingResultDTO.of(results);
+    }
+
+    /**
+     * Streams a {@code name,address,capacity[,latitude,longitude]} CSV (header optional).
+     */
+    public BulkOnboardingResultDTO onboardStationsCsv(Reader csv) {
+        List<BulkRowResultDTO> results = new ArrayList<>();
+        readCsv(csv, STATION_COLUMNS, (chunk, firstRow) -> {
+            List<StationDefinitionDTO> definitions = new ArrayList<>(chunk.size());
+            for (List<String> fields : chunk) {
+                definitions.add(parseStationDefinition(fields));
+            }
+            results.addAll(onboardStationChunk(definitions, firstRow));
+        });
+        return BulkOnboardingResultDTO.of(results);
+    }
+
+    private List<BulkRowResultDTO> onboardBikeChunk(List<BikeConfig> chunk, int firstRow) {
+        List<Bike> created = new ArrayList<>();
+        List<BulkRowResultDTO> results = transactionTemplate.execute(status -> insertBikes(chunk, firstRow, created));
+        // Only visible to the inventory once the chunk has committed
+        created.forEach(stationInventoryIndex::track);
+        created.forEach(bike -> telemetryIngestionService.register(bike.getId()));
+        fleetChangeLog.bikesChanged(created.stream().map(Bike::getId).toList());
+        fleetChangeLog.stationsChanged(created.stream().map(Bike::getStationId).collect(Collectors.toSet()));
+        log.info("Onboarded {} of {} bikes (rows {}-{})", created.size(), chunk.size(), firstRow,
+                firstRow + chunk.size() - 1);
+        return results;
+    }
+
+    private List<BulkRowResultDTO> insertBikes(List<BikeConfig> chunk, int firstRow, List<Bike> created) {
+        BulkRowResultDTO[] results = new BulkRowResultDTO[chunk.size()];
+        Map<Long, BikeStation> stations = bikeStationRepository.findAllById(chunk.stream()
+                        .map(config -> config == null ? null : config.getStationId())
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(BikeStation::getId, Function.identity()));
+
+        // Validate against the capacity snapshot and group accepted rows by station
+        Map<Long, Integer> freeDocks = new HashMap<>();
+        stations.values().forEach(s -> freeDocks.put(s.getId(), s.getCapacity() - s.getCurrentBikeCount()));
+        Map<Long, List<Integer>> acceptedByStation = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = validateBikeRow(chunk.get(i), stations, freeDocks);
+            if (error != null) {
+                results[i] = BulkRowResultDTO.rejected(firstRow + i, error);
+            } else {
+                Long stationId = chunk.get(i).getStationId();
+                freeDocks.merge(stationId, -1, Integer::sum);
+                acceptedByStation.computeIfAbsent(stationId, id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // One aggregated, capacity-checked count delta per station
+        List<Integer> toInsert = new ArrayList<>();
+        acceptedByStation.forEach((stationId, rows) -> {
+            if (bikeStationRepository.tryAdjustBikeCount(stationId, rows.size())) {
+                toInsert.addAll(rows);
+            } else {
+                rows.forEach(i -> results[i] = BulkRowResultDTO.rejected(firstRow + i,
+                        "Station capacity changed during onboarding"));
+            }
+        });
+
+        List<Bike> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i : toInsert) {
+            BikeConfig config = chunk.get(i);
+            batch.add(bikeFactoryRegistry.getFactory(config.getType()).createBike(config));
+            if (batch.size() == BATCH_SIZE) {
+                flushBatch(batch, created);
+            }
+        }
+        flushBatch(batch, created);
+
+        for (int k = 0; k < toInsert.size(); k++) {
+            int i = toInsert.get(k);
+            results[i] = BulkRowResultDTO.created(firstRow + i, created.get(k).getId());
+        }
+        return List.of(results);
+    }
+
+    private void flushBatch(List<Bike> batch, List<Bike> created) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        created.addAll(bikeRepository.saveAll(batch));
+        // Push the batched INSERTs and drop the entities so memory stays flat
+        entityManager.flush();
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private String validateBikeRow(BikeConfig config, Map<Long, BikeStation> stations, Map<Long, Integer> freeDocks) {
+        if (config == null || config.getType() == null) {
+            return "Bike type is required";
+        }
+        if (config.getStationId() == null) {
+            return "Station ID is required";
+        }
+        BikeStation station = stations.get(config.getStationId());
+        if (station == null) {
+            return "Station not found";
+        }
+        if (freeDocks.get(station.getId()) <= 0) {
+            return "Station is full";
+        }
+        return null;
+    }
+
+    private List<BulkRowResultDTO> onboardStationChunk(List<StationDefinitionDTO> chunk, int firstRow) {
+        List<BulkRowResultDTO> results = transactionTemplate.execute(status -> insertStations(chunk, firstRow));
+        // Only visible to nearby queries once the chunk has committed
+        List<Long> createdIds = results.stream()
+                .filter(result -> result.getStatus() == BulkRowResultDTO.RowStatus.CREATED)
+                .map(result -> Long.valueOf(result.getId()))
+                .toList();
+        bikeStationRepository.findAllById(createdIds).forEach(stationGeoIndex::upsert);
+        fleetChangeLog.stationsChanged(createdIds);
+        return results;
+    }
+
+    private List<BulkRowResultDTO> insertStations(List<StationDefinitionDTO> chunk, int firstRow) {
+        BulkRowResultDTO[] results = new BulkRowResultDTO[chunk.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = validateStationRow(chunk.get(i));
+            if (error != null) {
+                results[i] = BulkRowResultDTO.rejected(firstRow + i, error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            // bike_stations uses identity keys, which Hibernate cannot batch; use JDBC directly
+            Timestamp now = Timestamp.from(Instant.now());
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_STATION_SQL, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int index) throws SQLException {
+                            StationDefinitionDTO definition = chunk.get(valid.get(index));
+                            ps.setString(1, definition.getName());
+                            ps.setString(2, definition.getAddress());
+                            ps.setInt(3, definition.getCapacity());
+                            ps.setString(4, BikeStation.StationStatus.ACTIVE.name());
+                            ps.setTimestamp(5, now);
+                            ps.setTimestamp(6, now);
+                            ps.setObject(7, definition.getLatitude(), Types.DOUBLE);
+                            ps.setObject(8, definition.getLongitude(), Types.DOUBLE);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return valid.size();
+                        }
+                    },
+                    keys);
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int k = 0; k < valid.size(); k++) {
+                int i = valid.get(k);
+                results[i] = BulkRowResultDTO.created(firstRow + i, generated.get(k).get("id"));
+            }
+        }
+        return List.of(results);
+    }
+
+    private String validateStationRow(StationDefinitionDTO definition) {
+        if (definition == null || definition.getName() == null || definition.getName().isBlank()) {
+            return "Station name is required";
+        }
+        if (definition.getCapacity() == null || definition.getCapacity() < 0) {
+            return "Capacity must be zero or more";
+        }
+        if ((definition.getLatitude() == null) != (definition.getLongitude() == null)) {
+            return "Latitude and longitude must be given together";
+        }
+        if (definition.getLatitude() != null && (Math.abs(definition.getLatitude()) > 90
+                || Math.abs(definition.getLongitude()) > 180)) {
+            return "Coordinates are out of range";
+        }
+        return null;
+    }
+
+    private BikeConfig parseBikeConfig(List<String> fields) {
+        BikeConfig config = new BikeConfig();
+        try {
+            config.setType(BikeType.valueOf(fields.get(0).toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            // left null, reported as a missing type
+        }
+        config.setStationId(fields.size() > 1 ? parseLong(fields.get(1)) : null);
+        return config;
+    }
+
+    private StationDefinitionDTO parseStationDefinition(List<String> fields) {
+        String name = fields.get(0);
+        String address = fields.size() > 1 ? fields.get(1) : null;
+        Long capacity = fields.size() > 2 ? parseLong(fields.get(2)) : null;
+        Double latitude = fields.size() > 3 ? parseDouble(fields.get(3)) : null;
+        Double longitude = fields.size() > 4 ? parseDouble(fields.get(4)) : null;
+        return new StationDefinitionDTO(name, address, capacity == null ? null : capacity.intValue(), latitude,
+                longitude);
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the CSV line by line and hands it over in chunks together with the
+     * 1-based row number of the chunk's first data row. A first line naming the
+     * leading {@code columns} is treated as a header.
+     */
+    private void readCsv(Reader csv, List<String> columns, ChunkHandler handler) {
+        try (BufferedReader reader = new BufferedReader(csv)) {
+            List<List<String>> chunk = new ArrayList<>(CHUNK_SIZE);
+            int row = 0;
+            int firstRow = 1;
+            boolean firstLine = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = CsvLineParser.parse(line);
+                if (firstLine) {
+                    firstLine = false;
+                    if (isHeader(fields, columns)) {
+                        continue;
+                    }
+                }
+                row++;
+                chunk.add(fields);
+                if (chunk.size() == CHUNK_SIZE) {
+                    handler.handle(chunk, firstRow);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    firstRow = row + 1;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                handler.handle(chunk, firstRow);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read onboarding CSV", e);
+        }
+    }
+
+    /**
+     * Matches column names case-insensitively and ignoring separators, so
+     * {@code station_id} and {@code Station ID} both name {@code stationId}.
+     */
+    private static boolean isHeader(List<String> fields, List<String> columns) {
+        if (fields.size() > columns.size()) {
+            return false;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            if (!normalizeColumn(fields.get(i)).equals(normalizeColumn(columns.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler {
+        void handle(List<List<String>> chunk, int firstRow);
+    }
+}
@@ -0,0 +1,54 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.FleetChangesDTO;
+import com.qwikride.model.Bike;
+import com.qwikride.model.BikeStation;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serves fleet deltas to polling clients from {@link FleetChangeLog}: only the
+ * bikes and stations stamped after the client's version are read back.
+ */
+@Service
+@RequiredArgsConstructor
+public class FleetSyncService {
+    static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final FleetChangeLog fleetChangeLog;
+    private final BikeRepository bikeRepository;
+    private final BikeStationRepository bikeStationRepository;
+
+    public FleetChangesDTO getChangesSince(long since) {
+        FleetChangeLog.Delta delta = fleetChangeLog.changesSince(since);
+        if (delta.fullResync()) {
+            return new FleetChangesDTO(delta.version(), true,
+                    bikeStationRepository.findAll(), bikeRepository.findAll());
+        }
+        List<BikeStation> stations = loadInChunks(delta.stationIds(), bikeStationRepository::findAllById);
+        List<Bike> bikes = loadInChunks(delta.bikeIds(), bikeRepository::findAllById);
+        return new FleetChangesDTO(delta.version(), false, stations, bikes);
+    }
+
+    /**
+     * Keeps each IN list bounded after a large batch, e.g. a rebalancing run.
+     */
+    private static <ID, T> List<T> loadInChunks(Collection<ID> ids, Function<List<ID>, List<T>> finder) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<ID> all = new ArrayList<>(ids);
+        List<T> loaded = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += LOAD_CHUNK_SIZE) {
+            loaded.addAll(finder.apply(all.subList(from, Math.min(all.size(), from + LOAD_CHUNK_SIZE))));
+        }
+        return loaded;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service that listens to domain events and persists ride history.
@@ -22,6 +23,11 @@ public class HistoryService implements EventSubscriber {
     private final RideHistoryService rideHistoryService;
     private final BikeRepository bikeRepository;
 
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(TripStartedEvent.class, TripEndedEvent.class, BikeMovedEvent.class, BikesRebalancedEvent.class);
+    }
+
     @Override
     @Transactional
     public void onEvent(DomainEvent event) {
@@ -31,6 +37,8 @@ public class HistoryService implements EventSubscriber {
             handleTripEnded((TripEndedEvent) event);
         } else if (event instanceof BikeMovedEvent) {
             handleBikeMoved((BikeMovedEvent) event);
+        } else if (event instanceof BikesRebalancedEvent) {
+            handleBikesRebalanced((BikesRebalancedEvent) event);
         }
     }
 
@@ -68,6 +76,10 @@ public class HistoryService implements EventSubscriber {
                 event.getDistanceKm(), event.getCost());
     }
 
+    private void handleBikesRebalanced(BikesRebalancedEvent event) {
+        log.info("Bikes rebalanced - {} moves by operator: {}", event.getMoves().size(), event.getOperatorId());
+    }
+
     private void handleBikeMoved(BikeMovedEvent event) {
         log.info("Bike moved - bike: {}, from station: {}, to station: {}, operator: {}", 
                 event.getBikeId(), event.getOldStationId(), 
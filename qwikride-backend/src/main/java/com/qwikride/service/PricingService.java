@@ -12,10 +12,13 @@ import com.qwikride.prc.pricing.TripFactsFactory;
 import com.qwikride.prc.pricing.domain.FinalizedBill;
 import com.qwikride.prc.pricing.domain.TripFacts;
 import com.qwikride.prc.pricing.selector.SelectionInput;
+import com.qwikride.service.dedupe.ProcessedEvents;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -23,11 +26,20 @@ public class PricingService implements EventSubscriber {
     private final PricingEngine pricingEngine;
     private final TripFactsFactory tripFactsFactory;
     private final BillingLedgerService billingLedgerService;
+    private final ProcessedEvents processedEvents;
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(TripEndedEvent.class, BikeReservedEvent.class);
+    }
 
     @Override
     public void onEvent(DomainEvent event) {
         if (event instanceof TripEndedEvent tripEndedEvent) {
-            handleTripEnded(tripEndedEvent);
+            // A redelivered trip must not be billed twice; the claim commits with the ledger entry
+            if (processedEvents.claim(this, tripEndedEvent)) {
+                handleTripEnded(tripEndedEvent);
+            }
         } else if (event instanceof BikeReservedEvent bikeReservedEvent) {
             log.debug("Pricing Service: Bike {} reserved by user {}", bikeReservedEvent.getBikeId(),
                     bikeReservedEvent.getUserId());
@@ -0,0 +1,162 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.BikeMoveItemDTO;
+import com.qwikride.dto.RebalancingPlanDTO;
+import com.qwikride.dto.RebalancingPlanRequestDTO;
+import com.qwikride.dto.RebalancingTransferDTO;
+import com.qwikride.dto.StationInventoryDTO;
+import com.qwikride.model.BikeStation;
+import com.qwikride.repository.BikeStationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Plans operator truck runs that bring every station towards its target fill
+ * level. Stations above target (or out of service) donate available bikes,
+ * stations below target receive them, and the largest donors are paired with
+ * the largest receivers so the plan needs as few legs as possible. Each leg is
+ * split into truck loads of at most the truck capacity.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RebalancingPlanner {
+    private final BikeStationRepository bikeStationRepository;
+    private final StationInventoryIndex stationInventoryIndex;
+    private final BikeService bikeService;
+
+    public RebalancingPlanDTO plan(RebalancingPlanRequestDTO request) {
+        Map<Long, Integer> availableBikes = stationInventoryIndex.getAllInventories().stream()
+                .collect(Collectors.toMap(StationInventoryDTO::getStationId, StationInventoryDTO::getAvailable));
+        return plan(bikeStationRepository.findAll(), availableBikes, request);
+    }
+
+    RebalancingPlanDTO plan(List<BikeStation> stations, Map<Long, Integer> availableBikes,
+            RebalancingPlanRequestDTO request) {
+        long started = System.nanoTime();
+        int stationCount = stations.size();
+        long[] stationIds = new long[stationCount];
+        int[] balances = new int[stationCount];
+        IntStream.range(0, stationCount).parallel().forEach(i -> {
+            BikeStation station = stations.get(i);
+            stationIds[i] = station.getId();
+            balances[i] = balance(station, availableBikes.getOrDefault(station.getId(), 0), request);
+        });
+
+        long[] donors = encodeWhere(balances, 1);
+        long[] receivers = encodeWhere(balances, -1);
+        Arrays.parallelSort(donors);
+        Arrays.parallelSort(receivers);
+
+        int truckCapacity = request.getTruckCapacity();
+        int budget = request.getMaxBikes() != null ? request.getMaxBikes() : Integer.MAX_VALUE;
+        List<RebalancingTransferDTO> transfers = new ArrayList<>();
+
+        // Sorted ascending, so walk both arrays from the largest end
+        int donor = donors.length - 1;
+        int receiver = receivers.length - 1;
+        int donorLeft = donor >= 0 ? amount(donors[donor]) : 0;
+        int receiverLeft = receiver >= 0 ? amount(receivers[receiver]) : 0;
+        while (donor >= 0 && receiver >= 0 && budget > 0) {
+            int bikes = Math.min(budget, Math.min(donorLeft, receiverLeft));
+            long from = stationIds[index(donors[donor])];
+            long to = stationIds[index(receivers[receiver])];
+            for (int remaining = bikes; remaining > 0; remaining -= truckCapacity) {
+                transfers.add(new RebalancingTransferDTO(from, to, Math.min(remaining, truckCapacity)));
+            }
+            budget -= bikes;
+            donorLeft -= bikes;
+            receiverLeft -= bikes;
+            if (donorLeft == 0 && --donor >= 0) {
+                donorLeft = amount(donors[donor]);
+            }
+            if (receiverLeft == 0 && --receiver >= 0) {
+                receiverLeft = amount(receivers[receiver]);
+            }
+        }
+
+        int unmetDemand = receiver >= 0 ? receiverLeft : 0;
+        for (int i = 0; i < receiver; i++) {
+            unmetDemand += amount(receivers[i]);
+        }
+        long computeMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Rebalancing plan for {} stations: {} truck loads, {} unmet demand, computed in {} ms",
+                stationCount, transfers.size(), unmetDemand, computeMillis);
+        return summarize(transfers, unmetDemand, computeMillis);
+    }
+
+    /**
+     * Executes a plan through {@link BikeService#moveBikes}, one transaction per
+     * truck load. Loads that can no longer be applied (bikes taken in the
+     * meantime, destination filled up) are skipped and left out of the result.
+     */
+    public RebalancingPlanDTO execute(RebalancingPlanDTO plan, Long operatorId) {
+        List<RebalancingTransferDTO> executed = new ArrayList<>();
+        for (RebalancingTransferDTO transfer : plan.getTransfers()) {
+            List<BikeMoveItemDTO> moves = stationInventoryIndex.availableBikeIds(transfer.getFromStationId()).stream()
+                    .limit(transfer.getBikeCount())
+                    .map(bikeId -> new BikeMoveItemDTO(bikeId, transfer.getToStationId()))
+                    .toList();
+            if (moves.isEmpty()) {
+                continue;
+            }
+            try {
+                bikeService.moveBikes(moves, operatorId);
+                executed.add(new RebalancingTransferDTO(transfer.getFromStationId(), transfer.getToStationId(),
+                        moves.size()));
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                log.warn("Skipping truck load {} -> {}: {}", transfer.getFromStationId(),
+                        transfer.getToStationId(), e.getMessage());
+            }
+        }
+        return summarize(executed, plan.getUnmetDemand(), 0);
+    }
+
+    /**
+     * Positive balance is the number of bikes a station can give away, negative
+     * the number it is missing. Only available bikes can be donated.
+     */
+    private static int balance(BikeStation station, int availableBikes, RebalancingPlanRequestDTO request) {
+        if (station.getStatus() != BikeStation.StationStatus.ACTIVE) {
+            return availableBikes;
+        }
+        double ratio = request.getTargetFillRatio();
+        if (request.getStationTargets() != null) {
+            ratio = request.getStationTargets().getOrDefault(station.getId(), ratio);
+        }
+        int target = (int) Math.round(station.getCapacity() * ratio);
+        int current = station.getCurrentBikeCount();
+        return current > target ? Math.min(current - target, availableBikes) : current - target;
+    }
+
+    // Packs |balance| into the high bits and the station index into the low bits,
+    // so a primitive sort orders stations by amount without boxing
+    private static long[] encodeWhere(int[] balances, int sign) {
+        return IntStream.range(0, balances.length).parallel()
+                .filter(i -> Integer.signum(balances[i]) == sign)
+                .mapToLong(i -> ((long) Math.abs(balances[i]) << 32) | i)
+                .toArray();
+    }
+
+    private static int amount(long encoded) {
+        return (int) (encoded >>> 32);
+    }
+
+    private static int index(long encoded) {
+        return (int) encoded;
+    }
+
+    private static RebalancingPlanDTO summarize(List<RebalancingTransferDTO> transfers, int unmetDemand,
+            long computeMillis) {
+        int bikesMoved = transfers.stream().mapToInt(RebalancingTransferDTO::getBikeCount).sum();
+        return new RebalancingPlanDTO(transfers, bikesMoved, transfers.size(), unmetDemand, computeMillis);
+    }
+}
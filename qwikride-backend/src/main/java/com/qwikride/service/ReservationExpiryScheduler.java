@@ -0,0 +1,108 @@
+package com.qwikride.service;
+
+import com.qwikride.event.*;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.util.HashedTimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires reservations at their deadline. Each reservation is registered on a
+ * hashed timing wheel when it is made and cancelled when the bike is checked
+ * out, so there is no periodic scan of reserved bikes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationExpiryScheduler implements EventSubscriber {
+    private static final long TICK_MILLIS = 1000L;
+    private static final int WHEEL_SIZE = 4096; // ~68 minutes per revolution
+
+    private final BikeRepository bikeRepository;
+    private final BikeService bikeService;
+
+    private final HashedTimingWheel<UUID> wheel =
+            new HashedTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    private ScheduledExecutorService ticker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<BikeRepository.ReservationExpiryRow> pending = bikeRepository.findReservationExpiries();
+        for (BikeRepository.ReservationExpiryRow row : pending) {
+            schedule(row.getId(), row.getReservationExpiresAt());
+        }
+        log.info("Reservation expiry scheduler started with {} pending reservations", pending.size());
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(BikeReservedEvent.class, TripStartedEvent.class, ReservationExpiredEvent.class,
+                ReservationsCancelledEvent.class);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof BikeReservedEvent reserved) {
+            schedule(reserved.getBikeId(), reserved.getReservationExpiresAt());
+        } else if (event instanceof TripStartedEvent started) {
+            wheel.cancel(started.getBikeId());
+        } else if (event instanceof ReservationExpiredEvent expired) {
+            wheel.cancel(expired.getBikeId());
+        } else if (event instanceof ReservationsCancelledEvent cancelled) {
+            cancelled.getCancellations().forEach(c -> wheel.cancel(c.getBikeId()));
+        }
+    }
+
+    public int pendingCount() {
+        return wheel.size();
+    }
+
+    private void schedule(UUID bikeId, LocalDateTime expiresAt) {
+        if (bikeId == null || expiresAt == null) {
+            return;
+        }
+        wheel.schedule(bikeId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void tick() {
+        for (UUID bikeId : wheel.advance(System.currentTimeMillis())) {
+            try {
+                if (!bikeService.expireReservation(bikeId)) {
+                    // Fired a little early or the reservation was renewed: wait for its current deadline
+                    bikeRepository.findReservationExpiry(bikeId)
+                            .ifPresent(row -> schedule(bikeId, row.getReservationExpiresAt()));
+                }
+            } catch (RuntimeException e) {
+                // Never let one failure kill the ticker thread
+                log.warn("Failed to expire reservation for bike {}", bikeId, e);
+            }
+        }
+    }
+}
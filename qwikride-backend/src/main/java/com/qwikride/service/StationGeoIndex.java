@@ -0,0 +1,234 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.NearbyStationDTO;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeStationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform-grid spatial index over station coordinates. Stations are bucketed
+ * into cells of {@link #CELL_DEGREES}; a nearby query walks rings of cells
+ * outwards from the query point and stops as soon as no unvisited cell can hold
+ * a closer station than the ones already found. Candidates are filtered by
+ * station status and live availability from {@link StationInventoryIndex}.
+ * <p>
+ * Writes are rare (station created, moved or status changed) and copy the
+ * affected cell; queries never lock.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationGeoIndex {
+    static final double CELL_DEGREES = 0.01;
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private final BikeStationRepository bikeStationRepository;
+    private final StationInventoryIndex stationInventoryIndex;
+
+    private final Map<Long, StationPoint[]> cells = new ConcurrentHashMap<>();
+    private final Map<Long, StationPoint> stations = new ConcurrentHashMap<>();
+    // Bounds of all occupied cells, so queries never walk rings that cannot hold a station
+    private volatile CellBounds bounds = CellBounds.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        bikeStationRepository.findAll().forEach(this::upsert);
+        log.info("Station geo index built with {} stations in {} cells", stations.size(), cells.size());
+    }
+
+    /**
+     * Adds or replaces a station. Stations without coordinates are dropped from the index.
+     */
+    public synchronized void upsert(BikeStation station) {
+        if (station.getId() == null) {
+            return;
+        }
+        remove(station.getId());
+        if (station.getLatitude() == null || station.getLongitude() == null) {
+            return;
+        }
+        StationPoint point = new StationPoint(station.getId(), station.getName(), station.getLatitude(),
+                station.getLongitude(), station.getStatus() == BikeStation.StationStatus.ACTIVE);
+        int x = cellX(point.longitude());
+        int y = cellY(point.latitude());
+        stations.put(point.id(), point);
+        cells.merge(cellKey(x, y), new StationPoint[] { point }, StationGeoIndex::concat);
+        bounds = bounds.including(x, y);
+    }
+
+    /**
+     * Updates a station's status in place; unknown stations are ignored.
+     */
+    public synchronized void setStatus(Long stationId, BikeStation.StationStatus status) {
+        StationPoint existing = stations.get(stationId);
+        if (existing == null) {
+            return;
+        }
+        BikeStation station = new BikeStation();
+        station.setId(existing.id());
+        station.setName(existing.name());
+        station.setLatitude(existing.latitude());
+        station.setLongitude(existing.longitude());
+        station.setStatus(status);
+        upsert(station);
+    }
+
+    public synchronized void remove(Long stationId) {
+        StationPoint existing = stations.remove(stationId);
+        if (existing != null) {
+            cells.computeIfPresent(cellKey(cellX(existing.longitude()), cellY(existing.latitude())),
+                    (key, points) -> without(points, stationId));
+        }
+    }
+
+    /**
+     * Up to {@code limit} active stations within {@code radiusMeters}, nearest
+     * first, that currently have at least one available bike of {@code type}
+     * (any type when null).
+     */
+    public List<NearbyStationDTO> nearby(double latitude, double longitude, int limit, double radiusMeters,
+            BikeType type) {
+        if (limit <= 0 || stations.isEmpty()) {
+            return List.of();
+        }
+        // Max-heap on distance holding the best candidates so far
+        PriorityQueue<NearbyStationDTO> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(NearbyStationDTO::getDistanceMeters).reversed());
+        int originX = cellX(longitude);
+        int originY = cellY(latitude);
+        CellBounds occupied = bounds;
+        int firstRing = occupied.ringsAway(originX, originY);
+        double radiusRings = Math.ceil(radiusMeters / (CELL_DEGREES * METERS_PER_DEGREE * minCos(latitude, radiusMeters)));
+        int lastRing = (int) Math.min(occupied.ringsToCover(originX, originY), radiusRings + 1);
+
+        for (int ring = firstRing; ring <= lastRing; ring++) {
+            double ringMeters = ring * CELL_DEGREES * METERS_PER_DEGREE;
+            double ringDistance = (ring - 1) * CELL_DEGREES * METERS_PER_DEGREE * minCos(latitude, ringMeters);
+            if (ringDistance > radiusMeters
+                    || (best.size() == limit && ringDistance > best.peek().getDistanceMeters())) {
+                break;
+            }
+            for (int dx = -ring; dx <= ring; dx++) {
+                visitCell(originX + dx, originY - ring, latitude, longitude, limit, radiusMeters, type, best);
+                if (ring > 0) {
+                    visitCell(originX + dx, originY + ring, latitude, longitude, limit, radiusMeters, type, best);
+                }
+            }
+            for (int dy = -ring + 1; dy <= ring - 1; dy++) {
+                visitCell(originX - ring, originY + dy, latitude, longitude, limit, radiusMeters, type, best);
+                visitCell(originX + ring, originY + dy, latitude, longitude, limit, radiusMeters, type, best);
+            }
+        }
+
+        List<NearbyStationDTO> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyStationDTO::getDistanceMeters));
+        return result;
+    }
+
+    public int size() {
+        return stations.size();
+    }
+
+    private void visitCell(int x, int y, double latitude, double longitude, int limit, double radiusMeters,
+            BikeType type, PriorityQueue<NearbyStationDTO> best) {
+        StationPoint[] points = cells.get(cellKey(x, y));
+        if (points == null) {
+            return;
+        }
+        for (StationPoint point : points) {
+            if (!point.active()) {
+                continue;
+            }
+            double distance = distanceMeters(latitude, longitude, point.latitude(), point.longitude());
+            if (distance > radiusMeters || (best.size() == limit && distance >= best.peek().getDistanceMeters())) {
+                continue;
+            }
+            // Availability is only looked up for stations that would make the cut
+            int available = stationInventoryIndex.availableCount(point.id(), type);
+            if (available == 0) {
+                continue;
+            }
+            best.add(new NearbyStationDTO(point.id(), point.name(), point.latitude(), point.longitude(), distance,
+                    available));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Smallest east-west cell width factor within reach of the query, so ring distances stay lower bounds
+    private static double minCos(double latitude, double reachMeters) {
+        double farthestLatitude = Math.min(89.0, Math.abs(latitude) + reachMeters / METERS_PER_DEGREE);
+        return Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    private static int cellX(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    private static int cellY(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) y << 32) | (x & 0xffffffffL);
+    }
+
+    private static StationPoint[] concat(StationPoint[] existing, StationPoint[] added) {
+        StationPoint[] merged = Arrays.copyOf(existing, existing.length + added.length);
+        System.arraycopy(added, 0, merged, existing.length, added.length);
+        return merged;
+    }
+
+    private static StationPoint[] without(StationPoint[] points, Long stationId) {
+        StationPoint[] remaining = Arrays.stream(points)
+                .filter(point -> !point.id().equals(stationId))
+                .toArray(StationPoint[]::new);
+        return remaining.length == 0 ? null : remaining;
+    }
+
+    private record StationPoint(Long id, String name, double latitude, double longitude, boolean active) {
+    }
+
+    private record CellBounds(int minX, int maxX, int minY, int maxY) {
+        static final CellBounds EMPTY = new CellBounds(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                Integer.MIN_VALUE);
+
+        CellBounds including(int x, int y) {
+            return new CellBounds(Math.min(minX, x), Math.max(maxX, x), Math.min(minY, y), Math.max(maxY, y));
+        }
+
+        // First ring around (x, y) that can intersect the occupied area
+        int ringsAway(int x, int y) {
+            return Math.max(0, Math.max(Math.max(minX - x, x - maxX), Math.max(minY - y, y - maxY)));
+        }
+
+        // Ring around (x, y) that covers the whole occupied area
+        int ringsToCover(int x, int y) {
+            return Math.max(Math.max(Math.abs(x - minX), Math.abs(x - maxX)),
+                    Math.max(Math.abs(y - minY), Math.abs(y - maxY)));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.StationInventoryDTO;
+import com.qwikride.event.*;
+import com.qwikride.model.Bike;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * In-process, per-station bike inventory. Rebuilt from the database once the
+ * application is ready and kept current from domain events, so availability
+ * lookups never touch the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationInventoryIndex implements EventSubscriber {
+    private final BikeRepository bikeRepository;
+
+    private final Map<Long, StationInventory> stations = new ConcurrentHashMap<>();
+    private final Map<UUID, BikeSlot> bikes = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BikeRepository.InventoryRow> rows = bikeRepository.findInventoryRows();
+        stations.clear();
+        bikes.clear();
+        for (BikeRepository.InventoryRow row : rows) {
+            update(row.getId(), previous -> new BikeSlot(row.getStationId(), row.getBikeType(), row.getStatus()));
+        }
+        log.info("Station inventory index rebuilt: {} bikes across {} stations", bikes.size(), stations.size());
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.of(BikeReservedEvent.class, TripStartedEvent.class, TripEndedEvent.class,
+                BikeMovedEvent.class, BikesRebalancedEvent.class, ReservationExpiredEvent.class,
+                ReservationsCancelledEvent.class);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof BikeReservedEvent reserved) {
+            transition(reserved.getBikeId(), reserved.getStationId(), BikeStatus.RESERVED);
+        } else if (event instanceof TripStartedEvent started) {
+            transition(started.getBikeId(), started.getStationId(), BikeStatus.IN_USE);
+        } else if (event instanceof TripEndedEvent ended) {
+            transition(ended.getBikeId(), ended.getReturnStationId(), BikeStatus.AVAILABLE);
+        } else if (event instanceof BikeMovedEvent moved) {
+            transition(moved.getBikeId(), moved.getNewStationId(), null);
+        } else if (event instanceof BikesRebalancedEvent rebalanced) {
+            rebalanced.getMoves().forEach(move -> transition(move.getBikeId(), move.getNewStationId(), null));
+        } else if (event instanceof ReservationExpiredEvent expired) {
+            transition(expired.getBikeId(), null, BikeStatus.AVAILABLE);
+        } else if (event instanceof ReservationsCancelledEvent cancelled) {
+            cancelled.getCancellations().forEach(c -> transition(c.getBikeId(), null, BikeStatus.AVAILABLE));
+        }
+    }
+
+    /**
+     * Registers a bike that entered the fleet without a domain event (e.g. creation).
+     */
+    public void track(Bike bike) {
+        update(bike.getId(), previous -> new BikeSlot(bike.getStationId(), bike.getType(), bike.getStatus()));
+    }
+
+    public StationInventoryDTO getInventory(Long stationId) {
+        StationInventory inventory = stations.get(stationId);
+        return inventory == null ? StationInventory.empty(stationId) : inventory.snapshot(stationId);
+    }
+
+    public List<StationInventoryDTO> getAllInventories() {
+        return stations.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    public int availableCount(Long stationId) {
+        StationInventory inventory = stations.get(stationId);
+        return inventory == null ? 0 : inventory.count(BikeStatus.AVAILABLE);
+    }
+
+    /**
+     * Available bikes of the given type, or of any type when {@code type} is null.
+     */
+    public int availableCount(Long stationId, BikeType type) {
+        if (type == null) {
+            return availableCount(stationId);
+        }
+        StationInventory inventory = stations.get(stationId);
+        return inventory == null ? 0 : inventory.availableCount(type);
+    }
+
+    /**
+     * Station the bike was last seen at, or null when the bike is unknown.
+     */
+    public Long stationOf(UUID bikeId) {
+        BikeSlot slot = bikes.get(bikeId);
+        return slot == null ? null : slot.stationId();
+    }
+
+    public Set<UUID> availableBikeIds(Long stationId) {
+        StationInventory inventory = stations.get(stationId);
+        return inventory == null ? Collections.emptySet() : inventory.availableIds();
+    }
+
+    /**
+     * Moves a bike to a new station and/or status. A {@code null} station or
+     * status keeps the bike's current value.
+     */
+    private void transition(UUID bikeId, Long stationId, BikeStatus status) {
+        if (bikeId == null) {
+            return;
+        }
+        if (!bikes.containsKey(bikeId)) {
+            // Unknown bike (e.g. created on another node): fall back to the database once
+            bikeRepository.findById(bikeId).ifPresent(this::track);
+            return;
+        }
+        update(bikeId, current -> new BikeSlot(
+                stationId != null ? stationId : current.stationId(),
+                current.type(),
+                status != null ? status : current.status()));
+    }
+
+    /**
+     * Replaces a bike's slot atomically with respect to other updates of the same
+     * bike, moving it between station buckets as needed.
+     */
+    private void update(UUID bikeId, UnaryOperator<BikeSlot> change) {
+        bikes.compute(bikeId, (id, previous) -> {
+            BikeSlot next = change.apply(previous);
+            if (previous != null && previous.stationId() != null) {
+                StationInventory old = stations.get(previous.stationId());
+                if (old != null) {
+                    old.remove(id, previous);
+                }
+            }
+            if (next.stationId() != null) {
+                stations.computeIfAbsent(next.stationId(), key -> new StationInventory()).add(id, next);
+            }
+            return next;
+        });
+    }
+
+    private record BikeSlot(Long stationId, BikeType type, BikeStatus status) {
+    }
+
+    private static final class StationInventory {
+        private final EnumMap<BikeStatus, Integer> counts = new EnumMap<>(BikeStatus.class);
+        private final EnumMap<BikeType, Set<UUID>> available = new EnumMap<>(BikeType.class);
+
+        synchronized void add(UUID bikeId, BikeSlot slot) {
+            counts.merge(slot.status(), 1, Integer::sum);
+            if (slot.status() == BikeStatus.AVAILABLE && slot.type() != null) {
+                available.computeIfAbsent(slot.type(), type -> new LinkedHashSet<>()).add(bikeId);
+            }
+        }
+
+        synchronized void remove(UUID bikeId, BikeSlot slot) {
+            counts.computeIfPresent(slot.status(), (status, count) -> count > 1 ? count - 1 : null);
+            if (slot.type() != null) {
+                Set<UUID> ids = available.get(slot.type());
+                if (ids != null) {
+                    ids.remove(bikeId);
+                }
+            }
+        }
+
+        synchronized int count(BikeStatus status) {
+            return counts.getOrDefault(status, 0);
+        }
+
+        synchronized int availableCount(BikeType type) {
+            Set<UUID> ids = available.get(type);
+            return ids == null ? 0 : ids.size();
+        }
+
+        synchronized Set<UUID> availableIds() {
+            Set<UUID> ids = new HashSet<>();
+            available.values().forEach(ids::addAll);
+            return ids;
+        }
+
+        synchronized StationInventoryDTO snapshot(Long stationId) {
+            Map<BikeType, Set<UUID>> ids = new EnumMap<>(BikeType.class);
+            available.forEach((type, set) -> ids.put(type, new LinkedHashSet<>(set)));
+            return StationInventoryDTO.builder()
+                    .stationId(stationId)
+                    .available(counts.getOrDefault(BikeStatus.AVAILABLE, 0))
+                    .reserved(counts.getOrDefault(BikeStatus.RESERVED, 0))
+                    .inUse(counts.getOrDefault(BikeStatus.IN_USE, 0))
+                    .maintenance(counts.getOrDefault(BikeStatus.MAINTENANCE, 0))
+                    .availableBikeIds(ids)
+                    .build();
+        }
+
+        static StationInventoryDTO empty(Long stationId) {
+            return StationInventoryDTO.builder()
+                    .stationId(stationId)
+                    .availableBikeIds(Collections.emptyMap())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.DistrictOutageDTO;
+import com.qwikride.event.EventBus;
+import com.qwikride.event.ReservationsCancelledEvent;
+import com.qwikride.event.StationStatusChangedEvent;
+import com.qwikride.model.BikeStation;
+import com.qwikride.repository.BikeStationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Takes stations out of service in bulk. Reservations at the affected stations
+ * are released by one statement per transaction, however many stations are
+ * involved, and announced in a single {@link ReservationsCancelledEvent}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationOutageService {
+    /**
+     * Releases the reservations and hands the bikes back to their stations' counts
+     * in one round trip; returns the released bike, its former holder and station.
+     */
+    private static final String CANCEL_RESERVATIONS_SQL = "with released as ("
+            + " update bikes b set status = 'AVAILABLE', reserved_by_user_id = null,"
+            + " reservation_time = null, reservation_expires_at = null"
+            + " from (select id, reserved_by_user_id from bikes"
+            + " where station_id = any(?) and status = 'RESERVED' order by id for update) r"
+            + " where b.id = r.id"
+            + " returning b.id, r.reserved_by_user_id, b.station_id"
+            + "), restocked as ("
+            + " update bike_stations s set current_bike_count = s.current_bike_count + c.released, updated_at = now()"
+            + " from (select station_id, count(*) as released from released group by station_id) c"
+            + " where s.id = c.station_id"
+            + ") select id, reserved_by_user_id, station_id from released";
+    private static final String DISTRICT_OFFLINE_SQL = "update bike_stations"
+            + " set status = 'OUT_OF_SERVICE', updated_at = now()"
+            + " where district = ? and status = 'ACTIVE' returning id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BikeStationRepository bikeStationRepository;
+    private final StationGeoIndex stationGeoIndex;
+    private final FleetChangeLog fleetChangeLog;
+    private final EventBus eventBus;
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * Releases the station's reservations when the current transaction commits,
+     * together with those of every other station taken out of service in it.
+     * Outside a transaction they are released right away.
+     */
+    public void cancelReservationsOnCommit(Long stationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cancelReservations(List.of(stationId));
+            return;
+        }
+        pendingStations(true).add(stationId);
+    }
+
+    /**
+     * Releases every reservation at the given stations, plus any still pending
+     * for this transaction.
+     *
+     * @return the released reservations
+     */
+    @Transactional
+    public List<ReservationsCancelledEvent.Cancellation> cancelReservations(Collection<Long> stationIds) {
+        Set<Long> stations = new LinkedHashSet<>(stationIds);
+        Set<Long> pending = pendingStations(false);
+        if (pending != null) {
+            stations.addAll(pending);
+            pending.clear();
+        }
+        if (stations.isEmpty()) {
+            return List.of();
+        }
+        // The statement bypasses the persistence context; entity changes must not be flushed over it later
+        bikeStationRepository.flush();
+        List<ReservationsCancelledEvent.Cancellation> cancelled = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CANCEL_RESERVATIONS_SQL);
+            Array array = connection.createArrayOf("bigint", stations.toArray());
+            statement.setArray(1, array);
+            return statement;
+        }, (rs, rowNum) -> new ReservationsCancelledEvent.Cancellation(
+                rs.getObject("id", UUID.class),
+                rs.getObject("reserved_by_user_id", Long.class),
+                rs.getObject("station_id", Long.class)));
+        if (cancelled.isEmpty()) {
+            return cancelled;
+        }
+        fleetChangeLog.bikesChanged(cancelled.stream()
+                .map(ReservationsCancelledEvent.Cancellation::getBikeId).collect(Collectors.toList()));
+        fleetChangeLog.stationsChanged(cancelled.stream()
+                .map(ReservationsCancelledEvent.Cancellation::getStationId).collect(Collectors.toSet()));
+        log.info("Released {} reservations at {} out-of-service stations", cancelled.size(), stations.size());
+        eventBus.publish(new ReservationsCancelledEvent(cancelled));
+        return cancelled;
+    }
+
+    /**
+     * Takes every active station of the district out of service and releases
+     * their reservations, with one update for the stations and one for the bikes.
+     */
+    @Transactional
+    public DistrictOutageDTO takeDistrictOffline(String district) {
+        if (district == null || district.isBlank()) {
+            throw new IllegalArgumentException("District is required");
+        }
+        bikeStationRepository.flush();
+        List<Long> stationIds = jdbcTemplate.queryForList(DISTRICT_OFFLINE_SQL, Long.class, district);
+        for (Long stationId : stationIds) {
+            stationGeoIndex.setStatus(stationId, BikeStation.StationStatus.OUT_OF_SERVICE);
+            publisher.publishEvent(new StationStatusChangedEvent(stationId, BikeStation.StationStatus.ACTIVE,
+                    BikeStation.StationStatus.OUT_OF_SERVICE));
+        }
+        fleetChangeLog.stationsChanged(stationIds);
+        // Also takes the stations the status events just queued, so nothing is left for commit
+        int cancelled = cancelReservations(stationIds).size();
+        log.info("District {} taken offline: {} stations, {} reservations released", district, stationIds.size(),
+                cancelled);
+        return new DistrictOutageDTO(district, stationIds, cancelled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> pendingStations(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            Set<Long> created = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!created.isEmpty()) {
+                        cancelReservations(List.of());
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StationOutageService.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+}
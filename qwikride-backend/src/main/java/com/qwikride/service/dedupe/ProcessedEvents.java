@@ -0,0 +1,138 @@
+package com.qwikride.service.dedupe;
+
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventSubscriber;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets subscribers handle each event at most once, even when the outbox relay
+ * or a retry delivers it again. A subscriber opts in by calling
+ * {@link #claim} before acting on an event and skipping the event when the
+ * claim fails.
+ * <p>
+ * The {@code processed_events} table is the record of truth. A claim inserts
+ * the consumer's row in the caller's transaction, so it commits or rolls back
+ * together with whatever the subscriber wrote. Duplicates of recently
+ * committed events are rejected from memory without a database round trip.
+ */
+@Slf4j
+@Service
+public class ProcessedEvents {
+    private static final String CLAIM_SQL = "insert into processed_events (consumer, event_id) values (?, ?)"
+            + " on conflict do nothing";
+    private static final String PURGE_SQL = "delete from processed_events where processed_at < ?";
+    private static final long PURGE_INTERVAL_MINUTES = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecentEvents recent;
+    private final Duration retention;
+    private ScheduledExecutorService purger;
+
+    @Autowired
+    public ProcessedEvents(JdbcTemplate jdbcTemplate,
+                           @Value("${qwikride.dedupe.recent-capacity:100000}") int recentCapacity,
+                           @Value("${qwikride.dedupe.retention-days:14}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recent = new RecentEvents(recentCapacity);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Claims the event for the subscriber.
+     * <p>
+     * Inside a transaction the claim becomes permanent only when the transaction
+     * commits; a concurrent claim of the same event waits for it and then fails.
+     * Outside a transaction the claim commits at once, so an event whose handler
+     * fails afterwards is not retried.
+     *
+     * @return {@code true} the first time, {@code false} if the subscriber has
+     *         already processed the event
+     */
+    public boolean claim(EventSubscriber subscriber, DomainEvent event) {
+        String consumer = consumerName(subscriber);
+        UUID eventId = event.getEventId();
+        if (recent.contains(consumer, eventId)) {
+            log.info("{} skipped duplicate {} {}", consumer, event.getEventType(), eventId);
+            return false;
+        }
+        if (jdbcTemplate.update(CLAIM_SQL, consumer, eventId) == 0) {
+            // The conflicting row is committed; an uncommitted one would have blocked the insert
+            recent.add(consumer, eventId);
+            log.info("{} skipped already processed {} {}", consumer, event.getEventType(), eventId);
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recent.add(consumer, eventId);
+            return true;
+        }
+        // Remembered only once committed, so a rolled-back attempt can be redelivered
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recent.add(consumer, eventId);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Deletes claims older than the retention period, past which no redelivery
+     * is expected.
+     *
+     * @return the number of claims deleted
+     */
+    public int purge() {
+        return jdbcTemplate.update(PURGE_SQL, LocalDateTime.now().minus(retention));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPurging() {
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "processed-events-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeSafely, PURGE_INTERVAL_MINUTES, PURGE_INTERVAL_MINUTES,
+                TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            int purged = purge();
+            if (purged > 0) {
+                log.info("Purged {} processed event claims older than {} days", purged, retention.toDays());
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.error("Purging processed event claims failed", e);
+        }
+    }
+
+    private static String consumerName(EventSubscriber subscriber) {
+        return ClassUtils.getUserClass(subscriber).getSimpleName();
+    }
+}
@@ -0,0 +1,120 @@
+package com.qwikride.service.dedupe;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The most recently processed events per consumer, bounded to a fixed capacity.
+ * <p>
+ * A Bloom filter sits in front of the map: most events were never seen, and for
+ * those the lock-free filter answers without touching the map's lock. The
+ * filter comes in two generations that rotate every {@code capacity} additions,
+ * so everything still in the map is in one of them and no false negative is
+ * possible, while the false positive rate stays bounded however long it runs.
+ */
+final class RecentEvents {
+    // About 1% false positives per generation at ten bits and seven probes per entry
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int PROBES = 7;
+
+    private final int capacity;
+    private final Map<Key, Boolean> entries;
+    private volatile Bloom current;
+    private volatile Bloom previous;
+    private int addedToCurrent;
+
+    RecentEvents(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > RecentEvents.this.capacity;
+            }
+        };
+        this.current = new Bloom(capacity);
+        this.previous = new Bloom(capacity);
+    }
+
+    boolean contains(String consumer, UUID eventId) {
+        long hash = hash(consumer, eventId);
+        if (!current.mightContain(hash) && !previous.mightContain(hash)) {
+            return false;
+        }
+        synchronized (this) {
+            return entries.containsKey(new Key(consumer, eventId));
+        }
+    }
+
+    synchronized void add(String consumer, UUID eventId) {
+        if (entries.put(new Key(consumer, eventId), Boolean.TRUE) != null) {
+            return;
+        }
+        if (++addedToCurrent > capacity) {
+            previous = current;
+            current = new Bloom(capacity);
+            addedToCurrent = 1;
+        }
+        current.add(hash(consumer, eventId));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static long hash(String consumer, UUID eventId) {
+        return mix(eventId.getMostSignificantBits() * 31 + eventId.getLeastSignificantBits() + consumer.hashCode());
+    }
+
+    // Stafford variant 13 of the 64-bit MurmurHash3 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Key(String consumer, UUID eventId) {
+    }
+
+    private static final class Bloom {
+        private final AtomicLongArray words;
+        private final int bits;
+
+        Bloom(int capacity) {
+            int words = (int) Math.min(Integer.MAX_VALUE / 64, ((long) capacity * BITS_PER_ENTRY + 63) / 64);
+            this.words = new AtomicLongArray(words);
+            this.bits = words * 64;
+        }
+
+        void add(long hash) {
+            // Kirsch-Mitzenmacher: the probes are derived from the two halves of one hash
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < PROBES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long value;
+                do {
+                    value = words.get(word);
+                } while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask));
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < PROBES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
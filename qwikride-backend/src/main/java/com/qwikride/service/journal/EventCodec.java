@@ -0,0 +1,254 @@
+package com.qwikride.service.journal;
+
+import com.qwikride.event.BaseDomainEvent;
+import com.qwikride.event.BikeMovedEvent;
+import com.qwikride.event.BikeReservedEvent;
+import com.qwikride.event.BikesRebalancedEvent;
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.ReservationExpiredEvent;
+import com.qwikride.event.ReservationsCancelledEvent;
+import com.qwikride.event.StationStatusChangedEvent;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.event.TripStartedEvent;
+import com.qwikride.model.BikeStation;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fixed-layout binary encoding of domain events for the journal.
+ * <p>
+ * A record starts with a one-byte type tag, the event id and the timestamp,
+ * followed by the event's own fields in declaration order. Nullable ids use
+ * {@link Long#MIN_VALUE}, nullable UUIDs a presence byte, and enums their
+ * ordinal. Tags, field order and enum constants may only ever be appended to,
+ * since journaled records are never rewritten.
+ */
+final class EventCodec {
+    static final Set<Class<? extends DomainEvent>> EVENT_TYPES = Set.of(
+            BikeReservedEvent.class, TripStartedEvent.class, TripEndedEvent.class, BikeMovedEvent.class,
+            BikesRebalancedEvent.class, ReservationExpiredEvent.class, StationStatusChangedEvent.class,
+            ReservationsCancelledEvent.class);
+
+    private static final byte BIKE_RESERVED = 1;
+    private static final byte TRIP_STARTED = 2;
+    private static final byte TRIP_ENDED = 3;
+    private static final byte BIKE_MOVED = 4;
+    private static final byte BIKES_REBALANCED = 5;
+    private static final byte RESERVATION_EXPIRED = 6;
+    private static final byte STATION_STATUS_CHANGED = 7;
+    private static final byte RESERVATIONS_CANCELLED = 8;
+
+    private static final long NULL = Long.MIN_VALUE;
+    private static final int UUID_BYTES = 1 + 16;
+    private static final int LONG_BYTES = 8;
+    private static final int TIME_BYTES = 8 + 4;
+    private static final int HEADER_BYTES = 1 + 16 + TIME_BYTES;
+    private static final int MOVE_BYTES = UUID_BYTES + 2 * LONG_BYTES;
+    private static final int CANCELLATION_BYTES = UUID_BYTES + 2 * LONG_BYTES;
+
+    private static final BikeStation.StationStatus[] STATION_STATUSES = BikeStation.StationStatus.values();
+
+    private EventCodec() {
+    }
+
+    static int encodedSize(DomainEvent event) {
+        if (event instanceof BikeReservedEvent) {
+            return HEADER_BYTES + UUID_BYTES + 2 * LONG_BYTES + TIME_BYTES;
+        } else if (event instanceof TripStartedEvent) {
+            return HEADER_BYTES + UUID_BYTES + 2 * LONG_BYTES;
+        } else if (event instanceof TripEndedEvent) {
+            return HEADER_BYTES + UUID_BYTES + 2 * LONG_BYTES + 3 * 8;
+        } else if (event instanceof BikeMovedEvent) {
+            return HEADER_BYTES + UUID_BYTES + 3 * LONG_BYTES;
+        } else if (event instanceof BikesRebalancedEvent rebalanced) {
+            return HEADER_BYTES + LONG_BYTES + 4 + moveCount(rebalanced) * MOVE_BYTES;
+        } else if (event instanceof ReservationExpiredEvent) {
+            return HEADER_BYTES + UUID_BYTES + LONG_BYTES;
+        } else if (event instanceof StationStatusChangedEvent) {
+            return HEADER_BYTES + LONG_BYTES + 2;
+        } else if (event instanceof ReservationsCancelledEvent cancelled) {
+            return HEADER_BYTES + 4 + cancellationCount(cancelled) * CANCELLATION_BYTES;
+        }
+        throw new IllegalArgumentException("Event type cannot be journaled: " + event.getClass().getSimpleName());
+    }
+
+    /**
+     * Writes the event at the buffer's position; the buffer must have
+     * {@link #encodedSize} bytes remaining.
+     */
+    static void encode(DomainEvent event, ByteBuffer out) {
+        if (event instanceof BikeReservedEvent reserved) {
+            writeHeader(out, BIKE_RESERVED, event);
+            putUuid(out, reserved.getBikeId());
+            putId(out, reserved.getUserId());
+            putId(out, reserved.getStationId());
+            putTime(out, reserved.getReservationExpiresAt());
+        } else if (event instanceof TripStartedEvent started) {
+            writeHeader(out, TRIP_STARTED, event);
+            putUuid(out, started.getBikeId());
+            putId(out, started.getUserId());
+            putId(out, started.getStationId());
+        } else if (event instanceof TripEndedEvent ended) {
+            writeHeader(out, TRIP_ENDED, event);
+            putUuid(out, ended.getBikeId());
+            putId(out, ended.getUserId());
+            putId(out, ended.getReturnStationId());
+            out.putDouble(ended.getDurationMinutes());
+            out.putDouble(ended.getDistanceKm());
+            out.putDouble(ended.getCost());
+        } else if (event instanceof BikeMovedEvent moved) {
+            writeHeader(out, BIKE_MOVED, event);
+            putUuid(out, moved.getBikeId());
+            putId(out, moved.getOldStationId());
+            putId(out, moved.getNewStationId());
+            putId(out, moved.getOperatorId());
+        } else if (event instanceof BikesRebalancedEvent rebalanced) {
+            writeHeader(out, BIKES_REBALANCED, event);
+            putId(out, rebalanced.getOperatorId());
+            out.putInt(moveCount(rebalanced));
+            if (rebalanced.getMoves() != null) {
+                for (BikesRebalancedEvent.Move move : rebalanced.getMoves()) {
+                    putUuid(out, move.getBikeId());
+                    putId(out, move.getOldStationId());
+                    putId(out, move.getNewStationId());
+                }
+            }
+        } else if (event instanceof ReservationExpiredEvent expired) {
+            writeHeader(out, RESERVATION_EXPIRED, event);
+            putUuid(out, expired.getBikeId());
+            putId(out, expired.getUserId());
+        } else if (event instanceof StationStatusChangedEvent changed) {
+            writeHeader(out, STATION_STATUS_CHANGED, event);
+            putId(out, changed.getStationId());
+            putStatus(out, changed.getOldStatus());
+            putStatus(out, changed.getNewStatus());
+        } else if (event instanceof ReservationsCancelledEvent cancelled) {
+            writeHeader(out, RESERVATIONS_CANCELLED, event);
+            out.putInt(cancellationCount(cancelled));
+            if (cancelled.getCancellations() != null) {
+                for (ReservationsCancelledEvent.Cancellation cancellation : cancelled.getCancellations()) {
+                    putUuid(out, cancellation.getBikeId());
+                    putId(out, cancellation.getUserId());
+                    putId(out, cancellation.getStationId());
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Event type cannot be journaled: " + event.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Reads one event from the buffer's position.
+     */
+    static DomainEvent decode(ByteBuffer in) {
+        byte tag = in.get();
+        UUID eventId = new UUID(in.getLong(), in.getLong());
+        LocalDateTime timestamp = getTime(in);
+        BaseDomainEvent event = switch (tag) {
+            case BIKE_RESERVED -> new BikeReservedEvent(getUuid(in), getId(in), getId(in), getTime(in));
+            case TRIP_STARTED -> new TripStartedEvent(getUuid(in), getId(in), getId(in));
+            case TRIP_ENDED -> new TripEndedEvent(getUuid(in), getId(in), getId(in),
+                    in.getDouble(), in.getDouble(), in.getDouble());
+            case BIKE_MOVED -> new BikeMovedEvent(getUuid(in), getId(in), getId(in), getId(in));
+            case BIKES_REBALANCED -> {
+                Long operatorId = getId(in);
+                int count = in.getInt();
+                List<BikesRebalancedEvent.Move> moves = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    moves.add(new BikesRebalancedEvent.Move(getUuid(in), getId(in), getId(in)));
+                }
+                yield new BikesRebalancedEvent(operatorId, moves);
+            }
+            case RESERVATION_EXPIRED -> new ReservationExpiredEvent(getUuid(in), getId(in));
+            case STATION_STATUS_CHANGED -> new StationStatusChangedEvent(getId(in), getStatus(in), getStatus(in));
+            case RESERVATIONS_CANCELLED -> {
+                int count = in.getInt();
+                List<ReservationsCancelledEvent.Cancellation> cancellations = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    cancellations.add(new ReservationsCancelledEvent.Cancellation(getUuid(in), getId(in), getId(in)));
+                }
+                yield new ReservationsCancelledEvent(cancellations);
+            }
+            default -> throw new IllegalStateException("Unknown journal record type " + tag);
+        };
+        event.setEventId(eventId);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+
+    /**
+     * Seconds of the timestamp's local date-time, the same reading as the
+     * journal's retention cutoff.
+     */
+    static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static void writeHeader(ByteBuffer out, byte tag, DomainEvent event) {
+        out.put(tag);
+        out.putLong(event.getEventId().getMostSignificantBits());
+        out.putLong(event.getEventId().getLeastSignificantBits());
+        putTime(out, event.getTimestamp());
+    }
+
+    private static int moveCount(BikesRebalancedEvent event) {
+        return event.getMoves() == null ? 0 : event.getMoves().size();
+    }
+
+    private static int cancellationCount(ReservationsCancelledEvent event) {
+        return event.getCancellations() == null ? 0 : event.getCancellations().size();
+    }
+
+    private static void putUuid(ByteBuffer out, UUID value) {
+        if (value == null) {
+            out.put((byte) 0).putLong(0).putLong(0);
+        } else {
+            out.put((byte) 1).putLong(value.getMostSignificantBits()).putLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID getUuid(ByteBuffer in) {
+        boolean present = in.get() != 0;
+        long most = in.getLong();
+        long least = in.getLong();
+        return present ? new UUID(most, least) : null;
+    }
+
+    private static void putId(ByteBuffer out, Long value) {
+        out.putLong(value == null ? NULL : value);
+    }
+
+    private static Long getId(ByteBuffer in) {
+        long value = in.getLong();
+        return value == NULL ? null : value;
+    }
+
+    private static void putTime(ByteBuffer out, LocalDateTime value) {
+        if (value == null) {
+            out.putLong(NULL).putInt(0);
+        } else {
+            out.putLong(epochSecond(value)).putInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime getTime(ByteBuffer in) {
+        long seconds = in.getLong();
+        int nanos = in.getInt();
+        return seconds == NULL ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void putStatus(ByteBuffer out, BikeStation.StationStatus status) {
+        out.put(status == null ? -1 : (byte) status.ordinal());
+    }
+
+    private static BikeStation.StationStatus getStatus(ByteBuffer in) {
+        byte ordinal = in.get();
+        return ordinal < 0 ? null : STATION_STATUSES[ordinal];
+    }
+}
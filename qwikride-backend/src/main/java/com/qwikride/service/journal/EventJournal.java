@@ -0,0 +1,256 @@
+package com.qwikride.service.journal;
+
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventSubscriber;
+import com.qwikride.event.StationStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only record of every committed domain event, kept in memory-mapped
+ * segment files with the binary layout of {@link EventCodec}.
+ * <p>
+ * Each event gets a sequence number; {@link #replay} delivers events from any
+ * sequence in order, so projections (station inventory, ride history,
+ * dashboards) can be rebuilt without the database. The active segment is
+ * sealed and a new one started when it is full. Sealed segments are written to
+ * disk on rolling and the active one every {@code flush-interval-ms}; until
+ * then a crash of the process loses nothing, a crash of the machine may lose
+ * the last interval. {@link #compact} removes sealed segments whose events are
+ * all older than the retention period.
+ */
+@Slf4j
+@Service
+public class EventJournal implements EventSubscriber {
+    private static final long COMPACT_INTERVAL_MINUTES = 60;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushIntervalMillis;
+    private final int retentionDays;
+    // Sealed segments followed by the active one; replaced, never mutated
+    private volatile List<JournalSegment> segments = List.of();
+    private JournalSegment active;
+    private ScheduledExecutorService maintenance;
+
+    @Autowired
+    public EventJournal(@Value("${qwikride.journal.directory:journal}") Path directory,
+                        @Value("${qwikride.journal.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${qwikride.journal.flush-interval-ms:1000}") long flushIntervalMillis,
+                        @Value("${qwikride.journal.retention-days:30}") int retentionDays) {
+        this.directory = directory;
+        this.segmentBytes = segmentSizeMb * 1024 * 1024;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retentionDays = retentionDays;
+    }
+
+    EventJournal(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalMillis = 1000;
+        this.retentionDays = 30;
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        List<JournalSegment> opened = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(JournalSegment::isSegmentFile).sorted().map(JournalSegment::open).forEach(opened::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open event journal in " + directory, e);
+        }
+        JournalSegment last = opened.isEmpty() ? null : opened.get(opened.size() - 1);
+        if (last == null || last.isSealed()) {
+            last = JournalSegment.create(directory, last == null ? 0 : last.nextSequence(), segmentBytes);
+            opened.add(last);
+        }
+        active = last;
+        segments = List.copyOf(opened);
+        log.info("Event journal opened in {}: {} segments, next sequence {}", directory, opened.size(),
+                active.nextSequence());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMaintenance() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::compactSafely, COMPACT_INTERVAL_MINUTES, COMPACT_INTERVAL_MINUTES,
+                TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        if (active != null) {
+            active.flush();
+            active = null;
+        }
+    }
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return EventCodec.EVENT_TYPES;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        append(event);
+    }
+
+    // Station status changes are application events rather than bus events
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationStatusChanged(StationStatusChangedEvent event) {
+        append(event);
+    }
+
+    /**
+     * Appends the event and returns its sequence number, or -1 when the journal
+     * has already been closed.
+     */
+    public synchronized long append(DomainEvent event) {
+        if (active == null) {
+            log.warn("Event journal closed, {} {} not recorded", event.getEventType(), event.getEventId());
+            return -1;
+        }
+        int size = EventCodec.encodedSize(event);
+        if (JournalSegment.HEADER_BYTES + JournalSegment.RECORD_HEADER_BYTES + size > segmentBytes - 4) {
+            throw new IllegalArgumentException(event.getEventType() + " of " + size + " bytes exceeds the segment size");
+        }
+        long sequence = active.nextSequence();
+        if (!active.append(event, size)) {
+            roll();
+            active.append(event, size);
+        }
+        return sequence;
+    }
+
+    /**
+     * Delivers the events from {@code fromSequence} onwards, in order, to the
+     * subscriber if it {@link EventSubscriber#handles handles} them. Events
+     * appended while replaying may or may not be included.
+     *
+     * @return the sequence to resume from
+     */
+    public long replay(long fromSequence, EventSubscriber subscriber) {
+        long next = fromSequence;
+        for (JournalSegment segment : segments) {
+            if (segment.nextSequence() <= fromSequence && segment.isSealed()) {
+                continue;
+            }
+            next = Math.max(next, segment.replay(fromSequence, event -> {
+                if (subscriber.handles(event.getClass())) {
+                    subscriber.onEvent(event);
+                }
+            }));
+        }
+        return next;
+    }
+
+    /**
+     * Oldest sequence still held; earlier events have been compacted away.
+     */
+    public long firstSequence() {
+        return segments.isEmpty() ? 0 : segments.get(0).baseSequence();
+    }
+
+    public synchronized long nextSequence() {
+        return active == null ? segments.get(segments.size() - 1).nextSequence() : active.nextSequence();
+    }
+
+    /**
+     * Removes sealed segments whose newest event is older than {@code cutoff}.
+     * The active segment is never removed.
+     *
+     * @return the number of segments removed
+     */
+    public synchronized int compact(LocalDateTime cutoff) {
+        long cutoffSecond = EventCodec.epochSecond(cutoff);
+        List<JournalSegment> kept = new ArrayList<>();
+        List<JournalSegment> removed = new ArrayList<>();
+        for (JournalSegment segment : segments) {
+            // Only a leading run is removed, so the sequences that remain stay contiguous
+            if (kept.isEmpty() && segment.isSealed() && segment.newestEventSecond() < cutoffSecond) {
+                removed.add(segment);
+            } else {
+                kept.add(segment);
+            }
+        }
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        segments = List.copyOf(kept);
+        removed.forEach(JournalSegment::delete);
+        log.info("Event journal compacted: removed {} segments, first sequence now {}", removed.size(),
+                firstSequence());
+        return removed.size();
+    }
+
+    /**
+     * Writes the active segment to disk. Appends continue meanwhile.
+     */
+    public void flush() {
+        JournalSegment segment;
+        synchronized (this) {
+            segment = active;
+        }
+        if (segment != null) {
+            segment.flush();
+        }
+    }
+
+    private void roll() {
+        active.seal();
+        JournalSegment next = JournalSegment.create(directory, active.nextSequence(), segmentBytes);
+        List<JournalSegment> rolled = new ArrayList<>(segments);
+        rolled.add(next);
+        segments = List.copyOf(rolled);
+        active = next;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.error("Event journal flush failed", e);
+        }
+    }
+
+    private void compactSafely() {
+        try {
+            compact(LocalDateTime.now().minusDays(retentionDays));
+        } catch (RuntimeException e) {
+            log.error("Event journal compaction failed", e);
+        }
+    }
+}
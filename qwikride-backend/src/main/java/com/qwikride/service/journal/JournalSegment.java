@@ -0,0 +1,238 @@
+package com.qwikride.service.journal;
+
+import com.qwikride.event.DomainEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped journal file holding a contiguous run of events.
+ * <p>
+ * Layout: a {@value #HEADER_BYTES}-byte header (magic, sealed end position,
+ * base sequence, record count, newest event second), then records of
+ * {@code [int length][int crc32c][body]}. A zero length marks the end of the
+ * written records; the length is written last, so a record is either complete
+ * or invisible. Appends are confined to the journal's lock; readers only look
+ * below {@link #end}, which is published after the record is written.
+ */
+final class JournalSegment {
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAGIC = 0x514A524E;
+    private static final String SUFFIX = ".journal";
+
+    private final Path file;
+    private final long baseSequence;
+    private final MappedByteBuffer buffer;
+    // Never moved, so readers can duplicate it without racing the writer
+    private final ByteBuffer readView;
+    private final ByteBuffer crcView;
+    private final CRC32C crc = new CRC32C();
+    private volatile int end;
+    private volatile long count;
+    private long newestEventSecond = Long.MIN_VALUE;
+    private volatile boolean sealed;
+
+    private JournalSegment(Path file, long baseSequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.baseSequence = baseSequence;
+        this.buffer = buffer;
+        this.readView = buffer.asReadOnlyBuffer();
+        this.crcView = buffer.duplicate();
+    }
+
+    static JournalSegment create(Path directory, long baseSequence, int capacity) {
+        Path file = directory.resolve(fileName(baseSequence));
+        JournalSegment segment = new JournalSegment(file, baseSequence, map(file, capacity, true));
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putLong(8, baseSequence);
+        segment.end = HEADER_BYTES;
+        return segment;
+    }
+
+    /**
+     * Opens an existing file. A sealed segment is trusted as written; an
+     * unsealed one is scanned, and anything after the last intact record
+     * (a write cut short by a crash) is cleared.
+     */
+    static JournalSegment open(Path file) {
+        MappedByteBuffer buffer = map(file, 0, false);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a journal segment: " + file);
+        }
+        JournalSegment segment = new JournalSegment(file, buffer.getLong(8), buffer);
+        int sealedEnd = buffer.getInt(4);
+        if (sealedEnd > 0) {
+            segment.end = sealedEnd;
+            segment.count = buffer.getLong(16);
+            segment.newestEventSecond = buffer.getLong(24);
+            segment.sealed = true;
+        } else {
+            segment.recover();
+        }
+        return segment;
+    }
+
+    static boolean isSegmentFile(Path file) {
+        return file.getFileName().toString().endsWith(SUFFIX);
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long nextSequence() {
+        return baseSequence + count;
+    }
+
+    long count() {
+        return count;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    long newestEventSecond() {
+        return newestEventSecond;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Appends the event if it fits, returning false when the segment is full.
+     */
+    boolean append(DomainEvent event, int size) {
+        int start = end;
+        if (start + RECORD_HEADER_BYTES + size > buffer.capacity() - 4) {
+            return false;
+        }
+        int body = start + RECORD_HEADER_BYTES;
+        buffer.position(body);
+        EventCodec.encode(event, buffer);
+        crcView.limit(body + size).position(body);
+        crc.reset();
+        crc.update(crcView);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, size);
+        if (event.getTimestamp() != null) {
+            newestEventSecond = Math.max(newestEventSecond, EventCodec.epochSecond(event.getTimestamp()));
+        }
+        count++;
+        end = body + size;
+        return true;
+    }
+
+    /**
+     * Delivers the events from {@code fromSequence} that were appended before the
+     * call, returning the sequence after the last one delivered.
+     */
+    long replay(long fromSequence, Consumer<DomainEvent> consumer) {
+        int limit = end;
+        long available = count;
+        ByteBuffer in = readView.duplicate();
+        long sequence = baseSequence;
+        int position = HEADER_BYTES;
+        while (sequence < baseSequence + available && position < limit) {
+            int size = in.getInt(position);
+            int body = position + RECORD_HEADER_BYTES;
+            if (sequence >= fromSequence) {
+                in.limit(body + size).position(body);
+                consumer.accept(EventCodec.decode(in));
+                in.limit(in.capacity());
+            }
+            position = body + size;
+            sequence++;
+        }
+        return sequence;
+    }
+
+    /**
+     * Records the final position and count in the header, so reopening does not
+     * need to scan, and writes the file to disk.
+     */
+    void seal() {
+        buffer.putLong(16, count);
+        buffer.putLong(24, newestEventSecond);
+        buffer.putInt(4, end);
+        buffer.force();
+        sealed = true;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete journal segment " + file, e);
+        }
+    }
+
+    private void recover() {
+        int position = HEADER_BYTES;
+        long records = 0;
+        int limit = buffer.capacity() - 4;
+        while (position + RECORD_HEADER_BYTES <= limit) {
+            int size = buffer.getInt(position);
+            int body = position + RECORD_HEADER_BYTES;
+            if (size <= 0 || body + size > limit || !intact(body, size, buffer.getInt(position + 4))) {
+                break;
+            }
+            ByteBuffer record = readView.duplicate().limit(body + size).position(body);
+            DomainEvent event = EventCodec.decode(record);
+            if (event.getTimestamp() != null) {
+                newestEventSecond = Math.max(newestEventSecond, EventCodec.epochSecond(event.getTimestamp()));
+            }
+            position = body + size;
+            records++;
+        }
+        if (position + 4 <= buffer.capacity() && buffer.getInt(position) != 0) {
+            // Torn tail: clear it so later appends never run into stale bytes
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        end = position;
+        count = records;
+    }
+
+    private boolean intact(int body, int size, int expectedCrc) {
+        crcView.limit(body + size).position(body);
+        crc.reset();
+        crc.update(crcView);
+        return (int) crc.getValue() == expectedCrc;
+    }
+
+    private static String fileName(long baseSequence) {
+        return String.format("%020d%s", baseSequence, SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path file, int capacity, boolean create) {
+        try (FileChannel channel = create
+                ? FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = create ? capacity : channel.size();
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map journal segment " + file, e);
+        }
+    }
+}
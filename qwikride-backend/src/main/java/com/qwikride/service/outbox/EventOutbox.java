@@ -0,0 +1,140 @@
+package com.qwikride.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qwikride.event.BikeMovedEvent;
+import com.qwikride.event.BikeReservedEvent;
+import com.qwikride.event.BikesRebalancedEvent;
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventSubscriber;
+import com.qwikride.event.ReservationExpiredEvent;
+import com.qwikride.event.ReservationsCancelledEvent;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.event.TripStartedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Storage side of the transactional outbox. Registered as a synchronous
+ * {@link EventSubscriber}, so every event is inserted in the publisher's
+ * transaction: it commits with the bike change or not at all.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventOutbox implements EventSubscriber {
+    /**
+     * Held by the relay for the length of a batch, so only one node delivers at
+     * a time and events keep their order.
+     */
+    static final long RELAY_LOCK_KEY = 0x7177_6f75_7462_6f78L;
+
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = Stream.of(
+                    BikeReservedEvent.class, TripStartedEvent.class, TripEndedEvent.class, BikeMovedEvent.class,
+                    BikesRebalancedEvent.class, ReservationExpiredEvent.class, ReservationsCancelledEvent.class)
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private static final String INSERT_SQL = "insert into event_outbox (aggregate_id, event_id, event_type, payload) "
+            + "values (?, ?, ?, cast(? as jsonb))";
+    private static final String SELECT_PENDING_SQL = "select id, event_type, payload::text as payload "
+            + "from event_outbox where attempts < ? order by id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Set<Class<? extends DomainEvent>> eventTypes() {
+        return Set.copyOf(EVENT_TYPES.values());
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        append(event);
+    }
+
+    public void append(DomainEvent event) {
+        String type = event.getClass().getSimpleName();
+        if (!EVENT_TYPES.containsKey(type)) {
+            throw new IllegalArgumentException("Event type cannot be stored in the outbox: " + type);
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type, e);
+        }
+        jdbcTemplate.update(INSERT_SQL, aggregateId(event), event.getEventId(), type, payload);
+    }
+
+    public long pendingCount() {
+        Long count = jdbcTemplate.queryForObject("select count(*) from event_outbox", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    List<OutboxRecord> fetchPending(int limit, int maxAttempts) {
+        return jdbcTemplate.query(SELECT_PENDING_SQL,
+                (rs, rowNum) -> new OutboxRecord(rs.getLong("id"), rs.getString("event_type"), rs.getString("payload")),
+                maxAttempts, limit);
+    }
+
+    void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("delete from event_outbox where id = any(?)");
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            statement.setArray(1, array);
+            return statement;
+        });
+    }
+
+    void recordFailure(long id) {
+        jdbcTemplate.update("update event_outbox set attempts = attempts + 1 where id = ?", id);
+    }
+
+    DomainEvent decode(OutboxRecord record) {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(record.eventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type: " + record.eventType());
+        }
+        try {
+            return objectMapper.readValue(record.payload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read outbox event " + record.id(), e);
+        }
+    }
+
+    /**
+     * The bike an event is about; null for events spanning several bikes.
+     */
+    private static UUID aggregateId(DomainEvent event) {
+        if (event instanceof BikeReservedEvent reserved) {
+            return reserved.getBikeId();
+        } else if (event instanceof TripStartedEvent started) {
+            return started.getBikeId();
+        } else if (event instanceof TripEndedEvent ended) {
+            return ended.getBikeId();
+        } else if (event instanceof BikeMovedEvent moved) {
+            return moved.getBikeId();
+        } else if (event instanceof ReservationExpiredEvent expired) {
+            return expired.getBikeId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.qwikride.service.outbox;
+
+/**
+ * One pending outbox row; {@code payload} is the event as JSON.
+ */
+record OutboxRecord(long id, String eventType, String payload) {
+}
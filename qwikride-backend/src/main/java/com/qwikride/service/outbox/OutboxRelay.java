@@ -0,0 +1,163 @@
+package com.qwikride.service.outbox;
+
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventMetrics;
+import com.qwikride.event.EventSubscriber;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers committed outbox events to durable subscribers, in insertion order,
+ * a batch per transaction. A subscriber that writes to the database joins the
+ * batch transaction, so its writes and the removal of the delivered events
+ * commit together.
+ * <p>
+ * Events about one bike are inserted in commit order (the bike row lock
+ * serializes those transactions), and only one relay delivers at a time, so
+ * per-bike ordering holds across nodes. When a batch fails it is retried one
+ * event at a time; the failing event is retried on later polls and set aside
+ * after {@link #MAX_ATTEMPTS}, holding back the events after it until then.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+    static final int BATCH_SIZE = 500;
+    static final int MAX_ATTEMPTS = 10;
+    private static final long POLL_MILLIS = 100;
+
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final EventMetrics eventMetrics;
+    private final List<EventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService poller;
+
+    public OutboxRelay(EventOutbox eventOutbox, PlatformTransactionManager transactionManager,
+                       EventMetrics eventMetrics) {
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventMetrics = eventMetrics;
+    }
+
+    /**
+     * Adds a subscriber that receives every committed event of its
+     * {@link EventSubscriber#eventTypes() types} at least once.
+     */
+    public void subscribe(EventSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::drainSafely, POLL_MILLIS, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdown();
+            try {
+                poller.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Relays batches until the outbox has no deliverable events left.
+     *
+     * @return the number of events delivered
+     */
+    public int drain() {
+        int total = 0;
+        int delivered;
+        do {
+            delivered = relayBatch();
+            total += delivered;
+        } while (delivered == BATCH_SIZE);
+        return total;
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.error("Outbox relay failed", e);
+        }
+    }
+
+    private int relayBatch() {
+        AtomicLong current = new AtomicLong(-1);
+        try {
+            return relayInTransaction(BATCH_SIZE, current);
+        } catch (RuntimeException e) {
+            log.warn("Outbox batch failed at event {}, retrying one event at a time", current.get(), e);
+            return relayOneByOne();
+        }
+    }
+
+    private int relayOneByOne() {
+        int delivered = 0;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            AtomicLong current = new AtomicLong(-1);
+            try {
+                if (relayInTransaction(1, current) == 0) {
+                    break;
+                }
+                delivered++;
+            } catch (RuntimeException e) {
+                if (current.get() >= 0) {
+                    eventOutbox.recordFailure(current.get());
+                }
+                log.error("Outbox event {} could not be delivered", current.get(), e);
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private int relayInTransaction(int limit, AtomicLong current) {
+        Integer delivered = transactionTemplate.execute(status -> {
+            if (!eventOutbox.tryLockRelay()) {
+                return 0;
+            }
+            List<OutboxRecord> batch = eventOutbox.fetchPending(limit, MAX_ATTEMPTS);
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (OutboxRecord record : batch) {
+                current.set(record.id());
+                DomainEvent event = eventOutbox.decode(record);
+                for (EventSubscriber subscriber : subscribers) {
+                    if (subscriber.handles(event.getClass())) {
+                        EventMetrics.Meters meters =
+                                eventMetrics.metersFor(subscriber, EventMetrics.OUTBOX_CHANNEL, event.getClass());
+                        meters.waitedSince(event.getTimestamp());
+                        meters.handle(subscriber, event);
+                    }
+                }
+                ids.add(record.id());
+            }
+            eventOutbox.delete(ids);
+            return batch.size();
+        });
+        return delivered == null ? 0 : delivered;
+    }
+}
@@ -0,0 +1,150 @@
+package com.qwikride.service.telemetry;
+
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latest known position per bike, held in primitive arrays indexed by a slot
+ * assigned on registration. There is a single writer (the ingestion drain
+ * thread); readers use a per-slot sequence lock so they never observe a
+ * latitude from one fix and a longitude from another. Slots written since the
+ * last persistence run are tracked in a dirty bitset.
+ */
+public class BikePositionStore {
+    private final int capacity;
+    private final Map<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private final UUID[] bikeIds;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAt;
+    private final AtomicLongArray versions;
+    private final AtomicLongArray dirty;
+
+    @FunctionalInterface
+    public interface PositionVisitor {
+        void visit(int slot, UUID bikeId, double latitude, double longitude, long recordedAtMillis);
+    }
+
+    public BikePositionStore(int capacity) {
+        this.capacity = capacity;
+        this.bikeIds = new UUID[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.recordedAt = new long[capacity];
+        this.versions = new AtomicLongArray(capacity);
+        this.dirty = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    /**
+     * @return the bike's slot, or -1 when it has not been registered
+     */
+    public int slotOf(UUID bikeId) {
+        Integer slot = slots.get(bikeId);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @return the bike's slot, or -1 when the store is full
+     */
+    public synchronized int register(UUID bikeId) {
+        Integer existing = slots.get(bikeId);
+        if (existing != null) {
+            return existing;
+        }
+        int slot = nextSlot.get();
+        if (slot >= capacity) {
+            return -1;
+        }
+        bikeIds[slot] = bikeId;
+        nextSlot.set(slot + 1);
+        slots.put(bikeId, slot);
+        return slot;
+    }
+
+    /**
+     * Records a fix unless an equally new or newer one is already stored.
+     * Single writer only.
+     *
+     * @return false when the fix was stale and dropped
+     */
+    public boolean apply(int slot, double latitude, double longitude, long recordedAtMillis) {
+        if (recordedAtMillis <= recordedAt[slot]) {
+            return false;
+        }
+        long version = versions.get(slot);
+        versions.set(slot, version + 1);
+        VarHandle.storeStoreFence();
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        recordedAt[slot] = recordedAtMillis;
+        versions.set(slot, version + 2);
+        markDirty(slot);
+        return true;
+    }
+
+    /**
+     * Visits the bike's latest position. Returns false when no fix is known.
+     */
+    public boolean read(int slot, PositionVisitor visitor) {
+        double latitude;
+        double longitude;
+        long time;
+        long before;
+        long after;
+        do {
+            before = versions.get(slot);
+            latitude = latitudes[slot];
+            longitude = longitudes[slot];
+            time = recordedAt[slot];
+            VarHandle.loadLoadFence();
+            after = versions.get(slot);
+        } while ((before & 1L) != 0 || before != after);
+        if (time == 0L) {
+            return false;
+        }
+        visitor.visit(slot, bikeIds[slot], latitude, longitude, time);
+        return true;
+    }
+
+    public void forEach(PositionVisitor visitor) {
+        int registered = nextSlot.get();
+        for (int slot = 0; slot < registered; slot++) {
+            read(slot, visitor);
+        }
+    }
+
+    /**
+     * Visits every slot written since the previous call and clears its dirty flag.
+     */
+    public void drainDirty(PositionVisitor visitor) {
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.getAndSet(word, 0L);
+            while (bits != 0L) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                read(slot, visitor);
+            }
+        }
+    }
+
+    public void markDirty(int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << (slot & 63);
+        long current;
+        do {
+            current = dirty.get(word);
+            if ((current & bit) != 0L) {
+                return;
+            }
+        } while (!dirty.compareAndSet(word, current, current | bit));
+    }
+
+    public int registeredCount() {
+        return nextSlot.get();
+    }
+}
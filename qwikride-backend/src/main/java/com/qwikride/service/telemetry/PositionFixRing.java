@@ -0,0 +1,94 @@
+package com.qwikride.service.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring of position fixes. Fixes live in
+ * parallel primitive arrays, so offering one allocates nothing. Producers claim
+ * a sequence with a CAS and publish it per slot; the consumer reads slots in
+ * sequence order until it reaches one that is not published yet.
+ */
+public class PositionFixRing {
+    private final int capacity;
+    private final int mask;
+    private final int[] bikeSlots;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAt;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    // Only written by the consumer
+    private volatile long consumed;
+
+    @FunctionalInterface
+    public interface FixConsumer {
+        void accept(int bikeSlot, double latitude, double longitude, long recordedAtMillis);
+    }
+
+    public PositionFixRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a positive power of two");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.bikeSlots = new int[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.recordedAt = new long[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1L);
+        }
+    }
+
+    /**
+     * @return false when the ring is full; the fix is dropped
+     */
+    public boolean offer(int bikeSlot, double latitude, double longitude, long recordedAtMillis) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= capacity) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        bikeSlots[index] = bikeSlot;
+        latitudes[index] = latitude;
+        longitudes[index] = longitude;
+        recordedAt[index] = recordedAtMillis;
+        // Release: the slot contents become visible before the sequence does
+        published.lazySet(index, sequence);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published fixes to the consumer, in order. Must only
+     * be called from a single thread.
+     *
+     * @return number of fixes drained
+     */
+    public int drain(FixConsumer consumer, int max) {
+        long sequence = consumed;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (sequence & mask);
+            if (published.get(index) != sequence) {
+                break;
+            }
+            consumer.accept(bikeSlots[index], latitudes[index], longitudes[index], recordedAt[index]);
+            sequence++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed = sequence;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) (claimed.get() - consumed);
+    }
+}
@@ -0,0 +1,235 @@
+package com.qwikride.service.telemetry;
+
+import com.qwikride.dto.BikePositionDTO;
+import com.qwikride.repository.BikeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ingests GPS fixes from the fleet. Producers push fixes into a bounded
+ * lock-free ring without allocating; a single drain thread folds them into the
+ * {@link BikePositionStore}, dropping fixes older than the stored one. A
+ * scheduled task writes only the bikes that moved since the previous run, so
+ * database load follows fleet size rather than fix rate.
+ * <p>
+ * Bikes are registered at startup and as they are created, so the producer
+ * path never queries the database.
+ */
+@Service
+@Slf4j
+public class TelemetryIngestionService {
+    static final int MAX_BIKES = 1 << 17;
+    static final int RING_CAPACITY = 1 << 16;
+    private static final int DRAIN_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long PERSIST_INTERVAL_MILLIS = 5_000;
+    private static final int PERSIST_BATCH_SIZE = 500;
+    // A later fix never replaces a newer one, so a fix from the future would pin the position
+    static final long MAX_CLOCK_SKEW_MILLIS = 30_000;
+    private static final String UPDATE_POSITION_SQL =
+            "update bikes set latitude = ?, longitude = ?, location_updated_at = ? where id = ?";
+
+    private final BikeRepository bikeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BikePositionStore store = new BikePositionStore(MAX_BIKES);
+    private final PositionFixRing ring = new PositionFixRing(RING_CAPACITY);
+    private final PositionFixRing.FixConsumer applier = this::applyFix;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    private volatile boolean running;
+    private Thread drainThread;
+    private ScheduledExecutorService persister;
+
+    public TelemetryIngestionService(BikeRepository bikeRepository, JdbcTemplate jdbcTemplate) {
+        this.bikeRepository = bikeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        bikeRepository.findAllIds().forEach(store::register);
+        running = true;
+        drainThread = new Thread(this::drainLoop, "telemetry-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        persister = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-persist");
+            thread.setDaemon(true);
+            return thread;
+        });
+        persister.scheduleWithFixedDelay(this::persistSafely, PERSIST_INTERVAL_MILLIS, PERSIST_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        log.info("Telemetry ingestion started for {} bikes", store.registeredCount());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        persister.shutdown();
+        try {
+            drainThread.join(TimeUnit.SECONDS.toMillis(5));
+            persister.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        persistSafely();
+    }
+
+    /**
+     * Makes a newly created bike known to ingestion.
+     */
+    public void register(UUID bikeId) {
+        if (store.register(bikeId) < 0) {
+            log.warn("Telemetry position store is full; fixes for bike {} will be rejected", bikeId);
+        }
+    }
+
+    /**
+     * Registers the bike once the current transaction commits, so a rolled-back
+     * creation never takes a position slot.
+     */
+    public void registerAfterCommit(UUID bikeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(bikeId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(bikeId);
+            }
+        });
+    }
+
+    /**
+     * Accepts a fix for later processing. Never blocks; returns false when the
+     * bike is unknown, the coordinates are invalid, the fix is dated more than
+     * {@value #MAX_CLOCK_SKEW_MILLIS} ms ahead of now or the buffer is full.
+     */
+    public boolean submit(UUID bikeId, double latitude, double longitude, long recordedAtMillis) {
+        int slot = store.slotOf(bikeId);
+        if (slot < 0 || !validCoordinates(latitude, longitude)
+                || recordedAtMillis > System.currentTimeMillis() + MAX_CLOCK_SKEW_MILLIS
+                || !ring.offer(slot, latitude, longitude, recordedAtMillis)) {
+            rejected.increment();
+            return false;
+        }
+        accepted.increment();
+        return true;
+    }
+
+    public Optional<BikePositionDTO> getPosition(UUID bikeId) {
+        int slot = store.slotOf(bikeId);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        List<BikePositionDTO> result = new ArrayList<>(1);
+        store.read(slot, (s, id, latitude, longitude, time) -> result.add(toDto(id, latitude, longitude, time)));
+        return result.stream().findFirst();
+    }
+
+    public List<BikePositionDTO> getAllPositions() {
+        List<BikePositionDTO> positions = new ArrayList<>(store.registeredCount());
+        store.forEach((slot, id, latitude, longitude, time) -> positions.add(toDto(id, latitude, longitude, time)));
+        return positions;
+    }
+
+    /**
+     * Writes every bike whose position changed since the previous run in JDBC
+     * batches. Slots are marked dirty again if the write fails.
+     */
+    public void persistPositions() {
+        List<Integer> slots = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        store.drainDirty((slot, id, latitude, longitude, time) -> {
+            slots.add(slot);
+            rows.add(new Object[] { latitude, longitude, new Timestamp(time), id });
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            for (int from = 0; from < rows.size(); from += PERSIST_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(UPDATE_POSITION_SQL,
+                        rows.subList(from, Math.min(rows.size(), from + PERSIST_BATCH_SIZE)));
+            }
+            log.debug("Persisted {} bike positions", rows.size());
+        } catch (RuntimeException e) {
+            slots.forEach(store::markDirty);
+            throw e;
+        }
+    }
+
+    public long acceptedCount() {
+        return accepted.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long staleCount() {
+        return stale.sum();
+    }
+
+    public int pendingCount() {
+        return ring.size();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (ring.drain(applier, DRAIN_BATCH) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        ring.drain(applier, Integer.MAX_VALUE);
+    }
+
+    private void applyFix(int slot, double latitude, double longitude, long recordedAtMillis) {
+        if (!store.apply(slot, latitude, longitude, recordedAtMillis)) {
+            stale.increment();
+        }
+    }
+
+    private void persistSafely() {
+        try {
+            persistPositions();
+        } catch (RuntimeException e) {
+            log.error("Failed to persist bike positions, will retry", e);
+        }
+    }
+
+    private static boolean validCoordinates(double latitude, double longitude) {
+        return latitude >= -90.0 && latitude <= 90.0 && longitude >= -180.0 && longitude <= 180.0;
+    }
+
+    private static BikePositionDTO toDto(UUID bikeId, double latitude, double longitude, long recordedAtMillis) {
+        return new BikePositionDTO(bikeId, latitude, longitude, Instant.ofEpochMilli(recordedAtMillis));
+    }
+}
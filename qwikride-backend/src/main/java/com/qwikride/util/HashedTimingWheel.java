@@ -0,0 +1,96 @@
+package com.qwikride.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel keyed by an identifier. Scheduling and cancelling are O(1);
+ * advancing the wheel only visits the buckets for the elapsed ticks, so idle
+ * time costs nothing and each entry is looked at once per wheel revolution.
+ * <p>
+ * The wheel is driven by the caller through {@link #advance(long)}, which keeps
+ * it independent of any thread or clock and easy to test. Scheduling a key that
+ * is already present replaces its deadline.
+ */
+public class HashedTimingWheel<K> {
+    private final long tickMillis;
+    private final int mask;
+    private final List<Set<K>> buckets;
+    private final Map<K, Long> deadlineTicks = new HashMap<>();
+    private final long startMillis;
+    private long currentTick;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a positive power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.startMillis = startMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new HashSet<>());
+        }
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long elapsed = Math.max(0L, deadlineMillis - startMillis);
+        // Round up so an entry never fires before its deadline, and never into the past
+        long tick = Math.max(currentTick + 1, (elapsed + tickMillis - 1) / tickMillis);
+        deadlineTicks.put(key, tick);
+        buckets.get((int) (tick & mask)).add(key);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Long tick = deadlineTicks.remove(key);
+        if (tick == null) {
+            return false;
+        }
+        buckets.get((int) (tick & mask)).remove(key);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis} and returns the keys whose deadline
+     * has passed. Expired keys are removed from the wheel.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = Math.max(0L, nowMillis - startMillis) / tickMillis;
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+        List<K> expired = new ArrayList<>();
+        // A full revolution visits every bucket, so never walk more than one
+        long firstTick = Math.max(currentTick + 1, targetTick - mask);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Set<K> bucket = buckets.get((int) (tick & mask));
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            Iterator<K> iterator = bucket.iterator();
+            while (iterator.hasNext()) {
+                K key = iterator.next();
+                if (deadlineTicks.get(key) <= targetTick) {
+                    iterator.remove();
+                    deadlineTicks.remove(key);
+                    expired.add(key);
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return deadlineTicks.size();
+    }
+}
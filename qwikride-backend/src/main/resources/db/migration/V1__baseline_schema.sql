@@ -0,0 +1,112 @@
+-- Baseline schema, equivalent to what hibernate ddl-auto produced for the
+-- entities before migrations owned the schema. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate).
+
+create table users (
+    id                bigint generated by default as identity primary key,
+    full_name         varchar(255)   not null,
+    address           varchar(255)   not null,
+    email             varchar(255)   not null,
+    username          varchar(255)   not null,
+    password_hash     varchar(255)   not null,
+    payment_info      varchar(255),
+    role              varchar(255)   not null,
+    membership_status varchar(255)   not null,
+    pending_balance   numeric(12, 2),
+    constraint uk_users_email unique (email),
+    constraint uk_users_username unique (username)
+);
+
+create table bike_stations (
+    id                 bigint generated by default as identity primary key,
+    name               varchar(255) not null,
+    address            varchar(255),
+    capacity           integer,
+    current_bike_count integer,
+    status             varchar(255) not null,
+    created_at         timestamp(6) with time zone,
+    updated_at         timestamp(6) with time zone
+);
+
+create table bikes (
+    id                     uuid        not null primary key,
+    bike_type              varchar(31) not null,
+    station_id             bigint,
+    status                 varchar(255),
+    last_maintenance       timestamp(6),
+    current_user_id        bigint,
+    reserved_by_user_id    bigint,
+    reservation_time       timestamp(6),
+    reservation_expires_at timestamp(6),
+    battery_level          integer
+);
+
+create table ride_history (
+    id               bigint generated by default as identity primary key,
+    user_id          bigint       not null,
+    bike_id          uuid         not null,
+    start_station_id bigint,
+    end_station_id   bigint,
+    start_time       timestamp(6) not null,
+    end_time         timestamp(6),
+    duration_minutes float(53),
+    distance_km      float(53),
+    cost             float(53),
+    status           varchar(255) not null,
+    bike_type        varchar(255)
+);
+
+create table pricing_plan_versions (
+    id              uuid           not null primary key,
+    plan_name       varchar(255)   not null,
+    base_fee        numeric(38, 2) not null,
+    per_minute_rate numeric(38, 2) not null,
+    ebike_surcharge numeric(38, 2),
+    membership_tier varchar(255),
+    city_id         varchar(255),
+    effective_from  timestamp(6)   not null,
+    effective_to    timestamp(6),
+    published       boolean        not null,
+    description     varchar(512)
+);
+
+create table ledger_entries (
+    id                     bigint generated by default as identity primary key,
+    rider_id               bigint         not null,
+    plan_version_id        uuid           not null,
+    plan_name              varchar(255)   not null,
+    bike_id                uuid           not null,
+    start_station_id       bigint         not null,
+    end_station_id         bigint         not null,
+    start_time             timestamp(6)   not null,
+    end_time               timestamp(6)   not null,
+    duration_minutes       bigint         not null,
+    distance_km            float(53)      not null,
+    total                  numeric(38, 2) not null,
+    payment_status         varchar(255)   not null,
+    payment_reference      varchar(64),
+    payment_processed_at   timestamp(6),
+    summary                varchar(128),
+    adjustment_of_entry_id bigint
+);
+
+create table ledger_entry_charges (
+    ledger_entry_id bigint         not null,
+    charge_code     varchar(255)   not null,
+    charge_amount   numeric(38, 2) not null,
+    charge_meta     varchar(512),
+    constraint fk_ledger_entry_charges_entry foreign key (ledger_entry_id) references ledger_entries (id)
+);
+
+create table billing_disputes (
+    id                  bigint generated by default as identity primary key,
+    rider_id            bigint       not null,
+    ledger_entry_id     bigint       not null,
+    reason              varchar(512) not null,
+    evidence_url        varchar(1024),
+    status              varchar(255) not null,
+    created_at          timestamp(6) not null,
+    resolved_at         timestamp(6),
+    resolution_note     varchar(512),
+    adjustment_entry_id bigint
+);
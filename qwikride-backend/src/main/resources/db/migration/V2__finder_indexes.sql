@@ -0,0 +1,82 @@
+-- One index per repository finder. "if not exists" keeps this safe on
+-- databases that were baselined from a hibernate-managed schema.
+
+-- bikes ---------------------------------------------------------------------
+
+-- findByStationIdAndStatus, findByStationId, findAvailableForClaim (ordered by id)
+create index if not exists ix_bikes_station_status_id on bikes (station_id, status, id);
+
+-- findByStatus
+create index if not exists ix_bikes_status on bikes (status);
+
+-- findByStatusAndReservationExpiresAtBefore
+create index if not exists ix_bikes_status_reservation_expires on bikes (status, reservation_expires_at);
+
+-- findReservationExpiries (literal RESERVED predicate)
+create index if not exists ix_bikes_reserved_expiry on bikes (reservation_expires_at) include (id)
+    where status = 'RESERVED';
+
+-- findByReservedByUserId / existsByReservedByUserId; also enforces one reservation per rider
+create unique index if not exists ux_bikes_reserved_by_user on bikes (reserved_by_user_id)
+    where reserved_by_user_id is not null;
+
+-- findByCurrentUserId
+create index if not exists ix_bikes_current_user on bikes (current_user_id)
+    where current_user_id is not null;
+
+-- ride_history --------------------------------------------------------------
+
+-- findByUserIdOrderByStartTimeDesc, ...AndStartTimeBetween..., ...AndStart/EndStationId...
+create index if not exists ix_ride_history_user_start on ride_history (user_id, start_time desc);
+
+-- findFirstByUserIdAndStatusOrderByStartTimeDesc for any status
+create index if not exists ix_ride_history_user_status_start on ride_history (user_id, status, start_time desc);
+
+-- In-progress ride lookup on trip end, kept small by the predicate
+create index if not exists ix_ride_history_in_progress on ride_history (user_id, start_time desc)
+    where status = 'IN_PROGRESS';
+
+-- findByBikeIdOrderByStartTimeDesc
+create index if not exists ix_ride_history_bike_start on ride_history (bike_id, start_time desc);
+
+-- findAllByOrderByStartTimeDesc
+create index if not exists ix_ride_history_start on ride_history (start_time desc);
+
+-- findByStatus
+create index if not exists ix_ride_history_status on ride_history (status);
+
+-- ledger ----------------------------------------------------------------------
+
+-- findByRiderIdOrderByStartTimeDesc, findByRiderAndDateRange
+create index if not exists ix_ledger_entries_rider_start on ledger_entries (rider_id, start_time desc);
+
+-- findByPaymentStatusOrderByStartTimeDesc
+create index if not exists ix_ledger_entries_payment_status_start on ledger_entries (payment_status, start_time desc);
+
+-- Eager charge collection fetch
+create index if not exists ix_ledger_entry_charges_entry on ledger_entry_charges (ledger_entry_id);
+
+-- billing_disputes --------------------------------------------------------------
+
+-- findByRiderIdOrderByCreatedAtDesc
+create index if not exists ix_billing_disputes_rider_created on billing_disputes (rider_id, created_at desc);
+
+-- findByStatusOrderByCreatedAtAsc
+create index if not exists ix_billing_disputes_status_created on billing_disputes (status, created_at);
+
+-- pricing_plan_versions -----------------------------------------------------------
+
+-- findActivePlans, findFirstByPublishedTrueOrderByEffectiveFromDesc
+create index if not exists ix_plan_versions_published_from on pricing_plan_versions (effective_from desc)
+    include (effective_to) where published;
+
+-- findActivePlansForMembership
+create index if not exists ix_plan_versions_tier_from on pricing_plan_versions (membership_tier, effective_from desc)
+    where published;
+
+-- findActivePlansForCity
+create index if not exists ix_plan_versions_city_from on pricing_plan_versions (city_id, effective_from desc)
+    where published;
+
+-- A plan cannot have two versions starting at the same instant
+create unique index if not exists ux_plan_versions_name_from on pricing_plan_versions (plan_name, effective_from);
@@ -0,0 +1,5 @@
+-- Latest GPS fix per bike, written in batches by the telemetry pipeline
+alter table bikes
+    add column latitude            double precision,
+    add column longitude           double precision,
+    add column location_updated_at timestamp(6);
@@ -0,0 +1,4 @@
+-- Station coordinates for nearby-station queries
+alter table bike_stations
+    add column latitude  double precision,
+    add column longitude double precision;
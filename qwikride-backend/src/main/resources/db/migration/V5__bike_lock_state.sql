@@ -0,0 +1,4 @@
+-- Dock lock state, reconciled from asynchronous lock/unlock commands
+alter table bikes add column lock_state varchar(32);
+
+update bikes set lock_state = case when status = 'IN_USE' then 'UNLOCKED' else 'LOCKED' end;
@@ -0,0 +1,12 @@
+-- Transactional outbox: domain events are written in the same transaction as the
+-- change that caused them and deleted once the relay has delivered them.
+create table event_outbox (
+    id           bigserial    not null primary key,
+    aggregate_id uuid,
+    event_id     uuid         not null,
+    event_type   varchar(100) not null,
+    payload      jsonb        not null,
+    created_at   timestamp(6) not null default now(),
+    attempts     integer      not null default 0
+);
+
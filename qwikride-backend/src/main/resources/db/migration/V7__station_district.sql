@@ -0,0 +1,5 @@
+-- Operator-defined district a station belongs to, so a whole district can be taken offline at once
+alter table bike_stations
+    add column district varchar(64);
+
+create index ix_bike_stations_district on bike_stations (district);
@@ -0,0 +1,10 @@
+-- Events each idempotent consumer has handled, so redelivered events are skipped.
+-- Rows are claimed in the consumer's own transaction and purged after the retention period.
+create table processed_events (
+    consumer     varchar(100) not null,
+    event_id     uuid         not null,
+    processed_at timestamp(6) not null default now(),
+    primary key (consumer, event_id)
+);
+
+create index ix_processed_events_processed_at on processed_events (processed_at);
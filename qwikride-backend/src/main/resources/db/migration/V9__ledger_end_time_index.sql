@@ -0,0 +1,3 @@
+-- Repricing simulations scan original trip entries by the time the trip ended
+create index if not exists ix_ledger_entries_end_time on ledger_entries (end_time)
+    where adjustment_of_entry_id is null;
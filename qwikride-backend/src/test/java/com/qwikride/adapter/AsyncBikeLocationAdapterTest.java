@@ -0,0 +1,133 @@
+package com.qwikride.adapter;
+
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBikeLocationAdapterTest {
+    @Mock
+    private TelemetryIngestionService telemetryIngestionService;
+
+    private AsyncBikeLocationAdapter adapter;
+
+    @AfterEach
+    void tearDown() {
+        if (adapter != null) {
+            adapter.shutdown();
+        }
+    }
+
+    @Test
+    void unlocksCompleteDespiteLatencyAndTransientFailures() throws Exception {
+        FakeBikeSystemAdapter dock = new FakeBikeSystemAdapter(telemetryIngestionService);
+        dock.configureFaults(5, 40, 0.2);
+        adapter = new AsyncBikeLocationAdapter(dock, 1_000, 3, 10, 256);
+
+        List<UUID> bikeIds = new ArrayList<>();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID bikeId = UUID.randomUUID();
+            bikeIds.add(bikeId);
+            results.add(adapter.unlockBike(bikeId));
+        }
+
+        int unlocked = 0;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                if (results.get(i).get(10, TimeUnit.SECONDS)) {
+                    unlocked++;
+                    assertFalse(dock.isBikeLocked(bikeIds.get(i)));
+                }
+            } catch (ExecutionException e) {
+                // Three failures in a row (0.8% per command) is an acceptable outcome
+            }
+        }
+        assertTrue(unlocked >= 180, "Only " + unlocked + " of 200 unlocks completed");
+    }
+
+    @Test
+    void unansweredCommandTimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        adapter = new AsyncBikeLocationAdapter(blockingDock(release), 50, 1, 0, 8);
+        try {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> adapter.lockBike(UUID.randomUUID()).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, failure.getCause());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void rejectsCommandsBeyondInFlightLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        adapter = new AsyncBikeLocationAdapter(blockingDock(release), 5_000, 1, 0, 2);
+
+        CompletableFuture<Boolean> first = adapter.lockBike(UUID.randomUUID());
+        CompletableFuture<Boolean> second = adapter.lockBike(UUID.randomUUID());
+        CompletableFuture<Boolean> third = adapter.lockBike(UUID.randomUUID());
+
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertTrue(adapter.lockBike(UUID.randomUUID()).get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * A dock that does not answer until {@code release} is counted down.
+     */
+    private BikeLocationPort blockingDock(CountDownLatch release) {
+        return new BikeLocationPort() {
+            @Override
+            public boolean updateLocation(UUID bikeId, double latitude, double longitude) {
+                return true;
+            }
+
+            @Override
+            public boolean lockBike(UUID bikeId) {
+                return awaitRelease();
+            }
+
+            @Override
+            public boolean unlockBike(UUID bikeId) {
+                return awaitRelease();
+            }
+
+            @Override
+            public boolean isBikeLocked(UUID bikeId) {
+                return true;
+            }
+
+            private boolean awaitRelease() {
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,255 @@
+package com.qwikride.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventBusTest {
+    private final EventBus eventBus = new EventBus(100, 5_000);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        eventBus.stop();
+    }
+
+    @Test
+    void syncSubscribersRunInPriorityThenRegistrationOrder() {
+        List<String> calls = new ArrayList<>();
+        eventBus.subscribe(event -> calls.add("late"), DeliveryMode.SYNC, 10, EventBus.DEFAULT_QUEUE_CAPACITY);
+        eventBus.subscribe(event -> calls.add("first"));
+        eventBus.subscribe(event -> calls.add("second"));
+
+        eventBus.publish(tripStarted());
+
+        assertEquals(List.of("first", "second", "late"), calls);
+    }
+
+    @Test
+    void subscribersOnlyReceiveTheirDeclaredTypes() {
+        List<DomainEvent> trips = new ArrayList<>();
+        List<DomainEvent> everything = new ArrayList<>();
+        eventBus.subscribe(typed(trips, TripStartedEvent.class));
+        eventBus.subscribe(everything::add);
+
+        eventBus.publish(tripStarted());
+        eventBus.publish(new BikeMovedEvent(UUID.randomUUID(), 1L, 2L, 7L));
+
+        assertEquals(1, trips.size());
+        assertEquals(2, everything.size());
+    }
+
+    @Test
+    void laterSubscriptionsReachTypesAlreadyPublished() {
+        List<DomainEvent> first = new ArrayList<>();
+        List<DomainEvent> second = new ArrayList<>();
+        eventBus.subscribe(typed(first, TripStartedEvent.class));
+        eventBus.publish(tripStarted());
+
+        eventBus.subscribe(typed(second, TripStartedEvent.class), DeliveryMode.SYNC, SubscriberOrder.INVENTORY);
+        eventBus.publish(tripStarted());
+
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    void afterCommitSubscribersWaitForCommitAndSkipRollbacks() {
+        List<DomainEvent> received = new ArrayList<>();
+        eventBus.subscribe(received::add, DeliveryMode.AFTER_COMMIT);
+
+        TransactionSynchronizationManager.initSynchronization();
+        eventBus.publish(tripStarted());
+        assertTrue(received.isEmpty());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1, received.size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        eventBus.publish(tripStarted());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void asyncSubscriberRunsOffThePublisherInOrder() throws Exception {
+        List<UUID> received = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(200);
+        eventBus.subscribe(event -> {
+            threads.add(Thread.currentThread());
+            received.add(event.getEventId());
+            done.countDown();
+        }, DeliveryMode.ASYNC);
+
+        List<UUID> published = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            DomainEvent event = tripStarted();
+            published.add(event.getEventId());
+            eventBus.publish(event);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(published, received);
+        assertNotEquals(Thread.currentThread(), threads.get(0));
+    }
+
+    @Test
+    void fullQueueBlocksPublisherThenDrops() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(event -> {
+            started.countDown();
+            await(release);
+            received.add(event);
+        }, DeliveryMode.ASYNC, 0, 1);
+
+        eventBus.publish(tripStarted());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        eventBus.publish(tripStarted());
+
+        long begin = System.nanoTime();
+        eventBus.publish(tripStarted());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) >= 100);
+
+        release.countDown();
+        eventBus.stop();
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void stopDrainsQueuedEvents() {
+        List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(event -> {
+            sleep(2);
+            received.add(event);
+        }, DeliveryMode.ASYNC);
+
+        for (int i = 0; i < 100; i++) {
+            eventBus.publish(tripStarted());
+        }
+        eventBus.stop();
+
+        assertEquals(100, received.size());
+
+        // Once stopped, asynchronous subscribers are served on the publishing thread
+        eventBus.publish(tripStarted());
+        assertEquals(101, received.size());
+    }
+
+    @Test
+    void recordsHandlingAndFailuresPerSubscriberAndEventType() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EventBus meteredBus = new EventBus(new EventMetrics(registry), 100, 5_000);
+        EventSubscriber failing = new EventSubscriber() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                throw new IllegalStateException("boom");
+            }
+
+            @Override
+            public Set<Class<? extends DomainEvent>> eventTypes() {
+                return Set.of(BikeMovedEvent.class);
+            }
+        };
+        meteredBus.subscribe(typed(new ArrayList<>(), TripStartedEvent.class));
+        meteredBus.subscribe(failing);
+
+        meteredBus.publish(tripStarted());
+        meteredBus.publish(tripStarted());
+        assertThrows(IllegalStateException.class,
+                () -> meteredBus.publish(new BikeMovedEvent(UUID.randomUUID(), 1L, 2L, 7L)));
+
+        assertEquals(2, registry.get(EventMetrics.HANDLED)
+                .tags("channel", "SYNC", "event", "TripStartedEvent").timer().count());
+        assertEquals(1, registry.get(EventMetrics.FAILED)
+                .tags("channel", "SYNC", "event", "BikeMovedEvent").counter().count());
+        assertEquals(1, registry.get(EventMetrics.HANDLED)
+                .tags("channel", "SYNC", "event", "BikeMovedEvent").timer().count());
+        meteredBus.stop();
+    }
+
+    @Test
+    void recordsQueueDepthAndLagForAsyncSubscribers() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EventMetrics metrics = new EventMetrics(registry);
+        EventBus meteredBus = new EventBus(metrics, 100, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        meteredBus.subscribe(event -> {
+            await(release);
+            done.countDown();
+        }, DeliveryMode.ASYNC);
+
+        for (int i = 0; i < 3; i++) {
+            meteredBus.publish(tripStarted());
+        }
+        assertTrue(registry.get(EventMetrics.QUEUE_DEPTH).gauge().value() >= 2);
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        meteredBus.stop();
+        assertEquals(3, registry.get(EventMetrics.LAG).tags("channel", "ASYNC").timer().count());
+        assertEquals(3, metrics.snapshot().get(0).getHandled());
+    }
+
+    private static EventSubscriber typed(List<DomainEvent> sink, Class<? extends DomainEvent> type) {
+        return new EventSubscriber() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                sink.add(event);
+            }
+
+            @Override
+            public Set<Class<? extends DomainEvent>> eventTypes() {
+                return Set.of(type);
+            }
+        };
+    }
+
+    private static DomainEvent tripStarted() {
+        return new TripStartedEvent(UUID.randomUUID(), 1L, 1L);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.qwikride.prc.pricing;
 
+import com.qwikride.prc.pricing.domain.ChargeLine;
 import com.qwikride.prc.pricing.domain.FinalizedBill;
+import com.qwikride.prc.pricing.domain.MutableBill;
 import com.qwikride.prc.pricing.domain.PricingContext;
 import com.qwikride.prc.pricing.domain.RateSheet;
 import com.qwikride.prc.pricing.domain.TripFacts;
+import com.qwikride.prc.pricing.rule.AbstractRuleHandler;
 import com.qwikride.prc.pricing.rule.BaseFeeHandler;
 import com.qwikride.prc.pricing.rule.EbikeSurchargeHandler;
 import com.qwikride.prc.pricing.rule.PerMinuteHandler;
+import com.qwikride.prc.pricing.rule.TaxHandler;
 import com.qwikride.prc.pricing.selector.SelectionInput;
 import com.qwikride.prc.pricing.selector.PricingPlanSelector;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,8 +21,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.Optional;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PricingEngineTest {
@@ -76,4 +83,117 @@ class PricingEngineTest {
         assertTrue(bill.getCharges().stream().anyMatch(line -> "PER_MINUTE".equals(line.getCode())));
         assertTrue(bill.getCharges().stream().anyMatch(line -> "E_BIKE_SURCHARGE".equals(line.getCode())));
     }
+
+    @Test
+    void compiledRateSheetsMatchTheRuleChainExactly() {
+        baseFeeHandler.setNext(perMinuteHandler).setNext(ebikeSurchargeHandler).setNext(new TaxHandler());
+        PricingEngine pricingEngine = new PricingEngine(new PricingPlanSelector(List.of()), baseFeeHandler);
+
+        assertCompiledMatchesChain(pricingEngine);
+    }
+
+    @Test
+    void handlersWithoutACompiledFormKeepTripsOnTheChain() {
+        ebikeSurchargeHandler.setNext(new AbstractRuleHandler() {
+            @Override
+            protected void doApply(PricingContext context, TripFacts tripFacts, MutableBill bill) {
+                bill.add(ChargeLine.builder().code("SERVICE_FEE").amount(new BigDecimal("0.30")).build());
+            }
+        });
+        PricingEngine pricingEngine = new PricingEngine(new PricingPlanSelector(List.of()), baseFeeHandler);
+        PricingContext context = PricingContext.builder()
+                .planVersionId(UUID.randomUUID())
+                .planName("Standard")
+                .rateSheet(RateSheet.builder().baseFee(new BigDecimal("1.00")).build())
+                .build();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 12, 0);
+        TripFacts tripFacts = TripFacts.builder().startTime(start).endTime(start.plusMinutes(5)).build();
+
+        FinalizedBill bill = pricingEngine.price(context, tripFacts);
+
+        assertEquals(new BigDecimal("1.30"), bill.getTotal());
+        assertEquals(pricingEngine.priceWithRuleChain(context, tripFacts), bill);
+    }
+
+    @Test
+    void compiledBillsShareTheirFixedLines() {
+        PricingEngine pricingEngine = new PricingEngine(new PricingPlanSelector(List.of()), baseFeeHandler);
+        PricingContext context = PricingContext.builder()
+                .planVersionId(UUID.randomUUID())
+                .planName("Standard")
+                .rateSheet(RateSheet.builder()
+                        .baseFee(new BigDecimal("1.00"))
+                        .perMinute(new BigDecimal("0.15"))
+                        .ebikeSurcharge(new BigDecimal("0.50"))
+                        .build())
+                .build();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 12, 0);
+        TripFacts tripFacts = TripFacts.builder().startTime(start).endTime(start.plusMinutes(20)).ebike(true).build();
+
+        FinalizedBill first = pricingEngine.price(context, tripFacts);
+        FinalizedBill second = pricingEngine.price(context, tripFacts);
+
+        assertNotSame(first, second);
+        assertSame(first.getCharges().get(0), second.getCharges().get(0));
+        assertSame(first.getCharges().get(1), second.getCharges().get(1));
+        assertEquals(new BigDecimal("4.50"), first.getTotal());
+    }
+
+    @Test
+    void ratesBeyondLongRangeArePricedByTheChain() {
+        PricingEngine pricingEngine = new PricingEngine(new PricingPlanSelector(List.of()), baseFeeHandler);
+        PricingContext context = PricingContext.builder()
+                .planVersionId(UUID.randomUUID())
+                .planName("Huge")
+                .rateSheet(RateSheet.builder()
+                        .baseFee(new BigDecimal("1.00"))
+                        .perMinute(new BigDecimal("92233720368547758.07"))
+                        .build())
+                .build();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 12, 0);
+        TripFacts tripFacts = TripFacts.builder().startTime(start).endTime(start.plusMinutes(3)).build();
+
+        FinalizedBill bill = pricingEngine.price(context, tripFacts);
+
+        assertEquals(pricingEngine.priceWithRuleChain(context, tripFacts), bill);
+        assertEquals(new BigDecimal("276701161105643275.21"), bill.getTotal());
+    }
+
+    /**
+     * Prices random plans and trips both ways; the compiled bill must equal the
+     * chain's, scale included.
+     */
+    static void assertCompiledMatchesChain(PricingEngine pricingEngine) {
+        Random random = new Random(42);
+        String[] rates = { null, "0", "-1.00", "1", "1.5", "1.50", "0.25", "0.125", "0.0833", "12.3456789", "99.99" };
+
+        for (int i = 0; i < 5_000; i++) {
+            PricingContext context = PricingContext.builder()
+                    .planVersionId(UUID.randomUUID())
+                    .planName("Plan " + i)
+                    .rateSheet(RateSheet.builder()
+                            .baseFee(amount(rates[random.nextInt(rates.length)]))
+                            .perMinute(amount(rates[random.nextInt(rates.length)]))
+                            .ebikeSurcharge(amount(rates[random.nextInt(rates.length)]))
+                            .build())
+                    .build();
+            LocalDateTime start = LocalDateTime.of(2025, 1, 10, 12, 0);
+            TripFacts tripFacts = TripFacts.builder()
+                    .startTime(start)
+                    .endTime(start.plusSeconds(random.nextInt(60 * 60 * 6)))
+                    .ebike(random.nextBoolean())
+                    .build();
+
+            FinalizedBill compiled = pricingEngine.price(context, tripFacts);
+            FinalizedBill reference = pricingEngine.priceWithRuleChain(context, tripFacts);
+
+            // Equality of BigDecimal includes the scale, so amounts must match digit for digit
+            assertEquals(reference, compiled);
+            assertEquals(reference.getTotal().scale(), compiled.getTotal().scale());
+        }
+    }
+
+    private static BigDecimal amount(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
 }
@@ -0,0 +1,75 @@
+package com.qwikride.prc.pricing;
+
+import com.qwikride.prc.PrcConfiguration;
+import com.qwikride.prc.pricing.domain.FinalizedBill;
+import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.domain.RateSheet;
+import com.qwikride.prc.pricing.domain.TripFacts;
+import com.qwikride.prc.pricing.rule.BaseFeeHandler;
+import com.qwikride.prc.pricing.rule.CapHandler;
+import com.qwikride.prc.pricing.rule.DiscountHandler;
+import com.qwikride.prc.pricing.rule.EbikeSurchargeHandler;
+import com.qwikride.prc.pricing.rule.PerMinuteHandler;
+import com.qwikride.prc.pricing.rule.PricingRuleHandler;
+import com.qwikride.prc.pricing.rule.TaxHandler;
+import com.qwikride.prc.pricing.selector.PricingPlanSelector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Compiled pricing against the rule chain exactly as {@link PrcConfiguration}
+ * wires it, with every optional handler present.
+ */
+@SpringJUnitConfig({ PrcConfiguration.class, BaseFeeHandler.class, PerMinuteHandler.class,
+        EbikeSurchargeHandler.class, DiscountHandler.class, CapHandler.class, TaxHandler.class })
+@ActiveProfiles("prc-discounts")
+class PricingRuleChainCompilationTest {
+    @Autowired
+    @Qualifier("pricingRuleChain")
+    private PricingRuleHandler pricingRuleChain;
+
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        pricingEngine = new PricingEngine(new PricingPlanSelector(List.of()), pricingRuleChain);
+    }
+
+    @Test
+    void configuredChainIsCompiled() {
+        PricingContext context = PricingContext.builder()
+                .planVersionId(UUID.randomUUID())
+                .planName("Standard")
+                .rateSheet(RateSheet.builder()
+                        .baseFee(new BigDecimal("1.00"))
+                        .perMinute(new BigDecimal("0.15"))
+                        .build())
+                .build();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 12, 0);
+        TripFacts tripFacts = TripFacts.builder().startTime(start).endTime(start.plusMinutes(20)).build();
+
+        FinalizedBill first = pricingEngine.price(context, tripFacts);
+        FinalizedBill second = pricingEngine.price(context, tripFacts);
+
+        // Only compiled rate sheets share their charge lines between bills
+        assertSame(first.getCharges().get(0), second.getCharges().get(0));
+        assertEquals(pricingEngine.priceWithRuleChain(context, tripFacts), first);
+    }
+
+    @Test
+    void compiledRateSheetsMatchTheConfiguredChain() {
+        PricingEngineTest.assertCompiledMatchesChain(pricingEngine);
+    }
+}
@@ -0,0 +1,106 @@
+package com.qwikride.prc.pricing.selector;
+
+import com.qwikride.prc.domain.MembershipStatus;
+import com.qwikride.prc.model.PricingPlanVersion;
+import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.repository.PricingPlanVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlanCatalogTest {
+    private static final LocalDateTime JAN = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime MAR = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final LocalDateTime JUN = LocalDateTime.of(2025, 6, 1, 0, 0);
+    private static final LocalDateTime SEP = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    @Mock
+    private PricingPlanVersionRepository repository;
+
+    private PlanCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new PlanCatalog(repository);
+    }
+
+    @Test
+    void latestActiveVersionWinsEachWindow() {
+        when(repository.findAll()).thenReturn(List.of(
+                plan("Standard", JAN, null, null, null, true),
+                plan("Summer", JUN, SEP, null, null, true),
+                plan("Spring Draft", MAR, null, null, null, false)));
+
+        assertTrue(catalog.findActive(JAN.minusSeconds(1)).isEmpty());
+        assertEquals("Standard", planName(catalog.findActive(JAN)));
+        assertEquals("Standard", planName(catalog.findActive(MAR.plusDays(1))));
+        assertEquals("Summer", planName(catalog.findActive(JUN)));
+        assertEquals("Summer", planName(catalog.findActive(SEP.minusNanos(1))));
+        assertEquals("Standard", planName(catalog.findActive(SEP)));
+    }
+
+    @Test
+    void indexesByMembershipTierAndCity() {
+        when(repository.findAll()).thenReturn(List.of(
+                plan("Standard", JAN, null, null, null, true),
+                plan("Premium", MAR, null, MembershipStatus.PREMIUM, null, true),
+                plan("Berlin", JAN, JUN, null, "BER", true)));
+
+        assertEquals("Premium", planName(catalog.findActiveForMembership(MembershipStatus.PREMIUM, JUN)));
+        assertTrue(catalog.findActiveForMembership(MembershipStatus.PREMIUM, JAN).isEmpty());
+        assertEquals("Berlin", planName(catalog.findActiveForCity("BER", MAR)));
+        assertTrue(catalog.findActiveForCity("BER", JUN).isEmpty());
+        assertTrue(catalog.findActiveForCity("PAR", MAR).isEmpty());
+        assertEquals("Premium", planName(catalog.findActive(JUN)));
+    }
+
+    @Test
+    void loadsOnceUntilRefreshed() {
+        when(repository.findAll()).thenReturn(List.of(plan("Standard", JAN, null, null, null, true)));
+
+        catalog.findActive(MAR);
+        catalog.findActive(JUN);
+        verify(repository, times(1)).findAll();
+
+        when(repository.findAll()).thenReturn(List.of(
+                plan("Standard", JAN, null, null, null, true),
+                plan("Autumn", SEP, null, null, null, true)));
+        catalog.refreshAfterCommit();
+
+        assertEquals("Autumn", planName(catalog.findActive(SEP)));
+        verify(repository, times(2)).findAll();
+    }
+
+    private static String planName(Optional<PricingContext> context) {
+        return context.orElseThrow().getPlanName();
+    }
+
+    private static PricingPlanVersion plan(String name, LocalDateTime from, LocalDateTime to,
+                                           MembershipStatus tier, String cityId, boolean published) {
+        PricingPlanVersion version = new PricingPlanVersion(UUID.randomUUID());
+        version.setPlanName(name);
+        version.setBaseFee(new BigDecimal("1.00"));
+        version.setPerMinuteRate(new BigDecimal("0.15"));
+        version.setEffectiveFrom(from);
+        version.setEffectiveTo(to);
+        version.setMembershipTier(tier);
+        version.setCityId(cityId);
+        version.setPublished(published);
+        return version;
+    }
+}
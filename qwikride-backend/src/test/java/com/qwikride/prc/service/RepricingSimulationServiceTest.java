@@ -0,0 +1,138 @@
+package com.qwikride.prc.service;
+
+import com.qwikride.prc.PrcConfiguration;
+import com.qwikride.prc.domain.MembershipStatus;
+import com.qwikride.prc.dto.RepricingSimulationRequest;
+import com.qwikride.prc.dto.RepricingSimulationResponse;
+import com.qwikride.prc.pricing.PricingEngine;
+import com.qwikride.prc.pricing.rule.BaseFeeHandler;
+import com.qwikride.prc.pricing.rule.EbikeSurchargeHandler;
+import com.qwikride.prc.pricing.rule.PerMinuteHandler;
+import com.qwikride.prc.pricing.selector.PricingPlanSelector;
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Repricing against a real PostgreSQL instance, where the scan streams through
+ * a cursor per time slice.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ RepricingSimulationService.class, PricingEngine.class, PrcConfiguration.class, BaseFeeHandler.class,
+        PerMinuteHandler.class, EbikeSurchargeHandler.class })
+class RepricingSimulationServiceTest {
+    private static final UUID STANDARD_PLAN = UUID.randomUUID();
+    private static final UUID PREMIUM_PLAN = UUID.randomUUID();
+    private static final LocalDateTime JAN = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @MockitoBean
+    private PricingPlanSelector pricingPlanSelector;
+
+    @Autowired
+    private RepricingSimulationService simulationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("delete from ledger_entry_charges");
+        jdbcTemplate.execute("delete from ledger_entries");
+        jdbcTemplate.execute("delete from bike_stations");
+        jdbcTemplate.execute("delete from users");
+    }
+
+    @Test
+    void repricesTripsOfTheCandidatePlanByCityAndTier() {
+        long rider = insertRider("PREMIUM");
+        long montreal = insertStation("1 Rue Sainte-Catherine, Montreal");
+        long toronto = insertStation("1 Queen St, Toronto");
+        // Billed at 1.00 + 0.10 per minute
+        for (int day = 0; day < 60; day++) {
+            insertTrip(STANDARD_PLAN, "Standard", rider, montreal, JAN.plusDays(day), 10, "2.00");
+            insertTrip(STANDARD_PLAN, "Standard", rider, toronto, JAN.plusDays(day).plusHours(1), 20, "3.00");
+        }
+        insertTrip(PREMIUM_PLAN, "Premium", rider, montreal, JAN.plusDays(3), 10, "1.50");
+        insertTrip(STANDARD_PLAN, "Standard", rider, montreal, JAN.plusDays(90), 10, "2.00");
+
+        RepricingSimulationResponse response = simulationService.simulate(new RepricingSimulationRequest(
+                JAN, JAN.plusDays(60), List.of(new RepricingSimulationRequest.Candidate(STANDARD_PLAN,
+                        "Standard at 0.12", new BigDecimal("1.00"), new BigDecimal("0.12"), null))));
+
+        assertEquals(120, response.tripsScanned());
+        RepricingSimulationResponse.CandidateResult result = response.candidates().get(0);
+        assertEquals(120, result.trips());
+        assertEquals(0, new BigDecimal("300.00").compareTo(result.actualRevenue()));
+        // 60 x 0.20 more in Montreal and 60 x 0.40 more elsewhere
+        assertEquals(0, new BigDecimal("36.00").compareTo(result.delta()));
+        assertEquals(2, result.breakdown().size());
+        RepricingSimulationResponse.RevenueDelta elsewhere = result.breakdown().get(0);
+        assertEquals("DEFAULT", elsewhere.cityId());
+        assertEquals(MembershipStatus.PREMIUM, elsewhere.membershipTier());
+        assertEquals(0, new BigDecimal("24.00").compareTo(elsewhere.delta()));
+        assertEquals("MTL", result.breakdown().get(1).cityId());
+    }
+
+    @Test
+    void rangeMustBeOrdered() {
+        RepricingSimulationRequest request = new RepricingSimulationRequest(JAN, JAN, List.of(
+                new RepricingSimulationRequest.Candidate(STANDARD_PLAN, null, BigDecimal.ONE, BigDecimal.ONE, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> simulationService.simulate(request));
+    }
+
+    @Test
+    void slicesCoverTheRangeWithoutGaps() {
+        List<RepricingSimulationService.Slice> slices = RepricingSimulationService.slices(JAN, JAN.plusDays(365), 16);
+
+        assertEquals(16, slices.size());
+        assertEquals(JAN, slices.get(0).from());
+        assertEquals(JAN.plusDays(365), slices.get(15).to());
+        for (int i = 1; i < slices.size(); i++) {
+            assertEquals(slices.get(i - 1).to(), slices.get(i).from());
+        }
+        assertEquals(1, RepricingSimulationService.slices(JAN, JAN.plusNanos(5), 16).size());
+    }
+
+    private long insertRider(String membership) {
+        return jdbcTemplate.queryForObject("insert into users (full_name, address, email, username, password_hash,"
+                + " role, membership_status) values ('Rider', 'Montreal', ?, ?, 'x', 'RIDER', ?) returning id",
+                Long.class, UUID.randomUUID() + "@example.com", UUID.randomUUID().toString(), membership);
+    }
+
+    private long insertStation(String address) {
+        return jdbcTemplate.queryForObject("insert into bike_stations (name, address, capacity, current_bike_count,"
+                + " status) values ('Dock', ?, 10, 0, 'ACTIVE') returning id", Long.class, address);
+    }
+
+    private void insertTrip(UUID planVersionId, String planName, long riderId, long stationId,
+                            LocalDateTime start, int minutes, String total) {
+        jdbcTemplate.update("insert into ledger_entries (rider_id, plan_version_id, plan_name, bike_id,"
+                        + " start_station_id, end_station_id, start_time, end_time, duration_minutes, distance_km,"
+                        + " total, payment_status) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 1.0, ?, 'PENDING')",
+                riderId, planVersionId, planName, UUID.randomUUID(), stationId, stationId, start,
+                start.plusMinutes(minutes), minutes, new BigDecimal(total));
+    }
+}
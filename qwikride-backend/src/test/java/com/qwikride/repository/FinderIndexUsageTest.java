@@ -0,0 +1,195 @@
+package com.qwikride.repository;
+
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN for the SQL behind every repository finder against a seeded,
+ * migrated database and fails when any of them falls back to a sequential
+ * scan. Sequential scans are disabled for the session, so the planner only
+ * picks one when no index can serve the query.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FinderIndexUsageTest {
+    private static final String BIKE_ID = "00000000-0000-0000-0000-000000000007";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("""
+                insert into users (full_name, address, email, username, password_hash, role, membership_status)
+                select 'Rider ' || g, 'Street ' || g, 'rider' || g || '@example.com', 'rider' || g, 'x', 'RIDER', 'NONE'
+                from generate_series(1, 5000) g""");
+        jdbcTemplate.execute("""
+                insert into bikes (id, bike_type, station_id, status, reserved_by_user_id, reservation_expires_at,
+                                   current_user_id)
+                select gen_random_uuid(), 'STANDARD', g % 500,
+                       case g % 10 when 0 then 'RESERVED' when 1 then 'IN_USE' else 'AVAILABLE' end,
+                       case when g % 10 = 0 then g end,
+                       case when g % 10 = 0 then now() + (g % 30) * interval '1 minute' end,
+                       case when g % 10 = 1 then g end
+                from generate_series(1, 20000) g""");
+        jdbcTemplate.execute("""
+                insert into ride_history (user_id, bike_id, start_station_id, end_station_id, start_time, status)
+                select g % 2000, ('00000000-0000-0000-0000-' || lpad((g % 5000)::text, 12, '0'))::uuid,
+                       g % 500, (g + 1) % 500, now() - g * interval '1 minute',
+                       case when g % 50 = 0 then 'IN_PROGRESS' else 'COMPLETED' end
+                from generate_series(1, 20000) g""");
+        jdbcTemplate.execute("""
+                insert into ledger_entries (rider_id, plan_version_id, plan_name, bike_id, start_station_id,
+                                            end_station_id, start_time, end_time, duration_minutes, distance_km,
+                                            total, payment_status)
+                select g % 2000, gen_random_uuid(), 'Standard', gen_random_uuid(), g % 500, (g + 1) % 500,
+                       now() - g * interval '1 minute', now() - g * interval '1 minute' + interval '20 minutes',
+                       20, 3.5, 7.00, case when g % 20 = 0 then 'PENDING' else 'PAID' end
+                from generate_series(1, 20000) g""");
+        jdbcTemplate.execute("""
+                insert into ledger_entry_charges (ledger_entry_id, charge_code, charge_amount)
+                select id, 'BASE', 2.00 from ledger_entries""");
+        jdbcTemplate.execute("""
+                insert into billing_disputes (rider_id, ledger_entry_id, reason, status, created_at)
+                select g % 2000, g, 'Overcharged', case when g % 5 = 0 then 'OPEN' else 'RESOLVED' end,
+                       now() - g * interval '1 hour'
+                from generate_series(1, 5000) g""");
+        jdbcTemplate.execute("""
+                insert into pricing_plan_versions (id, plan_name, base_fee, per_minute_rate, membership_tier, city_id,
+                                                   effective_from, effective_to, published)
+                select gen_random_uuid(), 'Plan ' || (g % 100), 2.00, 0.25,
+                       case when g % 2 = 0 then 'PREMIUM' else 'NONE' end, 'CITY' || (g % 40),
+                       now() - g * interval '1 hour', case when g % 3 = 0 then now() - interval '1 minute' end,
+                       g % 4 <> 0
+                from generate_series(1, 5000) g""");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate users, bikes, ride_history, ledger_entry_charges, ledger_entries, "
+                + "billing_disputes, pricing_plan_versions restart identity");
+    }
+
+    @Test
+    void everyFinderIsServedByAnIndex() {
+        Map<String, String> finders = new LinkedHashMap<>();
+        finders.put("UserRepository.findByUsername", "select * from users where username = 'rider42'");
+        finders.put("UserRepository.findByEmail", "select * from users where email = 'rider42@example.com'");
+
+        finders.put("BikeRepository.findByStationIdAndStatus",
+                "select * from bikes where station_id = 7 and status = 'AVAILABLE'");
+        finders.put("BikeRepository.findByStationId", "select * from bikes where station_id = 7");
+        finders.put("BikeRepository.findByStatus", "select * from bikes where status = 'IN_USE'");
+        finders.put("BikeRepository.findAvailableForClaim",
+                "select * from bikes where station_id = 7 and status = 'AVAILABLE' order by id "
+                        + "fetch first 1 rows only for update skip locked");
+        finders.put("BikeRepository.findByStatusAndReservationExpiresAtBefore",
+                "select * from bikes where status = 'RESERVED' and reservation_expires_at < now()");
+        finders.put("BikeRepository.findReservationExpiries",
+                "select id, reservation_expires_at from bikes where status = 'RESERVED'");
+        finders.put("BikeRepository.findByReservedByUserId", "select * from bikes where reserved_by_user_id = 40");
+        finders.put("BikeRepository.findByCurrentUserId", "select * from bikes where current_user_id = 41");
+        finders.put("FleetListingService.listBikes",
+                "select id, bike_type, station_id, status from bikes where 1 = 1 and id > '" + BIKE_ID + "' "
+                        + "and station_id = 7 and status = 'AVAILABLE' order by id limit 101");
+        finders.put("FleetListingService.streamBikes",
+                "select id, bike_type, station_id, status from bikes where 1 = 1 and id > '" + BIKE_ID + "' "
+                        + "order by id limit 1000");
+
+        finders.put("RideHistoryRepository.findByUserIdOrderByStartTimeDesc",
+                "select * from ride_history where user_id = 12 order by start_time desc");
+        finders.put("RideHistoryRepository.findByUserIdAndStartTimeBetweenOrderByStartTimeDesc",
+                "select * from ride_history where user_id = 12 "
+                        + "and start_time between now() - interval '7 days' and now() order by start_time desc");
+        finders.put("RideHistoryRepository.findByUserIdAndStartStationIdOrderByStartTimeDesc",
+                "select * from ride_history where user_id = 12 and start_station_id = 12 order by start_time desc");
+        finders.put("RideHistoryRepository.findByUserIdAndEndStationIdOrderByStartTimeDesc",
+                "select * from ride_history where user_id = 12 and end_station_id = 13 order by start_time desc");
+        finders.put("RideHistoryRepository.findByBikeIdOrderByStartTimeDesc",
+                "select * from ride_history where bike_id = '" + BIKE_ID + "' order by start_time desc");
+        finders.put("RideHistoryRepository.findAllByOrderByStartTimeDesc",
+                "select * from ride_history order by start_time desc");
+        finders.put("RideHistoryRepository.findByStatus",
+                "select * from ride_history where status = 'IN_PROGRESS'");
+        finders.put("RideHistoryRepository.findFirstByUserIdAndStatusOrderByStartTimeDesc",
+                "select * from ride_history where user_id = 50 and status = 'IN_PROGRESS' "
+                        + "order by start_time desc fetch first 1 rows only");
+
+        finders.put("LedgerEntryRepository.findByRiderIdOrderByStartTimeDesc",
+                "select * from ledger_entries where rider_id = 12 order by start_time desc");
+        finders.put("LedgerEntryRepository.findByRiderAndDateRange",
+                "select * from ledger_entries where rider_id = 12 "
+                        + "and start_time between now() - interval '7 days' and now() order by start_time desc");
+        finders.put("LedgerEntryRepository.findByPaymentStatusOrderByStartTimeDesc",
+                "select * from ledger_entries where payment_status = 'PENDING' order by start_time desc");
+        finders.put("LedgerEntry.charges", "select * from ledger_entry_charges where ledger_entry_id = 12");
+
+        finders.put("DisputeTicketRepository.findByRiderIdOrderByCreatedAtDesc",
+                "select * from billing_disputes where rider_id = 12 order by created_at desc");
+        finders.put("DisputeTicketRepository.findByStatusOrderByCreatedAtAsc",
+                "select * from billing_disputes where status = 'OPEN' order by created_at");
+
+        String active = "published = true and effective_from <= now() "
+                + "and (effective_to is null or effective_to > now())";
+        finders.put("PricingPlanVersionRepository.findActivePlans",
+                "select * from pricing_plan_versions where " + active + " order by effective_from desc");
+        finders.put("PricingPlanVersionRepository.findActivePlansForMembership",
+                "select * from pricing_plan_versions where " + active
+                        + " and membership_tier = 'PREMIUM' order by effective_from desc");
+        finders.put("PricingPlanVersionRepository.findActivePlansForCity",
+                "select * from pricing_plan_versions where " + active
+                        + " and city_id = 'CITY7' order by effective_from desc");
+        finders.put("PricingPlanVersionRepository.findFirstByPublishedTrueOrderByEffectiveFromDesc",
+                "select * from pricing_plan_versions where published = true "
+                        + "order by effective_from desc fetch first 1 rows only");
+        finders.put("PricingPlanVersionRepository.existsByPlanNameAndEffectiveFromAndIdNot",
+                "select id from pricing_plan_versions where plan_name = 'Plan 7' and effective_from = now() "
+                        + "and id <> gen_random_uuid() fetch first 1 rows only");
+
+        List<String> sequentialScans = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> failures = new ArrayList<>();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+                for (Map.Entry<String, String> finder : finders.entrySet()) {
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rows = statement.executeQuery("explain " + finder.getValue())) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    if (plan.toString().contains("Seq Scan")) {
+                        failures.add(finder.getKey() + ":\n" + plan);
+                    }
+                }
+                statement.execute("reset enable_seqscan");
+            }
+            return failures;
+        });
+
+        assertTrue(sequentialScans.isEmpty(), "Finders without a usable index:\n" + String.join("\n", sequentialScans));
+    }
+}
@@ -0,0 +1,287 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.BikeMoveItemDTO;
+import com.qwikride.event.EventBus;
+import com.qwikride.event.EventMetrics;
+import com.qwikride.factory.BikeFactoryRegistry;
+import com.qwikride.model.Bike;
+import com.qwikride.model.BikeConfig;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.model.StandardBike;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stress tests for concurrent bike operations. Runs against a real PostgreSQL
+ * instance so the conditional updates and row locks behave as they do in
+ * production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ BikeService.class, EventBus.class, EventMetrics.class, StationInventoryIndex.class, FleetChangeLog.class })
+class BikeServiceConcurrencyTest {
+    private static final int THREADS = 64;
+
+    @MockitoBean
+    private BikeLockCommandDispatcher bikeLockCommandDispatcher;
+
+    @MockitoBean
+    private BikeFactoryRegistry bikeFactoryRegistry;
+
+    @MockitoBean
+    private TelemetryIngestionService telemetryIngestionService;
+
+    @Autowired
+    private BikeService bikeService;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private BikeStationRepository bikeStationRepository;
+
+    @AfterEach
+    void cleanUp() {
+        bikeRepository.deleteAll();
+        bikeStationRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentReturnsKeepStationCountExact() throws Exception {
+        BikeStation station = saveStation("Busy Dock", 200, 0);
+        List<Bike> bikes = saveBikesInUse(80);
+
+        List<Boolean> results = returnConcurrently(bikes, station.getId());
+
+        assertEquals(80, results.stream().filter(Boolean::booleanValue).count());
+        assertEquals(80, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(80, bikeRepository.findByStationIdAndStatus(station.getId(), BikeStatus.AVAILABLE).size());
+    }
+
+    @Test
+    void concurrentReturnsNeverOverfillStation() throws Exception {
+        BikeStation station = saveStation("Small Dock", 50, 0);
+        List<Bike> bikes = saveBikesInUse(THREADS);
+
+        List<Boolean> results = returnConcurrently(bikes, station.getId());
+
+        long accepted = results.stream().filter(Boolean::booleanValue).count();
+        assertEquals(50, accepted);
+        assertEquals(50, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(50, bikeRepository.findByStationIdAndStatus(station.getId(), BikeStatus.AVAILABLE).size());
+    }
+
+    @Test
+    void countDeltaRejectsNegativeCounts() {
+        BikeStation station = saveStation("Empty Dock", 10, 0);
+
+        assertTrue(bikeStationRepository.tryAdjustBikeCount(station.getId(), 1));
+        assertTrue(bikeStationRepository.tryAdjustBikeCount(station.getId(), -1));
+        assertFalse(bikeStationRepository.tryAdjustBikeCount(station.getId(), -1));
+        assertEquals(0, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+    }
+
+    @Test
+    void concurrentReservationsNeverShareABike() throws Exception {
+        BikeStation station = saveStation("Rush Hour Dock", 100, 50);
+        saveAvailableBikes(station.getId(), 50);
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long userId = 5000L + i;
+            tasks.add(() -> bikeService.reserveBike(station.getId(), userId, 15) != null);
+        }
+        List<Boolean> results = runConcurrently(tasks);
+
+        List<Bike> reserved = bikeRepository.findByStationIdAndStatus(station.getId(), BikeStatus.RESERVED);
+        assertEquals(50, results.stream().filter(Boolean::booleanValue).count());
+        assertEquals(50, reserved.size());
+        assertEquals(50, reserved.stream().map(Bike::getReservedByUserId).distinct().count());
+        assertTrue(bikeRepository.findByStationIdAndStatus(station.getId(), BikeStatus.AVAILABLE).isEmpty());
+        assertEquals(0, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+    }
+
+    @Test
+    void concurrentReservationsBySameRiderYieldOneReservation() throws Exception {
+        BikeStation station = saveStation("Double Tap Dock", 60, 40);
+        saveAvailableBikes(station.getId(), 40);
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            tasks.add(() -> bikeService.reserveBike(station.getId(), 42L, 15) != null);
+        }
+        List<Boolean> results = runConcurrently(tasks);
+
+        assertEquals(1, results.stream().filter(Boolean::booleanValue).count());
+        assertTrue(bikeRepository.findByReservedByUserId(42L).isPresent());
+        assertEquals(39, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+    }
+
+    @Test
+    void batchMoveNetsStationCountsAndRollsBackWhenFull() {
+        BikeStation north = saveStation("North Dock", 10, 3);
+        BikeStation south = saveStation("South Dock", 3, 3);
+        List<Bike> northBikes = saveAvailableBikes(north.getId(), 3);
+        List<Bike> southBikes = saveAvailableBikes(south.getId(), 3);
+
+        // South is full, but one bike leaves for every bike that arrives
+        bikeService.moveBikes(List.of(
+                new BikeMoveItemDTO(northBikes.get(0).getId(), south.getId()),
+                new BikeMoveItemDTO(southBikes.get(0).getId(), north.getId()),
+                new BikeMoveItemDTO(southBikes.get(1).getId(), north.getId())), 1L);
+
+        assertEquals(4, bikeStationRepository.findById(north.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(2, bikeStationRepository.findById(south.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(south.getId(), bikeRepository.findById(northBikes.get(0).getId()).orElseThrow().getStationId());
+
+        List<BikeMoveItemDTO> overflow = List.of(
+                new BikeMoveItemDTO(northBikes.get(1).getId(), south.getId()),
+                new BikeMoveItemDTO(northBikes.get(2).getId(), south.getId()));
+        assertThrows(IllegalStateException.class, () -> bikeService.moveBikes(overflow, 1L));
+
+        assertEquals(4, bikeStationRepository.findById(north.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(2, bikeStationRepository.findById(south.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(north.getId(), bikeRepository.findById(northBikes.get(1).getId()).orElseThrow().getStationId());
+    }
+
+    @Test
+    void bikeCanBeCreatedWithoutAStation() {
+        BikeConfig config = new BikeConfig();
+        config.setType(BikeType.STANDARD);
+        when(bikeFactoryRegistry.getFactory(BikeType.STANDARD)).thenReturn(c -> new StandardBike(c.getStationId()));
+
+        Bike bike = bikeService.createBike(config);
+
+        assertNull(bikeRepository.findById(bike.getId()).orElseThrow().getStationId());
+    }
+
+    @Test
+    void moveRollsBackWhenTheOriginCountIsOutOfSync() {
+        BikeStation north = saveStation("North Dock", 10, 0);
+        BikeStation south = saveStation("South Dock", 10, 0);
+        Bike bike = saveAvailableBikes(north.getId(), 1).get(0);
+
+        assertThrows(IllegalStateException.class, () -> bikeService.moveBike(bike.getId(), south.getId(), 1L));
+
+        assertEquals(0, bikeStationRepository.findById(south.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(north.getId(), bikeRepository.findById(bike.getId()).orElseThrow().getStationId());
+    }
+
+    @Test
+    void batchMoveRollsBackWhenAnOriginCountIsOutOfSync() {
+        BikeStation north = saveStation("North Dock", 10, 1);
+        BikeStation south = saveStation("South Dock", 10, 0);
+        List<Bike> northBikes = saveAvailableBikes(north.getId(), 2);
+
+        List<BikeMoveItemDTO> moves = List.of(
+                new BikeMoveItemDTO(northBikes.get(0).getId(), south.getId()),
+                new BikeMoveItemDTO(northBikes.get(1).getId(), south.getId()));
+        assertThrows(IllegalStateException.class, () -> bikeService.moveBikes(moves, 1L));
+
+        assertEquals(1, bikeStationRepository.findById(north.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(0, bikeStationRepository.findById(south.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(north.getId(), bikeRepository.findById(northBikes.get(0).getId()).orElseThrow().getStationId());
+    }
+
+    private List<Boolean> returnConcurrently(List<Bike> bikes, Long stationId) throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Bike bike : bikes) {
+            tasks.add(() -> bikeService.returnBike(bike.getId(), stationId, bike.getCurrentUserId(), 12, 3.5) != null);
+        }
+        return runConcurrently(tasks);
+    }
+
+    /**
+     * Releases all tasks at once; a task that fails with {@link IllegalStateException}
+     * (the service's rejection signal) counts as {@code false}.
+     */
+    private List<Boolean> runConcurrently(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return task.call();
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BikeStation saveStation(String name, int capacity, int currentBikeCount) {
+        BikeStation station = new BikeStation();
+        station.setName(name);
+        station.setAddress("1 Test St");
+        station.setCapacity(capacity);
+        station.setCurrentBikeCount(currentBikeCount);
+        station.setStatus(BikeStation.StationStatus.ACTIVE);
+        return bikeStationRepository.save(station);
+    }
+
+    private List<Bike> saveAvailableBikes(Long stationId, int count) {
+        List<Bike> bikes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bikes.add(new StandardBike(stationId));
+        }
+        return bikeRepository.saveAll(bikes);
+    }
+
+    private List<Bike> saveBikesInUse(int count) {
+        List<Bike> bikes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Bike bike = new StandardBike(null);
+            bike.setStatus(BikeStatus.IN_USE);
+            bike.setCurrentUserId(1000L + i);
+            bikes.add(bike);
+        }
+        return bikeRepository.saveAll(bikes);
+    }
+}
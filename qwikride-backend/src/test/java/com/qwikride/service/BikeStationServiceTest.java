@@ -23,12 +23,18 @@ class BikeStationServiceTest {
     @Mock
     private org.springframework.context.ApplicationEventPublisher publisher;
 
+    @Mock
+    private StationGeoIndex stationGeoIndex;
+
+    @Mock
+    private FleetChangeLog fleetChangeLog;
+
     @InjectMocks
     private BikeStationService service;
 
     @Test
     void setStatus_UpdatesStatus() {
-        BikeStation s = new BikeStation(1L, "A", "addr", 10, 3, BikeStation.StationStatus.ACTIVE, null, null);
+        BikeStation s = station(1L, 10, 3, BikeStation.StationStatus.ACTIVE);
         when(repository.findById(1L)).thenReturn(Optional.of(s));
         when(repository.save(any(BikeStation.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -40,9 +46,20 @@ class BikeStationServiceTest {
 
     @Test
     void ensureActive_ThrowsWhenOutOfService() {
-        BikeStation s = new BikeStation(2L, "B", "addr", 5, 1, BikeStation.StationStatus.OUT_OF_SERVICE, null, null);
+        BikeStation s = station(2L, 5, 1, BikeStation.StationStatus.OUT_OF_SERVICE);
         when(repository.findById(2L)).thenReturn(Optional.of(s));
 
         assertThrows(StationOutOfServiceException.class, () -> service.ensureActive(2L));
     }
+
+    private static BikeStation station(Long id, int capacity, int bikes, BikeStation.StationStatus status) {
+        BikeStation station = new BikeStation();
+        station.setId(id);
+        station.setName("Station " + id);
+        station.setAddress("addr");
+        station.setCapacity(capacity);
+        station.setCurrentBikeCount(bikes);
+        station.setStatus(status);
+        return station;
+    }
 }
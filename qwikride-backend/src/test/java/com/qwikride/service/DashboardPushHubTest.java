@@ -0,0 +1,156 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.StationInventoryDTO;
+import com.qwikride.dto.StationUpdateDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardPushHubTest {
+    @Mock
+    private StationInventoryIndex stationInventoryIndex;
+
+    private DashboardPushHub hub;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stationInventoryIndex.getInventory(anyLong())).thenAnswer(invocation -> StationInventoryDTO
+                .builder().stationId(invocation.getArgument(0)).available(3).build());
+        hub = new DashboardPushHub(stationInventoryIndex, 4, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void burstAtOneStationBecomesOneUpdate() throws Exception {
+        RecordingEmitter client = new RecordingEmitter(null);
+        hub.register(client, null);
+
+        for (int i = 0; i < 50; i++) {
+            hub.stationChanged(1L);
+        }
+        hub.stationChanged(2L);
+        hub.flush();
+
+        List<StationUpdateDTO> updates = client.awaitUpdates(2);
+        StationUpdateDTO station1 = updates.stream().filter(u -> u.getStationId() == 1L).findFirst().orElseThrow();
+        assertEquals(50, station1.getCoalescedEvents());
+        assertEquals(3, station1.getAvailable());
+
+        hub.flush();
+        Thread.sleep(100);
+        assertEquals(2, client.updates.size());
+    }
+
+    @Test
+    void clientOnlyReceivesItsStations() throws Exception {
+        RecordingEmitter client = new RecordingEmitter(null);
+        hub.register(client, Set.of(2L));
+
+        hub.stationChanged(1L);
+        hub.stationChanged(2L);
+        hub.flush();
+
+        assertEquals(2L, client.awaitUpdates(1).get(0).getStationId());
+        Thread.sleep(100);
+        assertEquals(1, client.updates.size());
+    }
+
+    @Test
+    void slowClientIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stuck);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        hub.register(slow, null);
+        hub.register(fast, null);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            hub.stationChanged((long) i);
+            hub.flush();
+            fast.awaitUpdates(i + 1);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 5_000);
+
+        assertEquals(1, hub.clientCount());
+        assertEquals(10, fast.updates.size());
+
+        stuck.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectsConnectionsBeyondLimit() {
+        for (int i = 0; i < 3; i++) {
+            hub.register(new RecordingEmitter(null), null);
+        }
+        assertThrows(IllegalStateException.class, () -> hub.register(new RecordingEmitter(null), null));
+    }
+
+    /**
+     * Captures sent updates instead of writing to a response; optionally blocks
+     * every send until {@code release} opens, like a client that stopped reading.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final List<StationUpdateDTO> updates = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof StationUpdateDTO update) {
+                    updates.add(update);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        List<StationUpdateDTO> awaitUpdates(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (updates.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, updates.size());
+            return updates;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.qwikride.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FleetChangeLogTest {
+    private final FleetChangeLog changeLog = new FleetChangeLog();
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deltaContainsOnlyEntitiesChangedAfterVersion() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        changeLog.bikeChanged(first);
+        changeLog.stationChanged(1L);
+        long seen = changeLog.currentVersion();
+
+        changeLog.bikeChanged(second);
+        changeLog.stationsChanged(List.of(2L, 3L));
+
+        FleetChangeLog.Delta delta = changeLog.changesSince(seen);
+        assertFalse(delta.fullResync());
+        assertEquals(seen + 2, delta.version());
+        assertEquals(Set.of(second), delta.bikeIds());
+        assertEquals(Set.of(2L, 3L), delta.stationIds());
+
+        FleetChangeLog.Delta idle = changeLog.changesSince(delta.version());
+        assertTrue(idle.bikeIds().isEmpty());
+        assertTrue(idle.stationIds().isEmpty());
+    }
+
+    @Test
+    void versionFromBeforeStartRequiresFullResync() {
+        assertTrue(changeLog.changesSince(0).fullResync());
+        assertFalse(changeLog.changesSince(changeLog.currentVersion()).fullResync());
+    }
+
+    @Test
+    void transactionalChangesAreStampedOnceOnCommit() {
+        long before = changeLog.currentVersion();
+        UUID bikeId = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        changeLog.bikeChanged(bikeId);
+        changeLog.stationChanged(7L);
+        changeLog.stationChanged(8L);
+        assertEquals(before, changeLog.currentVersion());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(before + 1, changeLog.currentVersion());
+        assertEquals(Set.of(bikeId), changeLog.changesSince(before).bikeIds());
+        assertEquals(Set.of(7L, 8L), changeLog.changesSince(before).stationIds());
+    }
+
+    @Test
+    void rolledBackChangesAreNeverStamped() {
+        long before = changeLog.currentVersion();
+
+        TransactionSynchronizationManager.initSynchronization();
+        changeLog.bikeChanged(UUID.randomUUID());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(before, changeLog.currentVersion());
+        assertTrue(changeLog.changesSince(before).bikeIds().isEmpty());
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,128 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.BikeListingFilterDTO;
+import com.qwikride.dto.BikeListingPageDTO;
+import com.qwikride.dto.BikeSummaryDTO;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(FleetListingService.class)
+class FleetListingServiceTest {
+    private static final int FLEET_SIZE = 2500;
+
+    @Autowired
+    private FleetListingService fleetListingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // Every third bike is an e-bike, battery 0..99; station 1..10; every fifth bike is in use
+        jdbcTemplate.update("""
+                insert into bikes (id, bike_type, station_id, status, battery_level, lock_state)
+                select gen_random_uuid(),
+                       case when g % 3 = 0 then 'E_BIKE' else 'STANDARD' end,
+                       case when g % 5 = 0 then null else g % 10 + 1 end,
+                       case when g % 5 = 0 then 'IN_USE' else 'AVAILABLE' end,
+                       case when g % 3 = 0 then g % 100 end,
+                       case when g % 5 = 0 then 'UNLOCKED' else 'LOCKED' end
+                from generate_series(1, ?) g""", FLEET_SIZE);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate bikes");
+    }
+
+    @Test
+    void keysetPagesCoverFleetExactlyOnce() {
+        Set<UUID> seen = new HashSet<>();
+        UUID cursor = null;
+        int pages = 0;
+        do {
+            BikeListingPageDTO page = fleetListingService.listBikes(
+                    BikeListingFilterDTO.builder().after(cursor).limit(300).build());
+            for (BikeSummaryDTO bike : page.getBikes()) {
+                assertTrue(seen.add(bike.getId()), "Bike listed twice: " + bike.getId());
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(FLEET_SIZE, seen.size());
+        assertEquals(9, pages);
+    }
+
+    @Test
+    void filtersAreAppliedInTheDatabase() {
+        BikeListingFilterDTO filter = BikeListingFilterDTO.builder()
+                .stationId(4L).status(BikeStatus.AVAILABLE).type(BikeType.E_BIKE)
+                .minBattery(20).maxBattery(60).limit(1000)
+                .build();
+
+        BikeListingPageDTO page = fleetListingService.listBikes(filter);
+
+        Integer expected = jdbcTemplate.queryForObject("select count(*) from bikes where station_id = 4 "
+                + "and status = 'AVAILABLE' and bike_type = 'E_BIKE' and battery_level between 20 and 60",
+                Integer.class);
+        assertEquals(expected, page.getBikes().size());
+        assertTrue(expected > 0);
+        assertNull(page.getNextCursor());
+        for (BikeSummaryDTO bike : page.getBikes()) {
+            assertEquals(4L, bike.getStationId());
+            assertEquals(BikeStatus.AVAILABLE, bike.getStatus());
+            assertEquals(BikeType.E_BIKE, bike.getType());
+            assertTrue(bike.getBatteryLevel() >= 20 && bike.getBatteryLevel() <= 60);
+        }
+    }
+
+    @Test
+    void streamWalksEveryPageOfMatchingBikes() {
+        Set<UUID> streamed = new HashSet<>();
+
+        long all = fleetListingService.streamBikes(BikeListingFilterDTO.builder().build(),
+                bike -> streamed.add(bike.getId()));
+        long inUse = fleetListingService.streamBikes(
+                BikeListingFilterDTO.builder().status(BikeStatus.IN_USE).build(), bike -> { });
+
+        assertEquals(FLEET_SIZE, all);
+        assertEquals(FLEET_SIZE, streamed.size());
+        assertEquals(FLEET_SIZE / 5, inUse);
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> fleetListingService.listBikes(
+                BikeListingFilterDTO.builder().limit(5000).build()));
+        assertThrows(IllegalArgumentException.class, () -> fleetListingService.listBikes(
+                BikeListingFilterDTO.builder().minBattery(80).maxBattery(20).build()));
+    }
+}
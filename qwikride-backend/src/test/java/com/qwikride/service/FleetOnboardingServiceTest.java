@@ -0,0 +1,154 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.BulkOnboardingResultDTO;
+import com.qwikride.dto.BulkRowResultDTO;
+import com.qwikride.factory.BikeFactoryRegistry;
+import com.qwikride.factory.EBikeFactory;
+import com.qwikride.factory.StandardBikeFactory;
+import com.qwikride.model.BikeConfig;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Bulk onboarding against a real PostgreSQL instance, so the batched inserts
+ * and the aggregated, capacity-checked count updates run as in production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ FleetOnboardingService.class, BikeFactoryRegistry.class, StandardBikeFactory.class, EBikeFactory.class,
+        StationInventoryIndex.class, StationGeoIndex.class, FleetChangeLog.class })
+class FleetOnboardingServiceTest {
+    @MockitoBean
+    private TelemetryIngestionService telemetryIngestionService;
+
+    @Autowired
+    private FleetOnboardingService onboardingService;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private BikeStationRepository bikeStationRepository;
+
+    @AfterEach
+    void cleanUp() {
+        bikeRepository.deleteAll();
+        bikeStationRepository.deleteAll();
+    }
+
+    @Test
+    void rowsBeyondStationCapacityAreRejectedAndTheCountIsAdjustedOnce() {
+        BikeStation station = saveStation("Small Dock", 3, 1);
+        List<BikeConfig> configs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            configs.add(bikeConfig(BikeType.STANDARD, station.getId()));
+        }
+
+        BulkOnboardingResultDTO result = onboardingService.onboardBikes(configs);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertEquals(BulkRowResultDTO.RowStatus.CREATED, result.getRows().get(1).getStatus());
+        assertEquals("Station is full", result.getRows().get(2).getError());
+        assertEquals(4, result.getRows().get(3).getRow());
+        assertEquals(3, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(2, bikeRepository.count());
+    }
+
+    @Test
+    void mixedBikeCsvReportsEveryRow() {
+        BikeStation station = saveStation("Main Dock", 10, 0);
+        String csv = "type,station_id\n"
+                + "STANDARD," + station.getId() + "\n"
+                + "scooter," + station.getId() + "\n"
+                + "E_BIKE,999999\n"
+                + "\n"
+                + "e_bike," + station.getId() + "\n"
+                + "STANDARD,\n";
+
+        BulkOnboardingResultDTO result = onboardingService.onboardBikesCsv(new StringReader(csv));
+
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getCreated());
+        List<BulkRowResultDTO> rows = result.getRows();
+        assertEquals(BulkRowResultDTO.RowStatus.CREATED, rows.get(0).getStatus());
+        assertEquals("Bike type is required", rows.get(1).getError());
+        assertEquals("Station not found", rows.get(2).getError());
+        assertEquals(BulkRowResultDTO.RowStatus.CREATED, rows.get(3).getStatus());
+        assertEquals(4, rows.get(3).getRow());
+        assertEquals("Station ID is required", rows.get(4).getError());
+        assertEquals(2, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+    }
+
+    @Test
+    void firstStationRowWithoutCoordinatesIsNotMistakenForAHeader() {
+        String csv = "Old Port,1 Rue de la Commune,12,,\n"
+                + "Plateau,2 Avenue du Mont-Royal,8,45.52,-73.58\n"
+                + "Nowhere,3 Rue Nulle,5,91,0\n";
+
+        BulkOnboardingResultDTO result = onboardingService.onboardStationsCsv(new StringReader(csv));
+
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getCreated());
+        assertEquals("Coordinates are out of range", result.getRows().get(2).getError());
+        BikeStation oldPort = bikeStationRepository
+                .findById(Long.valueOf(result.getRows().get(0).getId())).orElseThrow();
+        assertEquals("Old Port", oldPort.getName());
+        assertNull(oldPort.getLatitude());
+        assertEquals(0, oldPort.getCurrentBikeCount());
+    }
+
+    @Test
+    void stationCsvHeaderIsSkipped() {
+        String csv = "Name,Address,Capacity\nDowntown,4 Rue Peel,20\n";
+
+        BulkOnboardingResultDTO result = onboardingService.onboardStationsCsv(new StringReader(csv));
+
+        assertEquals(1, result.getTotal());
+        assertEquals(1, result.getRows().get(0).getRow());
+        assertEquals(1, bikeStationRepository.count());
+    }
+
+    private BikeStation saveStation(String name, int capacity, int currentBikeCount) {
+        BikeStation station = new BikeStation();
+        station.setName(name);
+        station.setAddress("1 Test St");
+        station.setCapacity(capacity);
+        station.setCurrentBikeCount(currentBikeCount);
+        station.setStatus(BikeStation.StationStatus.ACTIVE);
+        return bikeStationRepository.save(station);
+    }
+
+    private static BikeConfig bikeConfig(BikeType type, Long stationId) {
+        BikeConfig config = new BikeConfig();
+        config.setType(type);
+        config.setStationId(stationId);
+        return config;
+    }
+}
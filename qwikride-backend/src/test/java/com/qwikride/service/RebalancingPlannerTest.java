@@ -0,0 +1,129 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.RebalancingPlanDTO;
+import com.qwikride.dto.RebalancingPlanRequestDTO;
+import com.qwikride.dto.RebalancingTransferDTO;
+import com.qwikride.model.BikeStation;
+import com.qwikride.repository.BikeStationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class RebalancingPlannerTest {
+    @Mock
+    private BikeStationRepository bikeStationRepository;
+
+    @Mock
+    private StationInventoryIndex stationInventoryIndex;
+
+    @Mock
+    private BikeService bikeService;
+
+    @InjectMocks
+    private RebalancingPlanner planner;
+
+    @Test
+    void pairsLargestSurplusWithLargestDeficitInTruckLoads() {
+        List<BikeStation> stations = List.of(
+                station(1L, 20, 18, BikeStation.StationStatus.ACTIVE),
+                station(2L, 20, 2, BikeStation.StationStatus.ACTIVE),
+                station(3L, 20, 10, BikeStation.StationStatus.ACTIVE));
+        Map<Long, Integer> available = Map.of(1L, 18, 2L, 2, 3L, 10);
+
+        RebalancingPlanDTO plan = planner.plan(stations, available, request(0.5, 5, null));
+
+        assertEquals(8, plan.getBikesMoved());
+        assertEquals(List.of(
+                new RebalancingTransferDTO(1L, 2L, 5),
+                new RebalancingTransferDTO(1L, 2L, 3)), plan.getTransfers());
+        assertEquals(0, plan.getUnmetDemand());
+    }
+
+    @Test
+    void onlyAvailableBikesAreDonatedAndOutOfServiceStationsAreEmptied() {
+        List<BikeStation> stations = List.of(
+                station(1L, 10, 10, BikeStation.StationStatus.ACTIVE),
+                station(2L, 10, 4, BikeStation.StationStatus.OUT_OF_SERVICE),
+                station(3L, 20, 0, BikeStation.StationStatus.ACTIVE));
+        // Station 1 has reserved bikes, only two of its five surplus bikes can move
+        Map<Long, Integer> available = Map.of(1L, 2, 2L, 4);
+
+        RebalancingPlanDTO plan = planner.plan(stations, available, request(0.5, 10, null));
+
+        assertEquals(6, plan.getBikesMoved());
+        assertEquals(4, plan.getUnmetDemand());
+    }
+
+    @Test
+    void respectsBikeBudget() {
+        List<BikeStation> stations = List.of(
+                station(1L, 40, 40, BikeStation.StationStatus.ACTIVE),
+                station(2L, 40, 0, BikeStation.StationStatus.ACTIVE));
+
+        RebalancingPlanDTO plan = planner.plan(stations, Map.of(1L, 40), request(0.5, 6, 9));
+
+        assertEquals(9, plan.getBikesMoved());
+        assertEquals(2, plan.getTruckLoads());
+        assertEquals(11, plan.getUnmetDemand());
+    }
+
+    @Test
+    void plansTenThousandStationsWithoutOvershooting() {
+        Random random = new Random(42);
+        List<BikeStation> stations = new ArrayList<>();
+        Map<Long, Integer> available = new HashMap<>();
+        for (long id = 1; id <= 10_000; id++) {
+            int capacity = 10 + random.nextInt(40);
+            int count = random.nextInt(capacity + 1);
+            stations.add(station(id, capacity, count, BikeStation.StationStatus.ACTIVE));
+            available.put(id, count);
+        }
+
+        RebalancingPlanDTO plan = planner.plan(stations, available, request(0.6, 12, null));
+
+        Map<Long, Integer> after = new HashMap<>();
+        stations.forEach(station -> after.put(station.getId(), station.getCurrentBikeCount()));
+        for (RebalancingTransferDTO transfer : plan.getTransfers()) {
+            assertTrue(transfer.getBikeCount() > 0 && transfer.getBikeCount() <= 12);
+            after.merge(transfer.getFromStationId(), -transfer.getBikeCount(), Integer::sum);
+            after.merge(transfer.getToStationId(), transfer.getBikeCount(), Integer::sum);
+        }
+        for (BikeStation station : stations) {
+            int target = (int) Math.round(station.getCapacity() * 0.6);
+            int before = station.getCurrentBikeCount();
+            int now = after.get(station.getId());
+            // Nobody overshoots: donors stay at or above target, receivers at or below it
+            assertTrue(before >= target ? now >= target : now <= target);
+        }
+    }
+
+    private static RebalancingPlanRequestDTO request(double ratio, int truckCapacity, Integer maxBikes) {
+        return RebalancingPlanRequestDTO.builder()
+                .targetFillRatio(ratio)
+                .truckCapacity(truckCapacity)
+                .maxBikes(maxBikes)
+                .build();
+    }
+
+    private static BikeStation station(Long id, int capacity, int count, BikeStation.StationStatus status) {
+        BikeStation station = new BikeStation();
+        station.setId(id);
+        station.setName("Station " + id);
+        station.setCapacity(capacity);
+        station.setCurrentBikeCount(count);
+        station.setStatus(status);
+        return station;
+    }
+}
@@ -0,0 +1,153 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.NearbyStationDTO;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.model.StandardBike;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StationGeoIndexTest {
+    private static final int STATIONS = 20_000;
+
+    @Mock
+    private BikeRepository bikeRepository;
+
+    @Mock
+    private BikeStationRepository bikeStationRepository;
+
+    private final List<BikeStation> stations = new ArrayList<>();
+    private StationInventoryIndex inventoryIndex;
+    private StationGeoIndex geoIndex;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        List<BikeRepository.InventoryRow> rows = new ArrayList<>();
+        for (long id = 1; id <= STATIONS; id++) {
+            BikeStation station = station(id, 45.40 + random.nextDouble() * 0.30, -73.80 + random.nextDouble() * 0.40,
+                    id % 7 == 0 ? BikeStation.StationStatus.OUT_OF_SERVICE : BikeStation.StationStatus.ACTIVE);
+            stations.add(station);
+            rows.add(row(id, id % 3 == 0 ? BikeType.E_BIKE : BikeType.STANDARD));
+        }
+        when(bikeRepository.findInventoryRows()).thenReturn(rows);
+        when(bikeStationRepository.findAll()).thenReturn(stations);
+
+        inventoryIndex = new StationInventoryIndex(bikeRepository);
+        inventoryIndex.rebuild();
+        geoIndex = new StationGeoIndex(bikeStationRepository, inventoryIndex);
+        geoIndex.rebuild();
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            double latitude = 45.40 + random.nextDouble() * 0.30;
+            double longitude = -73.80 + random.nextDouble() * 0.40;
+
+            List<NearbyStationDTO> nearby = geoIndex.nearby(latitude, longitude, 5, 5_000, BikeType.E_BIKE);
+
+            List<Long> expected = stations.stream()
+                    .filter(s -> s.getStatus() == BikeStation.StationStatus.ACTIVE && s.getId() % 3 == 0)
+                    .sorted(Comparator.comparingDouble(s -> StationGeoIndex.distanceMeters(latitude, longitude,
+                            s.getLatitude(), s.getLongitude())))
+                    .limit(5)
+                    .map(BikeStation::getId)
+                    .toList();
+            assertEquals(expected, nearby.stream().map(NearbyStationDTO::getStationId).toList());
+        }
+    }
+
+    @Test
+    void radiusLimitsResults() {
+        List<NearbyStationDTO> nearby = geoIndex.nearby(45.55, -73.60, 10_000, 300, null);
+
+        long expected = stations.stream()
+                .filter(s -> s.getStatus() == BikeStation.StationStatus.ACTIVE)
+                .filter(s -> StationGeoIndex.distanceMeters(45.55, -73.60, s.getLatitude(), s.getLongitude()) <= 300)
+                .count();
+        assertEquals(expected, nearby.size());
+        assertTrue(nearby.stream().allMatch(s -> s.getDistanceMeters() <= 300));
+    }
+
+    @Test
+    void reflectsStationChangesIncrementally() {
+        BikeStation added = station(99_999L, 45.5500, -73.6000, BikeStation.StationStatus.ACTIVE);
+        geoIndex.upsert(added);
+        trackAvailableBike(added.getId());
+        assertEquals(99_999L, geoIndex.nearby(45.5500, -73.6000, 1, 1_000, null).get(0).getStationId());
+
+        added.setStatus(BikeStation.StationStatus.OUT_OF_SERVICE);
+        geoIndex.upsert(added);
+        assertTrue(geoIndex.nearby(45.5500, -73.6000, 1, 1_000, null).stream()
+                .noneMatch(s -> s.getStationId() == 99_999L));
+
+        added.setStatus(BikeStation.StationStatus.ACTIVE);
+        added.setLatitude(45.4100);
+        geoIndex.upsert(added);
+        assertEquals(99_999L, geoIndex.nearby(45.4100, -73.6000, 1, 1_000, null).get(0).getStationId());
+
+        geoIndex.remove(added.getId());
+        assertEquals(STATIONS, geoIndex.size());
+    }
+
+    private void trackAvailableBike(Long stationId) {
+        StandardBike bike = new StandardBike(stationId);
+        bike.setId(UUID.randomUUID());
+        inventoryIndex.track(bike);
+    }
+
+    private static BikeStation station(Long id, double latitude, double longitude, BikeStation.StationStatus status) {
+        BikeStation station = new BikeStation();
+        station.setId(id);
+        station.setName("Station " + id);
+        station.setCapacity(20);
+        station.setLatitude(latitude);
+        station.setLongitude(longitude);
+        station.setStatus(status);
+        return station;
+    }
+
+    private static BikeRepository.InventoryRow row(Long stationId, BikeType type) {
+        UUID id = UUID.randomUUID();
+        return new BikeRepository.InventoryRow() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Long getStationId() {
+                return stationId;
+            }
+
+            @Override
+            public BikeType getBikeType() {
+                return type;
+            }
+
+            @Override
+            public BikeStatus getStatus() {
+                return BikeStatus.AVAILABLE;
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.StationInventoryDTO;
+import com.qwikride.event.BikeMovedEvent;
+import com.qwikride.event.BikeReservedEvent;
+import com.qwikride.event.ReservationExpiredEvent;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.event.TripStartedEvent;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StationInventoryIndexTest {
+    @Mock
+    private BikeRepository bikeRepository;
+
+    @InjectMocks
+    private StationInventoryIndex index;
+
+    private final UUID ebike = UUID.randomUUID();
+    private final UUID standard = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(bikeRepository.findInventoryRows()).thenReturn(List.of(
+                row(ebike, 1L, BikeType.E_BIKE, BikeStatus.AVAILABLE),
+                row(standard, 1L, BikeType.STANDARD, BikeStatus.AVAILABLE)));
+        index.rebuild();
+    }
+
+    @Test
+    void reservationAndTripMoveBikesBetweenBuckets() {
+        index.onEvent(new BikeReservedEvent(ebike, 7L, 1L));
+        StationInventoryDTO afterReserve = index.getInventory(1L);
+        assertEquals(1, afterReserve.getAvailable());
+        assertEquals(1, afterReserve.getReserved());
+        assertTrue(afterReserve.getAvailableBikeIds().get(BikeType.E_BIKE).isEmpty());
+
+        index.onEvent(new TripStartedEvent(ebike, 7L, 1L));
+        assertEquals(1, index.getInventory(1L).getInUse());
+        assertEquals(0, index.getInventory(1L).getReserved());
+
+        index.onEvent(new TripEndedEvent(ebike, 7L, 2L, 12, 3.0, 0.0));
+        assertEquals(0, index.getInventory(1L).getInUse());
+        assertEquals(1, index.getInventory(2L).getAvailable());
+        assertTrue(index.getInventory(2L).getAvailableBikeIds().get(BikeType.E_BIKE).contains(ebike));
+    }
+
+    @Test
+    void expiryAndMovesKeepCountsConsistent() {
+        index.onEvent(new BikeReservedEvent(standard, 9L, 1L));
+        index.onEvent(new ReservationExpiredEvent(standard, 9L));
+        assertEquals(2, index.availableCount(1L));
+
+        index.onEvent(new BikeMovedEvent(standard, 1L, 3L, 99L));
+        assertEquals(1, index.availableCount(1L));
+        assertEquals(1, index.availableCount(3L));
+        assertTrue(index.availableBikeIds(3L).contains(standard));
+    }
+
+    private static BikeRepository.InventoryRow row(UUID id, Long stationId, BikeType type, BikeStatus status) {
+        return new BikeRepository.InventoryRow() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Long getStationId() {
+                return stationId;
+            }
+
+            @Override
+            public BikeType getBikeType() {
+                return type;
+            }
+
+            @Override
+            public BikeStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.qwikride.service;
+
+import com.qwikride.dto.DistrictOutageDTO;
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventBus;
+import com.qwikride.event.EventMetrics;
+import com.qwikride.event.EventSubscriber;
+import com.qwikride.event.ReservationsCancelledEvent;
+import com.qwikride.factory.BikeFactoryRegistry;
+import com.qwikride.listener.StationStatusListener;
+import com.qwikride.model.Bike;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.StandardBike;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the set-based reservation release against a real PostgreSQL instance.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ StationOutageService.class, StationStatusListener.class, BikeStationService.class, BikeService.class,
+        StationGeoIndex.class, StationInventoryIndex.class, EventBus.class, EventMetrics.class, FleetChangeLog.class })
+class StationOutageServiceTest {
+    @MockitoBean
+    private BikeLockCommandDispatcher bikeLockCommandDispatcher;
+
+    @MockitoBean
+    private BikeFactoryRegistry bikeFactoryRegistry;
+
+    @MockitoBean
+    private TelemetryIngestionService telemetryIngestionService;
+
+    @Autowired
+    private StationOutageService stationOutageService;
+
+    @Autowired
+    private BikeStationService bikeStationService;
+
+    @Autowired
+    private BikeService bikeService;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private BikeStationRepository bikeStationRepository;
+
+    private final List<ReservationsCancelledEvent> published = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void subscribe() {
+        eventBus.subscribe(new EventSubscriber() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                published.add((ReservationsCancelledEvent) event);
+            }
+
+            @Override
+            public Set<Class<? extends DomainEvent>> eventTypes() {
+                return Set.of(ReservationsCancelledEvent.class);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bikeRepository.deleteAll();
+        bikeStationRepository.deleteAll();
+    }
+
+    @Test
+    void stationGoingOutOfServiceReleasesItsReservations() {
+        BikeStation station = saveStation("Closing Dock", "harbour", 3);
+        saveAvailableBikes(station.getId(), 3);
+        bikeService.reserveBike(station.getId(), 11L, 15);
+        bikeService.reserveBike(station.getId(), 12L, 15);
+
+        bikeStationService.setStatus(station.getId(), BikeStation.StationStatus.OUT_OF_SERVICE);
+
+        assertTrue(bikeRepository.findByStationIdAndStatus(station.getId(), BikeStatus.RESERVED).isEmpty());
+        assertEquals(3, bikeRepository.findByStationIdAndStatus(station.getId(), BikeStatus.AVAILABLE).size());
+        assertTrue(bikeRepository.findByReservedByUserId(11L).isEmpty());
+        assertEquals(3, bikeStationRepository.findById(station.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(BikeStation.StationStatus.OUT_OF_SERVICE,
+                bikeStationRepository.findById(station.getId()).orElseThrow().getStatus());
+        assertEquals(1, published.size());
+        assertEquals(2, published.get(0).getCancellations().size());
+    }
+
+    @Test
+    void districtOfflineReleasesAllStationsInOneEvent() {
+        BikeStation north = saveStation("North Dock", "old-town", 2);
+        BikeStation south = saveStation("South Dock", "old-town", 2);
+        BikeStation elsewhere = saveStation("Far Dock", "harbour", 2);
+        saveAvailableBikes(north.getId(), 2);
+        saveAvailableBikes(south.getId(), 2);
+        saveAvailableBikes(elsewhere.getId(), 2);
+        bikeService.reserveBike(north.getId(), 21L, 15);
+        bikeService.reserveBike(south.getId(), 22L, 15);
+        bikeService.reserveBike(elsewhere.getId(), 23L, 15);
+
+        DistrictOutageDTO outage = stationOutageService.takeDistrictOffline("old-town");
+
+        assertEquals(Set.of(north.getId(), south.getId()), Set.copyOf(outage.getStationIds()));
+        assertEquals(2, outage.getCancelledReservations());
+        assertEquals(1, published.size());
+        assertEquals(2, bikeStationRepository.findById(north.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(2, bikeStationRepository.findById(south.getId()).orElseThrow().getCurrentBikeCount());
+        assertEquals(BikeStation.StationStatus.OUT_OF_SERVICE,
+                bikeStationRepository.findById(south.getId()).orElseThrow().getStatus());
+        assertEquals(BikeStation.StationStatus.ACTIVE,
+                bikeStationRepository.findById(elsewhere.getId()).orElseThrow().getStatus());
+        assertTrue(bikeRepository.findByReservedByUserId(23L).isPresent());
+    }
+
+    @Test
+    void districtIsRequired() {
+        assertThrows(IllegalArgumentException.class, () -> stationOutageService.takeDistrictOffline(" "));
+    }
+
+    private BikeStation saveStation(String name, String district, int currentBikeCount) {
+        BikeStation station = new BikeStation();
+        station.setName(name);
+        station.setAddress("1 Test St");
+        station.setDistrict(district);
+        station.setCapacity(10);
+        station.setCurrentBikeCount(currentBikeCount);
+        station.setStatus(BikeStation.StationStatus.ACTIVE);
+        return bikeStationRepository.save(station);
+    }
+
+    private List<Bike> saveAvailableBikes(Long stationId, int count) {
+        List<Bike> bikes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bikes.add(new StandardBike(stationId));
+        }
+        return bikeRepository.saveAll(bikes);
+    }
+}
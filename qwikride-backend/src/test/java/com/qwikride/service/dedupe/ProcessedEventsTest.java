@@ -0,0 +1,121 @@
+package com.qwikride.service.dedupe;
+
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventSubscriber;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ProcessedEvents.class)
+class ProcessedEventsTest {
+    private final EventSubscriber billing = new Billing();
+    private final EventSubscriber history = new History();
+
+    @Autowired
+    private ProcessedEvents processedEvents;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate processed_events");
+    }
+
+    @Test
+    void eventIsClaimedOncePerConsumer() {
+        TripEndedEvent event = new TripEndedEvent(UUID.randomUUID(), 7L, 2L, 12, 3.5, 4.25);
+
+        assertTrue(claimInTransaction(billing, event));
+        assertFalse(claimInTransaction(billing, event));
+        assertTrue(claimInTransaction(history, event));
+        assertEquals(2, count());
+    }
+
+    @Test
+    void rolledBackClaimCanBeRetried() {
+        TripEndedEvent event = new TripEndedEvent(UUID.randomUUID(), 7L, 2L, 12, 3.5, 4.25);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            assertTrue(processedEvents.claim(billing, event));
+            throw new IllegalStateException("Ledger append failed");
+        }));
+
+        assertEquals(0, count());
+        assertTrue(claimInTransaction(billing, event));
+        assertFalse(processedEvents.claim(billing, event));
+    }
+
+    @Test
+    void claimsAreFoundAfterTheRecentWindowForgetsThem() {
+        ProcessedEvents forgetful = new ProcessedEvents(jdbcTemplate, 1, 14);
+        TripEndedEvent first = new TripEndedEvent(UUID.randomUUID(), 7L, 2L, 12, 3.5, 4.25);
+        TripEndedEvent second = new TripEndedEvent(UUID.randomUUID(), 8L, 2L, 12, 3.5, 4.25);
+
+        assertTrue(forgetful.claim(billing, first));
+        assertTrue(forgetful.claim(billing, second));
+
+        assertFalse(forgetful.claim(billing, first));
+    }
+
+    @Test
+    void purgeKeepsClaimsWithinRetention() {
+        assertTrue(processedEvents.claim(billing, new TripEndedEvent(UUID.randomUUID(), 7L, 2L, 12, 3.5, 4.25)));
+        jdbcTemplate.update("insert into processed_events (consumer, event_id, processed_at)"
+                + " values ('Billing', ?, now() - interval '30 days')", UUID.randomUUID());
+
+        assertEquals(1, processedEvents.purge());
+        assertEquals(1, count());
+    }
+
+    private boolean claimInTransaction(EventSubscriber subscriber, DomainEvent event) {
+        Boolean claimed = new TransactionTemplate(transactionManager)
+                .execute(status -> processedEvents.claim(subscriber, event));
+        return Boolean.TRUE.equals(claimed);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from processed_events", Integer.class);
+    }
+
+    // Claims are keyed by the subscriber's class name
+    private static class Billing implements EventSubscriber {
+        @Override
+        public void onEvent(DomainEvent event) {
+        }
+    }
+
+    private static class History implements EventSubscriber {
+        @Override
+        public void onEvent(DomainEvent event) {
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.qwikride.service.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentEventsTest {
+    @Test
+    void remembersEventsPerConsumer() {
+        RecentEvents recent = new RecentEvents(16);
+        UUID eventId = UUID.randomUUID();
+
+        recent.add("PricingService", eventId);
+
+        assertTrue(recent.contains("PricingService", eventId));
+        assertFalse(recent.contains("HistoryService", eventId));
+        assertFalse(recent.contains("PricingService", UUID.randomUUID()));
+    }
+
+    @Test
+    void keepsTheLatestEventsThroughFilterRotations() {
+        RecentEvents recent = new RecentEvents(100);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            recent.add("PricingService", id);
+        }
+
+        assertEquals(100, recent.size());
+        for (UUID id : ids.subList(900, 1_000)) {
+            assertTrue(recent.contains("PricingService", id));
+        }
+        for (UUID id : ids.subList(0, 900)) {
+            assertFalse(recent.contains("PricingService", id));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.qwikride.service.journal;
+
+import com.qwikride.event.BikeMovedEvent;
+import com.qwikride.event.BikeReservedEvent;
+import com.qwikride.event.BikesRebalancedEvent;
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventSubscriber;
+import com.qwikride.event.ReservationExpiredEvent;
+import com.qwikride.event.StationStatusChangedEvent;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.event.TripStartedEvent;
+import com.qwikride.model.BikeStation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventJournalTest {
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    private EventJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void replaysEveryEventTypeExactly() {
+        journal = open();
+        UUID bikeId = UUID.randomUUID();
+        List<DomainEvent> events = List.of(
+                new BikeReservedEvent(bikeId, 7L, 1L, LocalDateTime.now().plusMinutes(15)),
+                new BikeReservedEvent(bikeId, 7L, 1L),
+                new TripStartedEvent(bikeId, 7L, 1L),
+                new TripEndedEvent(bikeId, 7L, 2L, 12.5, 3.25, 4.75),
+                new BikeMovedEvent(bikeId, 2L, null, 9L),
+                new BikesRebalancedEvent(9L, List.of(
+                        new BikesRebalancedEvent.Move(bikeId, 1L, 2L),
+                        new BikesRebalancedEvent.Move(UUID.randomUUID(), null, 3L))),
+                new ReservationExpiredEvent(null, 7L),
+                new StationStatusChangedEvent(1L, BikeStation.StationStatus.ACTIVE,
+                        BikeStation.StationStatus.OUT_OF_SERVICE));
+        events.forEach(journal::append);
+
+        assertEquals(events, replayAll(journal, 0));
+    }
+
+    @Test
+    void rollsSegmentsAndReplaysFromAnyOffset() {
+        journal = open();
+        List<DomainEvent> events = appendTrips(journal, 500);
+
+        assertTrue(segmentFiles().size() > 1);
+        assertEquals(events, replayAll(journal, 0));
+        assertEquals(events.subList(321, 500), replayAll(journal, 321));
+        assertEquals(500, journal.nextSequence());
+    }
+
+    @Test
+    void reopenContinuesAfterTheLastEvent() {
+        journal = open();
+        List<DomainEvent> events = new ArrayList<>(appendTrips(journal, 300));
+        journal.close();
+
+        journal = open();
+        assertEquals(300, journal.nextSequence());
+        events.addAll(appendTrips(journal, 10));
+        assertEquals(events, replayAll(journal, 0));
+    }
+
+    @Test
+    void reopenDropsATornRecord() throws IOException {
+        journal = open();
+        List<DomainEvent> events = appendTrips(journal, 5);
+        journal.close();
+
+        Path active = segmentFiles().get(segmentFiles().size() - 1);
+        try (FileChannel channel = FileChannel.open(active, StandardOpenOption.WRITE)) {
+            // A length whose body was never written
+            channel.write(ByteBuffer.allocate(8).putInt(0, 64).putInt(4, 12345), tailOf(active));
+        }
+
+        journal = open();
+        assertEquals(5, journal.nextSequence());
+        assertEquals(events, replayAll(journal, 0));
+    }
+
+    @Test
+    void compactionRemovesOnlyOldSealedSegments() {
+        journal = open();
+        for (int i = 0; i < 200; i++) {
+            TripStartedEvent event = new TripStartedEvent(UUID.randomUUID(), (long) i, 1L);
+            event.setTimestamp(LocalDateTime.now().minusDays(40));
+            journal.append(event);
+        }
+        List<DomainEvent> recent = appendTrips(journal, 200);
+        int before = segmentFiles().size();
+
+        int removed = journal.compact(LocalDateTime.now().minusDays(30));
+
+        assertTrue(removed > 0);
+        assertEquals(before - removed, segmentFiles().size());
+        List<DomainEvent> remaining = replayAll(journal, 0);
+        assertEquals(recent, remaining.subList(remaining.size() - 200, remaining.size()));
+        assertEquals(400 - journal.firstSequence(), remaining.size());
+    }
+
+    @Test
+    void replayRebuildsAProjectionForItsTypesOnly() {
+        journal = open();
+        Long station = 4L;
+        journal.append(new TripEndedEvent(UUID.randomUUID(), 1L, station, 10, 2, 3));
+        journal.append(new TripEndedEvent(UUID.randomUUID(), 2L, station, 10, 2, 3));
+        journal.append(new TripStartedEvent(UUID.randomUUID(), 3L, station));
+
+        Map<Long, Integer> returnsPerStation = new HashMap<>();
+        journal.replay(0, new EventSubscriber() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                returnsPerStation.merge(((TripEndedEvent) event).getReturnStationId(), 1, Integer::sum);
+            }
+
+            @Override
+            public Set<Class<? extends DomainEvent>> eventTypes() {
+                return Set.of(TripEndedEvent.class);
+            }
+        });
+
+        assertEquals(Map.of(station, 2), returnsPerStation);
+    }
+
+    private EventJournal open() {
+        EventJournal opened = new EventJournal(directory, SEGMENT_BYTES);
+        opened.open();
+        return opened;
+    }
+
+    private static List<DomainEvent> appendTrips(EventJournal journal, int count) {
+        List<DomainEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            DomainEvent event = new TripStartedEvent(UUID.randomUUID(), (long) i, 1L);
+            journal.append(event);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static List<DomainEvent> replayAll(EventJournal journal, long from) {
+        List<DomainEvent> replayed = new ArrayList<>();
+        journal.replay(from, replayed::add);
+        return replayed;
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegmentFile).sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Position just past the last record, found by walking the length fields.
+     */
+    private static long tailOf(Path segment) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = JournalSegment.HEADER_BYTES;
+        while (content.getInt(position) != 0) {
+            position += JournalSegment.RECORD_HEADER_BYTES + content.getInt(position);
+        }
+        return position;
+    }
+}
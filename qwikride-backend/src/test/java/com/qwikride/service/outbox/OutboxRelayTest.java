@@ -0,0 +1,114 @@
+package com.qwikride.service.outbox;
+
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventMetrics;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.event.TripStartedEvent;
+import com.qwikride.support.PostgresContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@ImportTestcontainers(PostgresContainers.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ EventOutbox.class, OutboxRelay.class, EventMetrics.class })
+class OutboxRelayTest {
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate event_outbox restart identity");
+    }
+
+    @Test
+    void onlyCommittedEventsAreRelayedInOrderAndThenRemoved() {
+        List<DomainEvent> received = new ArrayList<>();
+        outboxRelay.subscribe(received::add);
+        UUID bikeId = UUID.randomUUID();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> eventOutbox.append(new TripStartedEvent(bikeId, 7L, 1L)));
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            eventOutbox.append(new TripStartedEvent(UUID.randomUUID(), 8L, 1L));
+            throw new IllegalStateException("Station is full");
+        }));
+        transaction.executeWithoutResult(status ->
+                eventOutbox.append(new TripEndedEvent(bikeId, 7L, 2L, 12, 3.5, 4.25)));
+
+        assertEquals(2, outboxRelay.drain());
+
+        assertEquals(2, received.size());
+        TripStartedEvent started = assertInstanceOf(TripStartedEvent.class, received.get(0));
+        TripEndedEvent ended = assertInstanceOf(TripEndedEvent.class, received.get(1));
+        assertEquals(bikeId, started.getBikeId());
+        assertEquals(4.25, ended.getCost());
+        assertEquals(0, eventOutbox.pendingCount());
+    }
+
+    @Test
+    void failingEventHoldsBackLaterEventsUntilSetAside() {
+        // Delivery is at least once: a failed batch is replayed event by event
+        Set<UUID> delivered = new LinkedHashSet<>();
+        UUID poison = UUID.randomUUID();
+        outboxRelay.subscribe(event -> {
+            UUID bikeId = ((TripStartedEvent) event).getBikeId();
+            if (bikeId.equals(poison)) {
+                throw new IllegalStateException("Subscriber rejected " + bikeId);
+            }
+            delivered.add(bikeId);
+        });
+        UUID first = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        eventOutbox.append(new TripStartedEvent(first, 1L, 1L));
+        eventOutbox.append(new TripStartedEvent(poison, 2L, 1L));
+        eventOutbox.append(new TripStartedEvent(last, 3L, 1L));
+
+        assertEquals(1, outboxRelay.drain());
+        assertEquals(List.of(first), List.copyOf(delivered));
+
+        for (int attempt = 1; attempt < OutboxRelay.MAX_ATTEMPTS; attempt++) {
+            assertEquals(0, outboxRelay.drain());
+        }
+        assertEquals(1, outboxRelay.drain());
+
+        assertEquals(List.of(first, last), List.copyOf(delivered));
+        // The poison event stays in the outbox for inspection
+        assertEquals(1, eventOutbox.pendingCount());
+    }
+}
@@ -0,0 +1,178 @@
+package com.qwikride.service.telemetry;
+
+import com.qwikride.dto.BikePositionDTO;
+import com.qwikride.repository.BikeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryIngestionLoadTest {
+    private static final int BIKES = 20_000;
+    private static final int PRODUCERS = 4;
+    private static final int ROUNDS = 100;
+
+    @Mock
+    private BikeRepository bikeRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TelemetryIngestionService service;
+    private UUID[] bikeIds;
+
+    @BeforeEach
+    void setUp() {
+        bikeIds = new UUID[BIKES];
+        for (int i = 0; i < BIKES; i++) {
+            bikeIds[i] = UUID.randomUUID();
+        }
+        when(bikeRepository.findAllIds()).thenReturn(Arrays.asList(bikeIds));
+        service = new TelemetryIngestionService(bikeRepository, jdbcTemplate);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void ingestsConcurrentFixesWithoutAllocating() throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> allocations = new ArrayList<>();
+        long fixes = (long) BIKES * ROUNDS;
+
+        // Each producer owns a disjoint set of bikes and sends ROUNDS fixes for each
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            allocations.add(executor.submit(() -> {
+                start.await();
+                long threadId = Thread.currentThread().getId();
+                long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+                for (int round = 1; round <= ROUNDS; round++) {
+                    for (int bike = producer; bike < BIKES; bike += PRODUCERS) {
+                        while (!service.submit(bikeIds[bike], latitude(bike, round), longitude(bike, round), round)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }
+                return threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            }));
+        }
+
+        start.countDown();
+        long allocatedBytes = 0;
+        for (Future<Long> allocation : allocations) {
+            allocatedBytes += allocation.get(60, TimeUnit.SECONDS);
+        }
+        while (service.pendingCount() > 0) {
+            Thread.onSpinWait();
+        }
+        executor.shutdown();
+
+        // Anything allocated per fix would be at least 16 bytes
+        assertTrue(allocatedBytes < fixes, "Producers allocated " + allocatedBytes + " bytes for " + fixes + " fixes");
+
+        for (int bike = 0; bike < BIKES; bike += 997) {
+            BikePositionDTO position = service.getPosition(bikeIds[bike]).orElseThrow();
+            assertEquals(latitude(bike, ROUNDS), position.getLatitude());
+            assertEquals(longitude(bike, ROUNDS), position.getLongitude());
+            assertEquals(ROUNDS, position.getRecordedAt().toEpochMilli());
+        }
+    }
+
+    @Test
+    void coalescesStaleFixesAndPersistsLatestPositionOnce() throws Exception {
+        UUID bikeId = bikeIds[0];
+        assertTrue(service.submit(bikeId, 45.50, -73.56, 2_000));
+        assertTrue(service.submit(bikeId, 45.51, -73.57, 3_000));
+        assertTrue(service.submit(bikeId, 45.40, -73.40, 1_000));
+        assertFalse(service.submit(UUID.randomUUID(), 45.0, -73.0, 1_000));
+        assertFalse(service.submit(bikeId, 91.0, -73.0, 4_000));
+        long future = System.currentTimeMillis() + TelemetryIngestionService.MAX_CLOCK_SKEW_MILLIS + 60_000;
+        assertFalse(service.submit(bikeId, 45.60, -73.60, future));
+        while (service.pendingCount() > 0) {
+            Thread.onSpinWait();
+        }
+
+        service.persistPositions();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(45.51, rows.getValue().get(0)[0]);
+        assertEquals(1, service.staleCount());
+        assertEquals(3, service.rejectedCount());
+    }
+
+    @Test
+    void bikesCreatedAfterStartupAreAcceptedOnceRegistered() {
+        UUID bikeId = UUID.randomUUID();
+        assertFalse(service.submit(bikeId, 45.50, -73.56, 1_000));
+
+        service.register(bikeId);
+
+        assertTrue(service.submit(bikeId, 45.50, -73.56, 1_000));
+    }
+
+    @Test
+    void bikesCreatedInATransactionAreRegisteredOnlyOnCommit() {
+        UUID rolledBack = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.registerAfterCommit(rolledBack);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(service.submit(rolledBack, 45.50, -73.56, 1_000));
+
+        UUID committed = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.registerAfterCommit(committed);
+            assertFalse(service.submit(committed, 45.50, -73.56, 1_000));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(service.submit(committed, 45.50, -73.56, 1_000));
+    }
+
+    private static double latitude(int bike, int round) {
+        return 45.0 + bike * 1e-5 + round * 1e-7;
+    }
+
+    private static double longitude(int bike, int round) {
+        return -73.0 - bike * 1e-5 - round * 1e-7;
+    }
+}
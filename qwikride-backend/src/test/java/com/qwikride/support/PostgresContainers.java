@@ -0,0 +1,14 @@
+package com.qwikride.support;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Shared PostgreSQL container for tests that depend on real database semantics
+ * (row locks, conditional updates, query plans). Import with
+ * {@code @ImportTestcontainers(PostgresContainers.class)}.
+ */
+public interface PostgresContainers {
+    @ServiceConnection
+    PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+}
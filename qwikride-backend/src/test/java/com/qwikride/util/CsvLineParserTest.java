@@ -0,0 +1,22 @@
+package com.qwikride.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvLineParserTest {
+
+    @Test
+    void splitsPlainFields() {
+        assertEquals(List.of("E_BIKE", "12"), CsvLineParser.parse("E_BIKE, 12"));
+    }
+
+    @Test
+    void keepsCommasAndEscapedQuotesInsideQuotedFields() {
+        assertEquals(List.of("Downtown Central", "123 Main Street, Downtown", "25"),
+                CsvLineParser.parse("Downtown Central,\"123 Main Street, Downtown\",25"));
+        assertEquals(List.of("The \"Hub\"", ""), CsvLineParser.parse("\"The \"\"Hub\"\"\","));
+    }
+}
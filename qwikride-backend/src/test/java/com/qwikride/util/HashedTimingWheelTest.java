@@ -0,0 +1,64 @@
+package com.qwikride.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+    private static final long START = 1_000_000L;
+
+    @Test
+    void firesEntriesOnlyOnceTheirDeadlinePasses() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(1000, 8, START);
+        wheel.schedule("a", START + 2500);
+        wheel.schedule("b", START + 5000);
+
+        assertTrue(wheel.advance(START + 2000).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START + 3000));
+        assertEquals(List.of("b"), wheel.advance(START + 5000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledEntriesNeverFire() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(1000, 8, START);
+        wheel.schedule("a", START + 1000);
+        assertTrue(wheel.cancel("a"));
+
+        assertTrue(wheel.advance(START + 10_000).isEmpty());
+    }
+
+    @Test
+    void entriesBeyondOneRevolutionWaitForTheirRound() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(1000, 8, START);
+        wheel.schedule("late", START + 20_000);
+
+        assertTrue(wheel.advance(START + 12_000).isEmpty());
+        assertEquals(List.of("late"), wheel.advance(START + 20_000));
+    }
+
+    @Test
+    void reschedulingReplacesTheDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(1000, 8, START);
+        wheel.schedule("a", START + 1000);
+        wheel.schedule("a", START + 4000);
+
+        assertTrue(wheel.advance(START + 3000).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START + 4000));
+    }
+
+    @Test
+    void handlesHundredThousandEntries() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(1000, 4096, START);
+        for (int i = 0; i < 100_000; i++) {
+            wheel.schedule(i, START + 1000L * (1 + i % 1800));
+        }
+
+        assertEquals(100_000, wheel.size());
+        assertEquals(100_000, wheel.advance(START + 1_800_000).size());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.qwikride.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Takes the usual JMH command line, but
+ * unless {@code -rf}/{@code -rff} are given writes the results as JSON to
+ * {@code jmh-results/<label>.json}, so runs on different commits can be
+ * compared. The label is the {@code benchmark.label} system property, or the
+ * current git commit when there is one.
+ */
+public final class BenchmarkMain {
+    private static final Path RESULTS_DIRECTORY = Path.of("jmh-results");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            Files.createDirectories(RESULTS_DIRECTORY);
+            Path result = RESULTS_DIRECTORY.resolve(label() + "." + resultExtension(commandLine));
+            options.result(result.toString());
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static String resultExtension(CommandLineOptions commandLine) {
+        return commandLine.getResultFormat().orElse(ResultFormatType.JSON).toString().toLowerCase();
+    }
+
+    private static String label() {
+        String label = System.getProperty("benchmark.label");
+        if (label == null || label.isBlank()) {
+            label = gitCommit();
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return label == null ? timestamp : label + "-" + timestamp;
+    }
+
+    private static String gitCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (!git.waitFor(5, TimeUnit.SECONDS) || git.exitValue() != 0 || output.isEmpty()) {
+                return null;
+            }
+            return output;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
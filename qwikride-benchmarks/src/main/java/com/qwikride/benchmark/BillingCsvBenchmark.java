@@ -0,0 +1,85 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.prc.domain.PaymentStatus;
+import com.qwikride.prc.model.LedgerEntry;
+import com.qwikride.prc.service.BillingDocumentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BillingDocumentService#buildCsv} for a rider's trip export of
+ * {@code trips} ledger entries, handed over in the repository's arbitrary
+ * order so the sort is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillingCsvBenchmark {
+    @Param({"50", "1000"})
+    public int trips;
+
+    private BillingDocumentService billingDocumentService;
+    private List<LedgerEntry> entries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        billingDocumentService = new BillingDocumentService();
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 7, 0);
+        UUID planVersionId = UUID.randomUUID();
+        entries = new ArrayList<>(trips);
+        for (int i = 0; i < trips; i++) {
+            int minutes = 3 + random.nextInt(60);
+            LedgerEntry entry = new LedgerEntry();
+            entry.setId((long) i + 1);
+            entry.setRiderId(1L);
+            entry.setPlanVersionId(planVersionId);
+            entry.setPlanName("Standard");
+            entry.setBikeId(UUID.randomUUID());
+            entry.setStartStationId(1L);
+            entry.setEndStationId(2L);
+            entry.setStartTime(start.plusHours(7L * i));
+            entry.setEndTime(start.plusHours(7L * i).plusMinutes(minutes));
+            entry.setDurationMinutes(minutes);
+            entry.setDistanceKm(minutes * 0.2);
+            entry.setTotal(new BigDecimal("1.00").add(new BigDecimal("0.15").multiply(BigDecimal.valueOf(minutes))));
+            entry.setPaymentStatus(i % 10 == 0 ? PaymentStatus.PENDING : PaymentStatus.PAID);
+            entries.add(entry);
+        }
+        Collections.shuffle(entries, random);
+    }
+
+    @Benchmark
+    public byte[] buildCsv() {
+        return billingDocumentService.buildCsv(entries);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BillingCsvBenchmark.class.getSimpleName()).build()).run();
+    }
+}
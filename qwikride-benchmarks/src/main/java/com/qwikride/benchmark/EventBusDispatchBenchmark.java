@@ -0,0 +1,139 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.event.BikeMovedEvent;
+import com.qwikride.event.BikeReservedEvent;
+import com.qwikride.event.BikesRebalancedEvent;
+import com.qwikride.event.DeliveryMode;
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.EventBus;
+import com.qwikride.event.EventMetrics;
+import com.qwikride.event.EventSubscriber;
+import com.qwikride.event.ReservationExpiredEvent;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.event.TripStartedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cost of {@link EventBus#publish} with {@code subscribers} synchronous
+ * subscribers spread over the six domain event types, so each event fans out
+ * to between one and sixteen handlers. {@code typed} subscribers declare their
+ * event type and are routed through the per-type table; {@code broadcast}
+ * subscribers receive everything and filter themselves, as every subscriber
+ * did before types were declared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusDispatchBenchmark {
+    private static final List<Class<? extends DomainEvent>> EVENT_TYPES = List.of(
+            BikeReservedEvent.class, TripStartedEvent.class, TripEndedEvent.class,
+            BikeMovedEvent.class, BikesRebalancedEvent.class, ReservationExpiredEvent.class);
+
+    @Param({"typed", "broadcast"})
+    public String routing;
+
+    @Param({"6", "24", "96"})
+    public int subscribers;
+
+    private EventBus eventBus;
+    private DomainEvent[] events;
+    private final LongAdder handled = new LongAdder();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eventBus = new EventBus(new EventMetrics(new SimpleMeterRegistry()));
+        boolean typed = "typed".equals(routing);
+        for (int i = 0; i < subscribers; i++) {
+            Class<? extends DomainEvent> type = EVENT_TYPES.get(i % EVENT_TYPES.size());
+            eventBus.subscribe(typed ? new TypedSubscriber(type, handled) : new FilteringSubscriber(type, handled),
+                    DeliveryMode.SYNC, i);
+        }
+        UUID bikeId = UUID.randomUUID();
+        events = new DomainEvent[] {
+                new BikeReservedEvent(bikeId, 1L, 1L),
+                new TripStartedEvent(bikeId, 1L, 1L),
+                new TripEndedEvent(bikeId, 1L, 2L, 12, 3.5, 4.25),
+                new BikeMovedEvent(bikeId, 2L, 3L, 9L),
+                new BikesRebalancedEvent(9L, List.of()),
+                new ReservationExpiredEvent(bikeId, 1L)
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        eventBus.stop();
+    }
+
+    @Benchmark
+    public void publish(Cursor cursor) {
+        eventBus.publish(nextEvent(cursor));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishConcurrently(Cursor cursor) {
+        eventBus.publish(nextEvent(cursor));
+    }
+
+    private DomainEvent nextEvent(Cursor cursor) {
+        DomainEvent event = events[cursor.next];
+        cursor.next = (cursor.next + 1) % events.length;
+        return event;
+    }
+
+    private record TypedSubscriber(Class<? extends DomainEvent> type, LongAdder handled) implements EventSubscriber {
+        @Override
+        public void onEvent(DomainEvent event) {
+            handled.increment();
+        }
+
+        @Override
+        public Set<Class<? extends DomainEvent>> eventTypes() {
+            return Set.of(type);
+        }
+    }
+
+    private record FilteringSubscriber(Class<? extends DomainEvent> type, LongAdder handled) implements EventSubscriber {
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (type.isInstance(event)) {
+                handled.increment();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventBusDispatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.event.DomainEvent;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.event.TripStartedEvent;
+import com.qwikride.service.journal.EventJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event journal throughput in events per second: {@code append} writes trip
+ * events to fresh segments, {@code replay} reads back {@link #REPLAY_EVENTS}
+ * events (about a busy day) and decodes every one of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventJournalBenchmark {
+    private static final int REPLAY_EVENTS = 2_000_000;
+
+    private Path appendDirectory;
+    private Path replayDirectory;
+    private EventJournal appendJournal;
+    private EventJournal replayJournal;
+    private DomainEvent[] events;
+    private int next;
+    private long replayed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        UUID bikeId = UUID.randomUUID();
+        events = new DomainEvent[] {
+                new TripStartedEvent(bikeId, 1L, 1L),
+                new TripEndedEvent(bikeId, 1L, 2L, 12, 3.5, 4.25)
+        };
+        replayDirectory = Files.createTempDirectory("journal-replay");
+        replayJournal = new EventJournal(replayDirectory, 256, 1000, 30);
+        replayJournal.open();
+        for (int i = 0; i < REPLAY_EVENTS; i++) {
+            replayJournal.append(events[i % events.length]);
+        }
+    }
+
+    // A fresh journal per iteration keeps the disk footprint to one iteration's appends
+    @Setup(Level.Iteration)
+    public void openAppendJournal() throws IOException {
+        appendDirectory = Files.createTempDirectory("journal-append");
+        appendJournal = new EventJournal(appendDirectory, 256, 1000, 30);
+        appendJournal.open();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteAppendJournal() throws IOException {
+        appendJournal.close();
+        FileSystemUtils.deleteRecursively(appendDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        replayJournal.close();
+        FileSystemUtils.deleteRecursively(replayDirectory);
+    }
+
+    @Benchmark
+    public long append() {
+        next = (next + 1) % events.length;
+        return appendJournal.append(events[next]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REPLAY_EVENTS)
+    public long replay() {
+        replayJournal.replay(0, event -> replayed++);
+        return replayed;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventJournalBenchmark.class.getSimpleName()).build()).run();
+    }
+}
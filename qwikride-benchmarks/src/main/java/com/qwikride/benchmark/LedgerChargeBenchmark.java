@@ -0,0 +1,70 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.prc.model.LedgerCharge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of a charge's metadata through its {@code key=value;...} column:
+ * {@code serialize} is {@link LedgerCharge#from} as each priced line is
+ * recorded, {@code parse} is {@link LedgerCharge#metaAsMap} as every ledger
+ * response reads it back. {@code entries} is the number of meta pairs; priced
+ * lines carry one today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerChargeBenchmark {
+    @Param({"1", "4"})
+    public int entries;
+
+    private final BigDecimal amount = new BigDecimal("1.95");
+    private Map<String, String> meta;
+    private LedgerCharge charge;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        meta = new LinkedHashMap<>();
+        meta.put("planVersionId", UUID.randomUUID().toString());
+        for (int i = 1; i < entries; i++) {
+            meta.put("key" + i, "value" + i);
+        }
+        charge = LedgerCharge.from("BASE_FEE", amount, meta);
+    }
+
+    @Benchmark
+    public LedgerCharge serialize() {
+        return LedgerCharge.from("BASE_FEE", amount, meta);
+    }
+
+    @Benchmark
+    public Map<String, String> parse() {
+        return charge.metaAsMap();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LedgerChargeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
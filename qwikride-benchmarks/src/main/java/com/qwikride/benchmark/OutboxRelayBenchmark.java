@@ -0,0 +1,103 @@
+package com.qwikride.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.qwikride.event.EventMetrics;
+import com.qwikride.event.TripEndedEvent;
+import com.qwikride.service.outbox.EventOutbox;
+import com.qwikride.service.outbox.OutboxRelay;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox relay throughput against a real PostgreSQL: each invocation relays
+ * {@link #EVENTS} committed trip events to a no-op subscriber, so the score is
+ * events per second including fetch, decode and delete. Requires Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxRelayBenchmark {
+    private static final int EVENTS = 5_000;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private EventOutbox eventOutbox;
+    private OutboxRelay outboxRelay;
+    private TransactionTemplate transactionTemplate;
+    private long delivered;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        eventOutbox = new EventOutbox(new JdbcTemplate(dataSource), objectMapper);
+        outboxRelay = new OutboxRelay(eventOutbox, transactionManager, new EventMetrics(new SimpleMeterRegistry()));
+        outboxRelay.subscribe(event -> delivered++);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillOutbox() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < EVENTS; i++) {
+                eventOutbox.append(new TripEndedEvent(UUID.randomUUID(), (long) i, 1L, 12, 3.5, 4.25));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int relay() {
+        return outboxRelay.drain();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OutboxRelayBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,133 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.prc.domain.MembershipStatus;
+import com.qwikride.prc.pricing.PricingEngine;
+import com.qwikride.prc.pricing.domain.FinalizedBill;
+import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.domain.RateSheet;
+import com.qwikride.prc.pricing.domain.TripFacts;
+import com.qwikride.prc.pricing.rule.BaseFeeHandler;
+import com.qwikride.prc.pricing.rule.CapHandler;
+import com.qwikride.prc.pricing.rule.DiscountHandler;
+import com.qwikride.prc.pricing.rule.EbikeSurchargeHandler;
+import com.qwikride.prc.pricing.rule.PerMinuteHandler;
+import com.qwikride.prc.pricing.rule.TaxHandler;
+import com.qwikride.prc.pricing.selector.PlanCatalog;
+import com.qwikride.prc.pricing.selector.PricingPlanSelector;
+import com.qwikride.prc.pricing.selector.SelectionInput;
+import com.qwikride.prc.pricing.selector.strategy.CityStrategy;
+import com.qwikride.prc.pricing.selector.strategy.EffectiveDateStrategy;
+import com.qwikride.prc.pricing.selector.strategy.MembershipStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing one trip under a selected plan: {@code compiled} through the plan's
+ * compiled rate sheet, {@code ruleChain} by walking the full handler chain as
+ * every trip did before. {@code selectAndPrice} is the whole of
+ * {@link PricingEngine#price(TripFacts, SelectionInput)}: plan selection over
+ * {@link StubPlanRepository}'s catalog, then the compiled sheet. The chain has
+ * every handler, discounts included. Run through {@link #main} to include the
+ * GC profiler, whose {@code gc.alloc.rate.norm} is the allocation per priced trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingEngineBenchmark {
+    private PricingEngine pricingEngine;
+    private PricingContext context;
+    private TripFacts[] trips;
+    private SelectionInput[] inputs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BaseFeeHandler chain = new BaseFeeHandler();
+        chain.setNext(new PerMinuteHandler())
+                .setNext(new EbikeSurchargeHandler())
+                .setNext(new DiscountHandler())
+                .setNext(new CapHandler())
+                .setNext(new TaxHandler());
+        PlanCatalog catalog = new PlanCatalog(StubPlanRepository.create());
+        catalog.refresh();
+        PricingPlanSelector selector = new PricingPlanSelector(List.of(new MembershipStrategy(catalog),
+                new CityStrategy(catalog), new EffectiveDateStrategy(catalog)));
+        pricingEngine = new PricingEngine(selector, chain);
+        context = PricingContext.builder()
+                .planVersionId(UUID.randomUUID())
+                .planName("Standard")
+                .rateSheet(RateSheet.builder()
+                        .baseFee(new BigDecimal("1.00"))
+                        .perMinute(new BigDecimal("0.15"))
+                        .ebikeSurcharge(new BigDecimal("0.50"))
+                        .build())
+                .build();
+        LocalDateTime start = StubPlanRepository.HISTORY_START.plusYears(2).plusHours(8);
+        trips = new TripFacts[64];
+        inputs = new SelectionInput[trips.length];
+        for (int i = 0; i < trips.length; i++) {
+            trips[i] = TripFacts.builder()
+                    .bikeId(UUID.randomUUID())
+                    .riderId((long) i)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(3 + i))
+                    .ebike(i % 3 == 0)
+                    .build();
+            inputs[i] = SelectionInput.builder()
+                    .tripEndTime(trips[i].getEndTime())
+                    .membershipStatus(i % 4 == 0 ? MembershipStatus.PREMIUM : MembershipStatus.NONE)
+                    .cityId(i % 4 == 1 ? "MTL" : null)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public FinalizedBill compiled() {
+        return pricingEngine.price(context, nextTrip());
+    }
+
+    @Benchmark
+    public FinalizedBill ruleChain() {
+        return pricingEngine.priceWithRuleChain(context, nextTrip());
+    }
+
+    @Benchmark
+    public FinalizedBill selectAndPrice() {
+        next = (next + 1) & (trips.length - 1);
+        return pricingEngine.price(trips[next], inputs[next]);
+    }
+
+    private TripFacts nextTrip() {
+        next = (next + 1) & (trips.length - 1);
+        return trips[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PricingEngineBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
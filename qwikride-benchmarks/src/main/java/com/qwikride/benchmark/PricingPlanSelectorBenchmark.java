@@ -0,0 +1,84 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.prc.domain.MembershipStatus;
+import com.qwikride.prc.pricing.domain.PricingContext;
+import com.qwikride.prc.pricing.selector.PlanCatalog;
+import com.qwikride.prc.pricing.selector.PricingPlanSelector;
+import com.qwikride.prc.pricing.selector.SelectionInput;
+import com.qwikride.prc.pricing.selector.strategy.CityStrategy;
+import com.qwikride.prc.pricing.selector.strategy.EffectiveDateStrategy;
+import com.qwikride.prc.pricing.selector.strategy.MembershipStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PricingPlanSelector#select} through the three strategies in their
+ * production order, over a catalog loaded from {@link StubPlanRepository}.
+ * {@code input} picks which strategy answers: {@code membership} for premium
+ * riders, {@code city} for riders in a city with its own plan and
+ * {@code effectiveDate} for everyone else, which asks every strategy in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingPlanSelectorBenchmark {
+    @Param({"membership", "city", "effectiveDate"})
+    public String input;
+
+    private PricingPlanSelector selector;
+    private SelectionInput[] inputs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PlanCatalog catalog = new PlanCatalog(StubPlanRepository.create());
+        catalog.refresh();
+        selector = new PricingPlanSelector(List.of(new MembershipStrategy(catalog), new CityStrategy(catalog),
+                new EffectiveDateStrategy(catalog)));
+
+        Random random = new Random(42);
+        long historyMinutes = StubPlanRepository.QUARTERS * 91L * 24 * 60;
+        inputs = new SelectionInput[256];
+        for (int i = 0; i < inputs.length; i++) {
+            SelectionInput.SelectionInputBuilder builder = SelectionInput.builder()
+                    .tripEndTime(StubPlanRepository.HISTORY_START.plusMinutes(random.nextLong(historyMinutes)))
+                    .membershipStatus(MembershipStatus.NONE);
+            switch (input) {
+                case "membership" -> builder.membershipStatus(MembershipStatus.PREMIUM);
+                case "city" -> builder.cityId(StubPlanRepository.CITIES.get(i % StubPlanRepository.CITIES.size()));
+                default -> builder.cityId("OTTAWA");
+            }
+            inputs[i] = builder.build();
+        }
+    }
+
+    @Benchmark
+    public PricingContext select() {
+        next = (next + 1) & (inputs.length - 1);
+        return selector.select(inputs[next]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PricingPlanSelectorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
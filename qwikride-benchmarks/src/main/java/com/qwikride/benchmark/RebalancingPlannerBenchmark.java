@@ -0,0 +1,92 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.dto.RebalancingPlanDTO;
+import com.qwikride.dto.RebalancingPlanRequestDTO;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import com.qwikride.service.RebalancingPlanner;
+import com.qwikride.service.StationInventoryIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full {@link RebalancingPlanner#plan} over {@code stations} randomly filled
+ * stations, availability included, as the operator endpoint runs it. The
+ * planner was sized to plan 10,000 stations well within a second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RebalancingPlannerBenchmark {
+    @Param({"1000", "10000"})
+    public int stations;
+
+    private RebalancingPlanner planner;
+    private RebalancingPlanRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<BikeStation> stationList = new ArrayList<>(stations);
+        List<BikeRepository.InventoryRow> rows = new ArrayList<>();
+        for (long id = 1; id <= stations; id++) {
+            int capacity = 10 + random.nextInt(40);
+            int count = random.nextInt(capacity + 1);
+            BikeStation station = new BikeStation();
+            station.setId(id);
+            station.setName("Station " + id);
+            station.setCapacity(capacity);
+            station.setCurrentBikeCount(count);
+            station.setStatus(BikeStation.StationStatus.ACTIVE);
+            stationList.add(station);
+            for (int bike = 0; bike < count; bike++) {
+                rows.add(RepositoryStubs.inventoryRow(id, BikeType.STANDARD, BikeStatus.AVAILABLE));
+            }
+        }
+
+        StationInventoryIndex inventoryIndex = new StationInventoryIndex(
+                RepositoryStubs.stub(BikeRepository.class, Map.of("findInventoryRows", rows)));
+        inventoryIndex.rebuild();
+        planner = new RebalancingPlanner(
+                RepositoryStubs.stub(BikeStationRepository.class, Map.of("findAll", stationList)),
+                inventoryIndex, null);
+        request = RebalancingPlanRequestDTO.builder()
+                .targetFillRatio(0.6)
+                .truckCapacity(12)
+                .build();
+    }
+
+    @Benchmark
+    public RebalancingPlanDTO plan() {
+        return planner.plan(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RebalancingPlannerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
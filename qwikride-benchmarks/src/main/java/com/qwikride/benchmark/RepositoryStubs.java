@@ -0,0 +1,60 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spring Data repositories answered from memory, so index and planner
+ * benchmarks can be set up without a database. Only the no-argument finders
+ * named in {@code answers} are supported; anything else fails loudly.
+ */
+final class RepositoryStubs {
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Object> answers) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[] { repositoryType },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "Stub" + repositoryType.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if ((args != null && args.length > 0) || !answers.containsKey(method.getName())) {
+                            throw new UnsupportedOperationException(method.toString());
+                        }
+                        yield answers.get(method.getName());
+                    }
+                }));
+    }
+
+    static BikeRepository.InventoryRow inventoryRow(Long stationId, BikeType type, BikeStatus status) {
+        UUID id = UUID.randomUUID();
+        return new BikeRepository.InventoryRow() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Long getStationId() {
+                return stationId;
+            }
+
+            @Override
+            public BikeType getBikeType() {
+                return type;
+            }
+
+            @Override
+            public BikeStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
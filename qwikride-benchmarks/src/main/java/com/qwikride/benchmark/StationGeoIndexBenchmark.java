@@ -0,0 +1,93 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.dto.NearbyStationDTO;
+import com.qwikride.model.BikeStation;
+import com.qwikride.model.BikeStatus;
+import com.qwikride.model.BikeType;
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.repository.BikeStationRepository;
+import com.qwikride.service.StationGeoIndex;
+import com.qwikride.service.StationInventoryIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A five-nearest e-bike lookup within 5 km over {@link #STATIONS} stations
+ * spread across the island, one in seven out of service. Query points cycle
+ * through a fixed random set. The index was sized to answer well under a
+ * millisecond per query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StationGeoIndexBenchmark {
+    private static final int STATIONS = 20_000;
+    private static final int QUERIES = 1_024;
+
+    private StationGeoIndex geoIndex;
+    private final double[] latitudes = new double[QUERIES];
+    private final double[] longitudes = new double[QUERIES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        List<BikeStation> stations = new ArrayList<>(STATIONS);
+        List<BikeRepository.InventoryRow> rows = new ArrayList<>(STATIONS);
+        for (long id = 1; id <= STATIONS; id++) {
+            BikeStation station = new BikeStation();
+            station.setId(id);
+            station.setName("Station " + id);
+            station.setCapacity(20);
+            station.setLatitude(45.40 + random.nextDouble() * 0.30);
+            station.setLongitude(-73.80 + random.nextDouble() * 0.40);
+            station.setStatus(id % 7 == 0 ? BikeStation.StationStatus.OUT_OF_SERVICE
+                    : BikeStation.StationStatus.ACTIVE);
+            stations.add(station);
+            rows.add(RepositoryStubs.inventoryRow(id, id % 3 == 0 ? BikeType.E_BIKE : BikeType.STANDARD,
+                    BikeStatus.AVAILABLE));
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            latitudes[i] = 45.40 + random.nextDouble() * 0.30;
+            longitudes[i] = -73.80 + random.nextDouble() * 0.40;
+        }
+
+        StationInventoryIndex inventoryIndex = new StationInventoryIndex(
+                RepositoryStubs.stub(BikeRepository.class, Map.of("findInventoryRows", rows)));
+        inventoryIndex.rebuild();
+        geoIndex = new StationGeoIndex(
+                RepositoryStubs.stub(BikeStationRepository.class, Map.of("findAll", stations)), inventoryIndex);
+        geoIndex.rebuild();
+    }
+
+    @Benchmark
+    public List<NearbyStationDTO> nearby() {
+        int query = next++ & (QUERIES - 1);
+        return geoIndex.nearby(latitudes[query], longitudes[query], 5, 5_000, BikeType.E_BIKE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StationGeoIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
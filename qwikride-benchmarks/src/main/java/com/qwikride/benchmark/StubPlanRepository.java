@@ -0,0 +1,81 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.prc.domain.MembershipStatus;
+import com.qwikride.prc.model.PricingPlanVersion;
+import com.qwikride.prc.repository.PricingPlanVersionRepository;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An in-memory {@link PricingPlanVersionRepository} holding a few years of plan
+ * history, so selection can be measured without a database. Only
+ * {@code findAll}, which the plan catalog loads from, is answered.
+ */
+final class StubPlanRepository {
+    static final LocalDateTime HISTORY_START = LocalDateTime.of(2022, 1, 1, 0, 0);
+    static final int QUARTERS = 16;
+    static final List<String> CITIES = List.of("MTL", "TOR", "VAN");
+
+    private StubPlanRepository() {
+    }
+
+    static PricingPlanVersionRepository create() {
+        List<PricingPlanVersion> plans = plans();
+        return (PricingPlanVersionRepository) Proxy.newProxyInstance(
+                PricingPlanVersionRepository.class.getClassLoader(),
+                new Class<?>[] { PricingPlanVersionRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> {
+                        if (args != null && args.length > 0) {
+                            throw new UnsupportedOperationException(method.toString());
+                        }
+                        yield plans;
+                    }
+                    case "toString" -> "StubPlanRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    /**
+     * A base plan and a premium plan per quarter, a city plan per city and
+     * year, and an unpublished draft every quarter.
+     */
+    private static List<PricingPlanVersion> plans() {
+        List<PricingPlanVersion> plans = new ArrayList<>();
+        for (int quarter = 0; quarter < QUARTERS; quarter++) {
+            LocalDateTime from = HISTORY_START.plusMonths(3L * quarter);
+            plans.add(plan("Standard Q" + quarter, from, null, null, null, true));
+            plans.add(plan("Premium Q" + quarter, from, from.plusMonths(3), MembershipStatus.PREMIUM, null, true));
+            plans.add(plan("Draft Q" + quarter, from.plusMonths(1), null, null, null, false));
+        }
+        for (int year = 0; year < QUARTERS / 4; year++) {
+            LocalDateTime from = HISTORY_START.plusYears(year);
+            for (String city : CITIES) {
+                plans.add(plan(city + " " + year, from, from.plusYears(1), null, city, true));
+            }
+        }
+        return plans;
+    }
+
+    private static PricingPlanVersion plan(String name, LocalDateTime from, LocalDateTime to,
+                                           MembershipStatus tier, String cityId, boolean published) {
+        PricingPlanVersion version = new PricingPlanVersion(UUID.randomUUID());
+        version.setPlanName(name);
+        version.setBaseFee(new BigDecimal("1.00"));
+        version.setPerMinuteRate(new BigDecimal("0.15"));
+        version.setEbikeSurcharge(new BigDecimal("0.50"));
+        version.setEffectiveFrom(from);
+        version.setEffectiveTo(to);
+        version.setMembershipTier(tier);
+        version.setCityId(cityId);
+        version.setPublished(published);
+        return version;
+    }
+}
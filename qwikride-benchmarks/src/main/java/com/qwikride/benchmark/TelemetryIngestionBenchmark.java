@@ -0,0 +1,107 @@
+package com.qwikride.benchmark;
+
+import com.qwikride.repository.BikeRepository;
+import com.qwikride.service.telemetry.TelemetryIngestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sustained fix ingestion: {@link #PRODUCERS} threads each push fixes for their
+ * own share of {@link #BIKES} bikes, retrying while the ring is full, so the
+ * score is the rate the drain thread keeps up with. The fleet was sized for at
+ * least 50,000 fixes per second. Position writes go to a JDBC template that
+ * discards them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelemetryIngestionBenchmark {
+    private static final int BIKES = 20_000;
+    private static final int PRODUCERS = 4;
+
+    private TelemetryIngestionService service;
+    private UUID[] bikeIds;
+    private final AtomicInteger producers = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Producer {
+        int first;
+        int next;
+        long recordedAt;
+
+        @Setup(Level.Trial)
+        public void claimBikes(TelemetryIngestionBenchmark benchmark) {
+            first = benchmark.producers.getAndIncrement() % PRODUCERS;
+            next = first;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bikeIds = new UUID[BIKES];
+        for (int i = 0; i < BIKES; i++) {
+            bikeIds[i] = UUID.randomUUID();
+        }
+        service = new TelemetryIngestionService(
+                RepositoryStubs.stub(BikeRepository.class, Map.of("findAllIds", Arrays.asList(bikeIds))),
+                new DiscardingJdbcTemplate());
+        service.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.stop();
+    }
+
+    @Benchmark
+    @Threads(PRODUCERS)
+    public void submit(Producer producer) {
+        int bike = producer.next;
+        producer.next += PRODUCERS;
+        if (producer.next >= BIKES) {
+            producer.next = producer.first;
+            producer.recordedAt++;
+        }
+        double latitude = 45.0 + bike * 1e-5;
+        double longitude = -73.0 - bike * 1e-5;
+        while (!service.submit(bikeIds[bike], latitude, longitude, producer.recordedAt)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class DiscardingJdbcTemplate extends JdbcTemplate {
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            return new int[batchArgs.size()];
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TelemetryIngestionBenchmark.class.getSimpleName()).build()).run();
+    }
+}